@@ -0,0 +1,57 @@
+package org.galaxystudios.dragonGames.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * A player is about to become the holder of an egg nobody held. Cancelling it puts the egg back on its altar.
+ * Called on the global region thread.
+ */
+public final class DragonEggCaptureEvent extends Event implements Cancellable {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Player player;
+    private final String egg;
+    private final EggCause cause;
+    private boolean cancelled;
+
+    public DragonEggCaptureEvent(Player player, String egg, EggCause cause) {
+        this.player = player;
+        this.egg = egg;
+        this.cause = cause;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public String getEgg() {
+        return egg;
+    }
+
+    public EggCause getCause() {
+        return cause;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,49 @@
+package org.galaxystudios.dragonGames.api;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.UUID;
+
+/**
+ * An egg is going back to its altar. Not cancellable: returns enforce the game's rules (death, the weekly
+ * playtime requirement, admins). Called on the global region thread, before the egg is taken off the holder.
+ */
+public final class DragonEggReturnEvent extends Event {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final UUID previousHolder;
+    private final String egg;
+    private final EggCause cause;
+
+    public DragonEggReturnEvent(UUID previousHolder, String egg, EggCause cause) {
+        this.previousHolder = previousHolder;
+        this.egg = egg;
+        this.cause = cause;
+    }
+
+    /**
+     * Null if nobody held it, e.g. it was picked up by a player who already carries another egg.
+     */
+    public UUID getPreviousHolder() {
+        return previousHolder;
+    }
+
+    public String getEgg() {
+        return egg;
+    }
+
+    public EggCause getCause() {
+        return cause;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
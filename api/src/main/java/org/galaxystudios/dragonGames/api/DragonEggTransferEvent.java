@@ -0,0 +1,68 @@
+package org.galaxystudios.dragonGames.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+import java.util.UUID;
+
+/**
+ * An egg is about to pass from its holder to another player, by a kill or an admin. Cancelling it leaves the
+ * egg with the previous holder. Called on the global region thread.
+ */
+public final class DragonEggTransferEvent extends Event implements Cancellable {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final UUID previousHolder;
+    private final Player newHolder;
+    private final String egg;
+    private final EggCause cause;
+    private boolean cancelled;
+
+    public DragonEggTransferEvent(UUID previousHolder, Player newHolder, String egg, EggCause cause) {
+        this.previousHolder = previousHolder;
+        this.newHolder = newHolder;
+        this.egg = egg;
+        this.cause = cause;
+    }
+
+    /**
+     * May be offline.
+     */
+    public UUID getPreviousHolder() {
+        return previousHolder;
+    }
+
+    public Player getNewHolder() {
+        return newHolder;
+    }
+
+    public String getEgg() {
+        return egg;
+    }
+
+    public EggCause getCause() {
+        return cause;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,39 @@
+package org.galaxystudios.dragonGames.api;
+
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-only access to DragonGames for other plugins. Every method only reads a published reference, so it
+ * may be called from any thread, without locking or hopping to the server thread. Register for
+ * {@link DragonEggCaptureEvent}, {@link DragonEggTransferEvent} and {@link DragonEggReturnEvent} to hear
+ * about changes as they happen.
+ */
+public interface DragonGamesApi {
+
+    /**
+     * The running instance, or null while DragonGames is not enabled.
+     */
+    static DragonGamesApi get() {
+        return Bukkit.getServicesManager().load(DragonGamesApi.class);
+    }
+
+    /**
+     * Null if there is no egg with that id.
+     */
+    HolderSnapshot getSnapshot(String egg);
+
+    /**
+     * Every egg by id, in config order.
+     */
+    Map<String, HolderSnapshot> getSnapshots();
+
+    /**
+     * The egg {@code player} holds, or null.
+     */
+    HolderSnapshot getEggHeldBy(UUID player);
+
+    boolean isGameEnabled();
+}
@@ -0,0 +1,18 @@
+package org.galaxystudios.dragonGames.api;
+
+/**
+ * Why an egg changed hands.
+ */
+public enum EggCause {
+    /** Taken from its altar, or picked up from the ground. */
+    PICKUP,
+    /** Claimed by killing the holder. */
+    KILL,
+    /** The holder died without a killer. */
+    DEATH,
+    /** The holder missed the weekly playtime requirement. */
+    INACTIVITY,
+    /** Set or returned with /dragongames. */
+    ADMIN,
+    OTHER
+}
@@ -0,0 +1,40 @@
+package org.galaxystudios.dragonGames.api;
+
+import java.util.UUID;
+
+/**
+ * Who holds one egg, as of {@code takenAtMillis}. Immutable; a new snapshot is published whenever the holder
+ * changes, weekly playtime every check interval and when the holder joins or quits, and the location
+ * whenever the holder's marker is refreshed.
+ *
+ * @param egg                egg id from config.yml
+ * @param eggDisplayName     the egg's display name
+ * @param holder             null while the egg sits at its altar
+ * @param holderName         last known name of the holder; null if unknown or no holder
+ * @param sinceEpochSeconds  when the holder got the egg; 0 if unknown or no holder
+ * @param weeklyPlaySeconds  playtime credited to the holder this week
+ * @param world              world of the holder's last known location; null if none yet
+ * @param takenAtMillis      when this snapshot was taken
+ */
+public record HolderSnapshot(
+        String egg,
+        String eggDisplayName,
+        UUID holder,
+        String holderName,
+        long sinceEpochSeconds,
+        long weeklyPlaySeconds,
+        String world,
+        double x,
+        double y,
+        double z,
+        long takenAtMillis
+) {
+
+    public boolean isHeld() {
+        return holder != null;
+    }
+
+    public boolean hasLocation() {
+        return world != null;
+    }
+}
@@ -0,0 +1,169 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.mockito.Mockito;
+import org.mockito.MockSettings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Mocked Bukkit objects for the benchmarks. Mocks are stub-only (no invocation recording), but they still
+ * allocate a little per call, so compare allocation numbers between runs rather than reading them as absolutes.
+ */
+final class BenchFixtures {
+
+    static final String EGG = EggDefinition.DEFAULT_ID;
+    static final int INVENTORY_SIZE = 41;
+
+    private static final Logger LOG = quietLogger();
+    private static boolean serverInstalled;
+
+    private BenchFixtures() {
+    }
+
+    static MockSettings stub() {
+        return Mockito.withSettings().stubOnly();
+    }
+
+    /**
+     * Bukkit.setServer only works once per JVM; forks give each benchmark its own.
+     */
+    static synchronized void installServer() {
+        if (serverInstalled) return;
+        Server server = mock(Server.class, stub());
+        doReturn(LOG).when(server).getLogger();
+        doReturn("BenchServer").when(server).getName();
+        doReturn("bench").when(server).getVersion();
+        doReturn("bench").when(server).getBukkitVersion();
+        doReturn(Collections.emptyList()).when(server).getWorlds();
+        doReturn(mock(BukkitScheduler.class, stub())).when(server).getScheduler();
+        doReturn(mock(PluginManager.class, stub())).when(server).getPluginManager();
+        Bukkit.setServer(server);
+        serverInstalled = true;
+    }
+
+    static File tempDataFolder() {
+        try {
+            File dir = Files.createTempDirectory("dragongames-bench").toFile();
+            dir.deleteOnExit();
+            return dir;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A plugin mock with settings compiled from the default egg plus {@code persistence.mode}.
+     */
+    static DragonGames plugin(File dataFolder, String persistenceMode) {
+        installServer();
+        YamlConfiguration cfg = new YamlConfiguration();
+        cfg.set("persistence.mode", persistenceMode);
+        cfg.set("return-location.world", "world");
+        // benchmarks hammer handlers far beyond any real click rate; measure the allowed path
+        cfg.set("anti-spam.egg-interactions-per-second", 1e12);
+        cfg.set("anti-spam.egg-interaction-burst", Integer.MAX_VALUE);
+        DragonGamesSettings settings = DragonGamesSettings.compile(cfg, LOG).resolveWorlds();
+
+        DragonGames plugin = mock(DragonGames.class, stub());
+        doReturn("dragonGames").when(plugin).getName();
+        doReturn(LOG).when(plugin).getLogger();
+        doReturn(dataFolder).when(plugin).getDataFolder();
+        doReturn(new Metrics()).when(plugin).getMetrics();
+        doReturn(settings).when(plugin).getSettings();
+        doReturn(settings.eggs()).when(plugin).getEggDefinitions();
+        doReturn(settings.pvpOverrideEnabled()).when(plugin).isPvpOverrideEnabled();
+        return plugin;
+    }
+
+    /**
+     * A real, loaded PluginState wired into the plugin mock.
+     */
+    static PluginState state(DragonGames plugin) {
+        PluginState state = new PluginState(plugin);
+        state.load();
+        doReturn(state).when(plugin).getState();
+        return state;
+    }
+
+    static ItemStack item(Material type) {
+        ItemStack it = mock(ItemStack.class, stub());
+        doReturn(type).when(it).getType();
+        doReturn(1).when(it).getAmount();
+        return it;
+    }
+
+    static ItemStack egg(String eggId) {
+        ItemStack it = item(EggManager.EGG_MATERIAL);
+        PersistentDataContainer pdc = mock(PersistentDataContainer.class, stub());
+        doReturn(eggId).when(pdc).get(any(), any(PersistentDataType.class));
+        doReturn(pdc).when(it).getPersistentDataContainer();
+        return it;
+    }
+
+    /**
+     * Inventory backed by {@code slots}; setItem writes through so reconciling changes are visible.
+     */
+    static PlayerInventory inventory(ItemStack[] slots) {
+        PlayerInventory inv = mock(PlayerInventory.class, stub());
+        doReturn(slots.length).when(inv).getSize();
+        doReturn(0).when(inv).getHeldItemSlot();
+        doAnswer(a -> slots[(int) a.getArgument(0)]).when(inv).getItem(anyInt());
+        doAnswer(a -> {
+            slots[(int) a.getArgument(0)] = a.getArgument(1);
+            return null;
+        }).when(inv).setItem(anyInt(), any());
+        return inv;
+    }
+
+    /**
+     * Every slot filled with stone and the egg (if any) in {@code eggSlot}, or only the egg.
+     */
+    static ItemStack[] slots(boolean full, String eggId, int eggSlot) {
+        ItemStack[] slots = new ItemStack[INVENTORY_SIZE];
+        if (full) {
+            ItemStack stone = item(Material.STONE);
+            for (int i = 0; i < slots.length; i++) slots[i] = stone;
+        }
+        if (eggId != null) slots[eggSlot] = egg(eggId);
+        return slots;
+    }
+
+    static Player player(String name, PlayerInventory inv) {
+        Player p = mock(Player.class, stub());
+        UUID id = UUID.nameUUIDFromBytes(name.getBytes());
+        doReturn(id).when(p).getUniqueId();
+        doReturn(name).when(p).getName();
+        doReturn(inv).when(p).getInventory();
+        doReturn(true).when(p).isOnline();
+        return p;
+    }
+
+    private static Logger quietLogger() {
+        Logger log = Logger.getLogger("DragonGamesBench");
+        log.setLevel(Level.WARNING);
+        return log;
+    }
+}
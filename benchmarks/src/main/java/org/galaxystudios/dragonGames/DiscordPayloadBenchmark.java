@@ -0,0 +1,43 @@
+package org.galaxystudios.dragonGames;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Webhook payload building and JSON escaping for a single message and a full batch.
+ */
+@State(Scope.Thread)
+public class DiscordPayloadBenchmark {
+
+    @Param({"1", "10"})
+    public int batchSize;
+
+    private List<DiscordAnnouncer.Pending> batch;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        message = "Steve claimed the \"Dragon Egg\" by killing Alex!\nThe hunt continues \\o/";
+        batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new DiscordAnnouncer.Pending(message, Instant.EPOCH, 0L));
+        }
+    }
+
+    @Benchmark
+    public String buildPayload() {
+        return DiscordAnnouncer.buildEmbedPayload(batch);
+    }
+
+    @Benchmark
+    public String escape() {
+        return DiscordAnnouncer.escapeJson(message);
+    }
+}
@@ -0,0 +1,43 @@
+package org.galaxystudios.dragonGames;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point of benchmarks.jar: the usual JMH command line, with the GC profiler always on so every
+ * result includes gc.alloc.rate.norm (bytes allocated per operation).
+ *
+ * <pre>
+ * mvn package
+ * java -jar benchmarks/target/benchmarks.jar                  # everything
+ * java -jar benchmarks/target/benchmarks.jar EggInventory     # one class (regex)
+ * </pre>
+ */
+public final class DragonGamesBenchmarks {
+
+    private DragonGamesBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cli).addProfiler(GCProfiler.class);
+        if (cli.getBenchModes().isEmpty()) options.mode(Mode.AverageTime);
+        options
+                .timeUnit(cli.getTimeUnit().orElse(TimeUnit.NANOSECONDS))
+                .forks(cli.getForkCount().orElse(1))
+                .warmupIterations(cli.getWarmupIterations().orElse(3))
+                .warmupTime(cli.getWarmupTime().orElse(TimeValue.seconds(2)))
+                .measurementIterations(cli.getMeasurementIterations().orElse(5))
+                .measurementTime(cli.getMeasurementTime().orElse(TimeValue.seconds(2)));
+        new Runner(options.build()).run();
+    }
+}
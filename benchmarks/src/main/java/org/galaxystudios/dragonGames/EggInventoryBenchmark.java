@@ -0,0 +1,71 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.galaxystudios.dragonGames.BenchFixtures.EGG;
+
+/**
+ * Egg counting and inventory reconciliation on a full and an empty inventory.
+ */
+@State(Scope.Thread)
+public class EggInventoryBenchmark {
+
+    @Param({"full", "empty"})
+    public String layout;
+
+    private PluginState state;
+    private EggManager eggs;
+    private Player holder;
+    private Player bystander;
+    private PlayerInventory holderInv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DragonGames plugin = BenchFixtures.plugin(BenchFixtures.tempDataFolder(), "sync");
+        state = BenchFixtures.state(plugin);
+        eggs = new EggManager(plugin);
+
+        boolean full = "full".equals(layout);
+        holderInv = BenchFixtures.inventory(BenchFixtures.slots(full, EGG, 20));
+        holder = BenchFixtures.player("holder", holderInv);
+        bystander = BenchFixtures.player("bystander", BenchFixtures.inventory(BenchFixtures.slots(full, null, 0)));
+
+        state.setHolder(EGG, holder.getUniqueId());
+        // learn the tracked slot once, as the first reconcile after a capture would
+        eggs.normalizeEggInventory(holder);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        state.close(1000L);
+    }
+
+    @Benchmark
+    public int countEggs() {
+        return eggs.countEggs(holderInv, null);
+    }
+
+    @Benchmark
+    public void normalizeHolderTracked() {
+        eggs.normalizeEggInventory(holder);
+    }
+
+    @Benchmark
+    public void normalizeHolderFullScan() {
+        eggs.invalidateEggSlot(holder.getUniqueId());
+        eggs.normalizeEggInventory(holder);
+    }
+
+    @Benchmark
+    public void normalizeBystander() {
+        eggs.normalizeEggInventory(bystander);
+    }
+}
@@ -0,0 +1,95 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.galaxystudios.dragonGames.BenchFixtures.EGG;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Decision paths of the inventory-click and PvP-override handlers.
+ */
+@State(Scope.Thread)
+public class HolderListenerBenchmark {
+
+    private PluginState state;
+    private HolderListener listener;
+
+    private InventoryClickEvent plainClick;
+    private InventoryClickEvent holderMovesEgg;
+    private EntityDamageByEntityEvent hitHolder;
+    private EntityDamageByEntityEvent hitBystander;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DragonGames plugin = BenchFixtures.plugin(BenchFixtures.tempDataFolder(), "sync");
+        state = BenchFixtures.state(plugin);
+        EggManager eggs = new EggManager(plugin);
+        doReturn(new EggReconciler(plugin, eggs)).when(plugin).getReconciler();
+        listener = new HolderListener(plugin, eggs);
+
+        PlayerInventory holderInv = BenchFixtures.inventory(BenchFixtures.slots(true, EGG, 20));
+        Player holder = BenchFixtures.player("holder", holderInv);
+        Player bystander = BenchFixtures.player("bystander", BenchFixtures.inventory(BenchFixtures.slots(true, null, 0)));
+        state.setHolder(EGG, holder.getUniqueId());
+
+        plainClick = click(bystander, BenchFixtures.item(Material.STONE), null, bystander.getInventory());
+        holderMovesEgg = click(holder, holderInv.getItem(20), null, holderInv);
+        hitHolder = damage(holder);
+        hitBystander = damage(bystander);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        state.close(1000L);
+    }
+
+    @Benchmark
+    public void clickWithoutEgg() {
+        listener.onInventoryClick(plainClick);
+    }
+
+    @Benchmark
+    public void clickHolderRearrangesEgg() {
+        listener.onInventoryClick(holderMovesEgg);
+    }
+
+    @Benchmark
+    public void damageHolder() {
+        listener.onDamage(hitHolder);
+    }
+
+    @Benchmark
+    public void damageBystander() {
+        listener.onDamage(hitBystander);
+    }
+
+    private static InventoryClickEvent click(Player who, ItemStack current, ItemStack cursor, PlayerInventory clicked) {
+        InventoryClickEvent e = mock(InventoryClickEvent.class, BenchFixtures.stub());
+        doReturn(who).when(e).getWhoClicked();
+        doReturn(current).when(e).getCurrentItem();
+        doReturn(cursor).when(e).getCursor();
+        doReturn(clicked).when(e).getClickedInventory();
+        doReturn(InventoryAction.PICKUP_ALL).when(e).getAction();
+        return e;
+    }
+
+    private static EntityDamageByEntityEvent damage(Player victim) {
+        EntityDamageByEntityEvent e = mock(EntityDamageByEntityEvent.class, BenchFixtures.stub());
+        doReturn(victim).when(e).getEntity();
+        doReturn(true).when(e).isCancelled();
+        return e;
+    }
+}
@@ -0,0 +1,60 @@
+package org.galaxystudios.dragonGames;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.util.UUID;
+
+import static org.galaxystudios.dragonGames.BenchFixtures.EGG;
+
+/**
+ * What a save costs the calling (server) thread in each persistence mode, and a cold load of state.yml.
+ */
+@State(Scope.Thread)
+public class PluginStateBenchmark {
+
+    @Param({"sync", "write-behind", "journal"})
+    public String mode;
+
+    private PluginState state;
+    private DragonGames loader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        File dir = BenchFixtures.tempDataFolder();
+        state = BenchFixtures.state(BenchFixtures.plugin(dir, mode));
+        // sync mode so loading doesn't start a writer thread per op
+        loader = BenchFixtures.plugin(dir, "sync");
+        state.setHolder(EGG, UUID.randomUUID());
+        state.save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        state.close(5000L);
+    }
+
+    @Benchmark
+    public void save() {
+        state.addPlaySeconds(EGG, 1L);
+        state.save();
+    }
+
+    @Benchmark
+    public PluginState load() {
+        PluginState fresh = new PluginState(loader);
+        fresh.load();
+        return fresh;
+    }
+
+    @Benchmark
+    public long startOfWeek() {
+        return PluginState.startOfWeekEpochSeconds();
+    }
+}
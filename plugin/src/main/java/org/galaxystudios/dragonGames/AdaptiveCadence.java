@@ -0,0 +1,68 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+
+import java.util.Locale;
+
+/**
+ * How much optional periodic work should be stretched right now. {@link #sample()} reads Paper's average
+ * tick time and TPS: above adaptive-cadence.target-mspt (or under 19 TPS) the factor grows by a quarter,
+ * under half the target it shrinks by a quarter, and in between it drifts back toward 1. The factor stays
+ * within [min-factor, max-factor], so an interval never leaves those bounds around its configured value.
+ *
+ * Global thread only, apart from {@link #describe()}.
+ */
+public final class AdaptiveCadence {
+
+    private static final double STEP = 1.25;
+    private static final double SLOW_TPS = 19.0;
+
+    private final DragonGames plugin;
+
+    private volatile double factor = 1.0;
+    private volatile double mspt;
+    private volatile double tps = 20.0;
+
+    public AdaptiveCadence(DragonGames plugin) {
+        this.plugin = plugin;
+        plugin.getMetrics().gauge("cadence_factor_percent", () -> Math.round(factor * 100));
+    }
+
+    public void sample() {
+        DragonGamesSettings.Cadence cfg = plugin.getSettings().cadence();
+        if (!cfg.enabled()) {
+            factor = 1.0;
+            return;
+        }
+        try {
+            mspt = Bukkit.getAverageTickTime();
+            tps = Bukkit.getTPS()[0];
+        } catch (UnsupportedOperationException e) {
+            // no server-wide figures (Folia): keep the configured intervals
+            factor = 1.0;
+            return;
+        }
+        double next = factor;
+        if (mspt > cfg.targetMspt() || tps < SLOW_TPS) {
+            next *= STEP;
+        } else if (mspt < cfg.targetMspt() / 2) {
+            next /= STEP;
+        } else if (next > 1.0) {
+            next = Math.max(1.0, next / STEP);
+        } else if (next < 1.0) {
+            next = Math.min(1.0, next * STEP);
+        }
+        factor = Math.max(cfg.minFactor(), Math.min(cfg.maxFactor(), next));
+    }
+
+    /**
+     * {@code baseTicks} scaled by the current factor; at least one tick.
+     */
+    public long interval(long baseTicks) {
+        return Math.max(1L, Math.round(baseTicks * factor));
+    }
+
+    public String describe() {
+        return String.format(Locale.ROOT, "factor=%.2f (mspt=%.1f, tps=%.1f)", factor, mspt, tps);
+    }
+}
@@ -0,0 +1,122 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.EquipmentSlotGroup;
+import org.bukkit.potion.PotionEffect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps an egg's buffs on its holder without re-sending them every time. A potion effect is only re-added
+ * when it is missing, weaker than the egg's, or has less than buff-refresh-below-seconds left; an attribute
+ * modifier only when it isn't there with the right amount. Modifiers are transient: nothing ticks, milk
+ * doesn't remove them, and they are gone after a restart or relog until the holder is re-buffed.
+ *
+ * Remembers which modifiers it put on each player, so they come off even after a reload changed the egg's
+ * buffs. Call on the player's thread.
+ */
+public final class BuffManager {
+
+    private record Applied(Attribute attribute, NamespacedKey key) {
+    }
+
+    private final DragonGames plugin;
+    private final Map<UUID, List<Applied>> modifiers = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public BuffManager(DragonGames plugin) {
+        this.plugin = plugin;
+        plugin.getMetrics().counter("buffs_applied_total", sent::sum);
+        plugin.getMetrics().counter("buffs_unchanged_total", skipped::sum);
+    }
+
+    public void apply(Player player, EggDefinition def) {
+        if (def == null) return;
+        int refreshBelow = (int) Math.min(EggBuff.POTION_TICKS, plugin.getSettings().buffRefreshBelowTicks());
+        List<Applied> applied = new ArrayList<>();
+        List<EggBuff> buffs = def.buffs();
+        for (int i = 0; i < buffs.size(); i++) {
+            EggBuff b = buffs.get(i);
+            if (b.isAttribute()) {
+                applied.add(applyModifier(player, def.id(), i, b));
+                continue;
+            }
+            PotionEffect want = b.potion();
+            PotionEffect have = player.getPotionEffect(want.getType());
+            if (have != null && have.getAmplifier() >= want.getAmplifier() &&
+                    (have.isInfinite() || have.getDuration() >= refreshBelow)) {
+                skipped.increment();
+                continue;
+            }
+            player.addPotionEffect(want);
+            sent.increment();
+        }
+        List<Applied> prev = applied.isEmpty() ? modifiers.remove(player.getUniqueId()) : modifiers.put(player.getUniqueId(), applied);
+        // modifiers from an earlier definition that this one no longer has
+        if (prev != null) {
+            for (Applied a : prev) {
+                if (!applied.contains(a)) removeModifier(player, a);
+            }
+        }
+    }
+
+    /**
+     * Takes off the modifiers this manager applied, and {@code def}'s potion effects.
+     */
+    public void remove(Player player, EggDefinition def) {
+        List<Applied> prev = modifiers.remove(player.getUniqueId());
+        if (prev != null) {
+            for (Applied a : prev) removeModifier(player, a);
+        }
+        if (def == null) return;
+        for (EggBuff b : def.buffs()) {
+            if (b.isAttribute()) continue;
+            PotionEffect have = player.getPotionEffect(b.potion().getType());
+            // leave a stronger effect from elsewhere (beacon, potion) alone
+            if (have != null && have.getAmplifier() == b.potion().getAmplifier()) player.removePotionEffect(have.getType());
+        }
+    }
+
+    /**
+     * Transient modifiers don't survive a relog, so there is nothing to keep track of once they leave.
+     */
+    public void forget(UUID player) {
+        modifiers.remove(player);
+    }
+
+    public String describeStats() {
+        return "applied=" + sent.sum() + ", unchanged=" + skipped.sum() + ", modified=" + modifiers.size();
+    }
+
+    private Applied applyModifier(Player player, String egg, int index, EggBuff b) {
+        NamespacedKey key = new NamespacedKey(plugin, "buff." + egg + "." + index);
+        Applied applied = new Applied(b.attribute(), key);
+        AttributeInstance inst = player.getAttribute(b.attribute());
+        if (inst == null) return applied;
+        AttributeModifier have = inst.getModifier(key);
+        if (have != null && have.getAmount() == b.amount() && have.getOperation() == b.operation()) {
+            skipped.increment();
+            return applied;
+        }
+        if (have != null) inst.removeModifier(key);
+        inst.addTransientModifier(new AttributeModifier(key, b.amount(), b.operation(), EquipmentSlotGroup.ANY));
+        sent.increment();
+        return applied;
+    }
+
+    private static void removeModifier(Player player, Applied a) {
+        AttributeInstance inst = player.getAttribute(a.attribute());
+        if (inst != null && inst.getModifier(a.key()) != null) inst.removeModifier(a.key());
+    }
+}
@@ -0,0 +1,190 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Shared holders in a directory every backend mounts: {@code <egg>.holder} per egg, changed only while
+ * holding an OS lock on {@code <egg>.lock} and replaced by an atomic rename, so readers never see half a file.
+ *
+ * Changes are noticed by a watcher thread. A WatchService wakes it as soon as a local write lands; network
+ * filesystems often don't report other machines' writes, so it also re-reads the versions every poll-millis.
+ */
+public final class DirectoryHolderStore implements SharedHolderStore {
+
+    private static final String SUFFIX = ".holder";
+
+    private final DragonGames plugin;
+    private final Path dir;
+    private final long pollMillis;
+
+    private volatile boolean running;
+    private WatchService watch;
+    private Thread watcher;
+
+    public DirectoryHolderStore(DragonGames plugin, Path dir, long pollMillis) throws IOException {
+        this.plugin = plugin;
+        this.dir = dir;
+        this.pollMillis = Math.max(50L, pollMillis);
+        Files.createDirectories(dir);
+    }
+
+    @Override
+    public Entry read(String egg) throws IOException {
+        Path file = dir.resolve(egg + SUFFIX);
+        if (!Files.exists(file)) return Entry.EMPTY;
+        Properties p = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            p.load(in);
+        }
+        String holder = p.getProperty("holder", "");
+        try {
+            return new Entry(holder.isEmpty() ? null : UUID.fromString(holder),
+                    Long.parseLong(p.getProperty("version", "0")),
+                    p.getProperty("origin", ""),
+                    Long.parseLong(p.getProperty("week", "0")),
+                    Long.parseLong(p.getProperty("play", "0")),
+                    Long.parseLong(p.getProperty("lastWeek", "0")),
+                    Long.parseLong(p.getProperty("lastPlay", "0")));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt shared holder file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long compareAndSet(String egg, long expectedVersion, UUID holder, String origin, long weekStart) throws IOException {
+        try (FileChannel lockFile = FileChannel.open(dir.resolve(egg + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockFile.lock()) {
+            Entry cur = read(egg);
+            if (cur.version() != expectedVersion) return -1L;
+            long version = expectedVersion + 1;
+            write(egg, new Entry(holder, version, origin, weekStart, 0L, 0L, 0L));
+            return version;
+        }
+    }
+
+    @Override
+    public void addPlaySeconds(String egg, long version, long weekStart, long seconds) throws IOException {
+        try (FileChannel lockFile = FileChannel.open(dir.resolve(egg + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockFile.lock()) {
+            Entry cur = read(egg);
+            if (cur.version() != version) return;
+            Entry next;
+            if (cur.weekStartEpochSeconds() == weekStart) {
+                next = new Entry(cur.holder(), version, cur.origin(), weekStart, cur.weeklyPlaySeconds() + seconds,
+                        cur.lastWeekStartEpochSeconds(), cur.lastWeeklyPlaySeconds());
+            } else if (weekStart > cur.weekStartEpochSeconds()) {
+                next = new Entry(cur.holder(), version, cur.origin(), weekStart, seconds,
+                        cur.weekStartEpochSeconds(), cur.weeklyPlaySeconds());
+            } else if (weekStart == cur.lastWeekStartEpochSeconds()) {
+                // a late credit for last week from a backend that hasn't rolled over yet
+                next = new Entry(cur.holder(), version, cur.origin(), cur.weekStartEpochSeconds(), cur.weeklyPlaySeconds(),
+                        weekStart, cur.lastWeeklyPlaySeconds() + seconds);
+            } else {
+                return;
+            }
+            write(egg, next);
+        }
+    }
+
+    private void write(String egg, Entry e) throws IOException {
+        Properties p = new Properties();
+        p.setProperty("holder", e.holder() == null ? "" : e.holder().toString());
+        p.setProperty("version", Long.toString(e.version()));
+        p.setProperty("origin", e.origin());
+        p.setProperty("week", Long.toString(e.weekStartEpochSeconds()));
+        p.setProperty("play", Long.toString(e.weeklyPlaySeconds()));
+        p.setProperty("lastWeek", Long.toString(e.lastWeekStartEpochSeconds()));
+        p.setProperty("lastPlay", Long.toString(e.lastWeeklyPlaySeconds()));
+        Path tmp = dir.resolve(egg + SUFFIX + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            p.store(out, "DragonGames shared holder");
+        }
+        Files.move(tmp, dir.resolve(egg + SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void listen(Consumer<String> changed) {
+        if (running) return;
+        running = true;
+        try {
+            watch = dir.getFileSystem().newWatchService();
+            dir.register(watch, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Cannot watch " + dir + ", polling only: " + e.getMessage());
+            watch = null;
+        }
+        watcher = Thread.ofPlatform().daemon().name("DragonGames-shared-watch").start(() -> {
+            Map<String, Long> seen = new HashMap<>();
+            while (running) {
+                try {
+                    WatchKey key = watch == null ? null : watch.poll(pollMillis, TimeUnit.MILLISECONDS);
+                    if (watch == null) Thread.sleep(pollMillis);
+                    if (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                    scan(seen, changed);
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                    return;
+                } catch (RuntimeException e) {
+                    plugin.getLogger().warning("Shared holder watcher: " + e);
+                }
+            }
+        });
+    }
+
+    private void scan(Map<String, Long> seen, Consumer<String> changed) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String egg = name.substring(0, name.length() - SUFFIX.length());
+                long version;
+                try {
+                    version = read(egg).version();
+                } catch (IOException e) {
+                    continue;
+                }
+                Long prev = seen.put(egg, version);
+                if (prev == null || prev != version) changed.accept(egg);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Cannot list " + dir + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (watcher != null) watcher.interrupt();
+        if (watch != null) {
+            try {
+                watch.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "directory " + dir + " (poll " + pollMillis + "ms)";
+    }
+}
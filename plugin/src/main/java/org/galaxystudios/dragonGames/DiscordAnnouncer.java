@@ -0,0 +1,316 @@
+package org.galaxystudios.dragonGames;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends game updates to Discord.
+ *
+ * Note: Discord doesn't use WebSockets for user bots/webhooks in the way most people expect.
+ * The stable, safe way for a Minecraft plugin to "announce" is a Discord webhook.
+ *
+ * Messages go into a bounded queue drained by one virtual thread that reuses a single HttpClient. Whatever
+ * has queued up is sent together, up to {@value #MAX_EMBEDS} embeds per request, and Discord's rate-limit
+ * headers are honoured. When the queue is full new messages are dropped and counted.
+ */
+public final class DiscordAnnouncer {
+
+    // Discord limits per webhook message
+    private static final int MAX_EMBEDS = 10;
+    private static final int MAX_EMBED_CHARS = 6000;
+    private static final int MAX_DESCRIPTION = 4096;
+    private static final String TITLE = "Dragon Games Update";
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long POLL_MILLIS = 250L;
+    private static final Pattern RETRY_AFTER = Pattern.compile("\"retry_after\"\\s*:\\s*([0-9.]+)");
+
+    private final DragonGames plugin;
+    private final BlockingQueue<Pending> queue;
+    private final HttpClient http;
+
+    private volatile boolean running;
+    // set when stop() gave up waiting: what the sender still holds is counted as failed
+    private volatile boolean abandoned;
+    private volatile int inFlight;
+    private Thread sender;
+
+    // earliest time the next request may go out, set from rate-limit headers; sender thread only
+    private boolean holdNext;
+    private long notBeforeNanos;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sentMessages = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedMessages = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    private final LatencyHistogram queueWaitTimer;
+    private final LatencyHistogram postTimer;
+
+    public DiscordAnnouncer(DragonGames plugin) {
+        this.plugin = plugin;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, plugin.getSettings().discordQueueSize()));
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        Metrics metrics = plugin.getMetrics();
+        this.queueWaitTimer = metrics.histogram("discord.queueWait");
+        this.postTimer = metrics.histogram("discord.post");
+        metrics.gauge("discord_queue_depth", queue::size);
+        metrics.counter("discord_messages_sent_total", sentMessages::get);
+        metrics.counter("discord_messages_dropped_total", dropped::get);
+        metrics.counter("discord_messages_failed_total", failedMessages::get);
+        metrics.counter("discord_rate_limited_total", rateLimited::get);
+    }
+
+    public void start() {
+        if (running) return;
+        running = true;
+        sender = Thread.ofVirtual().name("DragonGames-Discord").start(this::run);
+    }
+
+    /**
+     * Stops accepting messages and gives the sender up to {@code timeoutMillis} to deliver what is queued.
+     */
+    public void stop(long timeoutMillis) {
+        if (!running) return;
+        // no interrupt: that would abort a post in flight; the sender notices within POLL_MILLIS
+        running = false;
+        try {
+            sender.join(Math.max(1L, timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!sender.isAlive()) return;
+        abandoned = true;
+        int left = queue.size() + inFlight;
+        if (left > 0) plugin.getLogger().warning("Discord: " + left + " message(s) were not sent before shutdown.");
+    }
+
+    public void announceAsync(String message) {
+        DragonGamesSettings settings = plugin.getSettings();
+        if (!settings.discordEnabled() || !running) return;
+
+        // Never block the main thread with I/O: enqueue and let the sender thread post it.
+        String text = trimToLength(stripPrefix(message, settings.discordPrefix()), MAX_DESCRIPTION);
+        if (queue.offer(new Pending(text, Instant.now(), System.nanoTime()))) {
+            enqueued.incrementAndGet();
+        } else {
+            long d = dropped.incrementAndGet();
+            if (d == 1 || d % 100 == 0) plugin.getLogger().warning("Discord queue is full; dropped " + d + " message(s) so far.");
+        }
+    }
+
+    long sentCount() {
+        return sentMessages.get();
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+
+    long failedCount() {
+        return failedMessages.get();
+    }
+
+    long requestCount() {
+        return requests.get();
+    }
+
+    long rateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    public String describeStats() {
+        long sent = sentMessages.get();
+        return "queued=" + queue.size() + " enqueued=" + enqueued.get() + " sent=" + sent +
+                " requests=" + requests.get() + " dropped=" + dropped.get() + " failed=" + failedMessages.get() +
+                " rateLimited=" + rateLimited.get() +
+                " avgLatencyMs=" + (sent == 0 ? 0 : totalLatencyMillis.get() / sent) + " maxLatencyMs=" + maxLatencyMillis.get();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(MAX_EMBEDS);
+        while ((running || !queue.isEmpty()) && !abandoned) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                fillBatch(batch);
+                inFlight = batch.size();
+                waitForRateLimit();
+                long now = System.nanoTime();
+                for (Pending p : batch) queueWaitTimer.record(now - p.enqueuedNanos());
+                send(batch);
+            } catch (InterruptedException e) {
+                failedMessages.addAndGet(batch.size());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                failedMessages.addAndGet(batch.size());
+                plugin.getLogger().warning("Discord announce failed: " + ex.getMessage());
+            } finally {
+                batch.clear();
+                inFlight = 0;
+            }
+        }
+        // given up on by stop(): count the rest
+        for (Pending ignored; (ignored = queue.poll()) != null; ) failedMessages.incrementAndGet();
+    }
+
+    private void fillBatch(List<Pending> batch) {
+        int chars = 0;
+        for (Pending p : batch) chars += TITLE.length() + p.text().length();
+        while (batch.size() < MAX_EMBEDS) {
+            Pending next = queue.peek();
+            if (next == null || chars + TITLE.length() + next.text().length() > MAX_EMBED_CHARS) return;
+            batch.add(queue.poll());
+            chars += TITLE.length() + next.text().length();
+        }
+    }
+
+    private void waitForRateLimit() throws InterruptedException {
+        if (!holdNext) return;
+        long waitNanos = notBeforeNanos - System.nanoTime();
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+        holdNext = false;
+    }
+
+    private void holdUntil(long nanos) {
+        // nanoTime has an arbitrary origin, so "no hold yet" can't be a magic value
+        notBeforeNanos = holdNext && notBeforeNanos - nanos > 0 ? notBeforeNanos : nanos;
+        holdNext = true;
+    }
+
+    private void send(List<Pending> batch) throws Exception {
+        String url = plugin.getSettings().discordWebhookUrl();
+        if (url.isBlank()) {
+            dropped.addAndGet(batch.size());
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(15))
+                .header("Content-Type", "application/json")
+                .header("User-Agent", "DragonGames/DiscordWebhook")
+                .POST(HttpRequest.BodyPublishers.ofString(buildEmbedPayload(batch), StandardCharsets.UTF_8))
+                .build();
+
+        for (int attempt = 1; ; attempt++) {
+            if (abandoned) throw new IllegalStateException("shut down before the message could be sent");
+            long start = System.nanoTime();
+            HttpResponse<String> res = http.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            postTimer.recordSince(start);
+            requests.incrementAndGet();
+            applyRateLimitHeaders(res);
+            int code = res.statusCode();
+
+            if (code >= 200 && code < 300) {
+                long now = System.nanoTime();
+                for (Pending p : batch) {
+                    long latency = TimeUnit.NANOSECONDS.toMillis(now - p.enqueuedNanos());
+                    totalLatencyMillis.addAndGet(latency);
+                    maxLatencyMillis.accumulateAndGet(latency, Math::max);
+                }
+                sentMessages.addAndGet(batch.size());
+                return;
+            }
+            if (code == 429 && attempt < MAX_ATTEMPTS) {
+                rateLimited.incrementAndGet();
+                long retryMillis = retryAfterMillis(res);
+                plugin.logDebug("Discord rate limited; retrying in " + retryMillis + " ms");
+                holdUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryMillis));
+                waitForRateLimit();
+                continue;
+            }
+            String body = res.body() == null ? "" : res.body().trim();
+            throw new IllegalStateException("Discord webhook returned HTTP " + code + (body.isEmpty() ? "" : ": " + body));
+        }
+    }
+
+    /**
+     * Bucket exhausted: hold the next request until the bucket resets.
+     */
+    private void applyRateLimitHeaders(HttpResponse<?> res) {
+        Optional<String> remaining = res.headers().firstValue("X-RateLimit-Remaining");
+        Optional<String> resetAfter = res.headers().firstValue("X-RateLimit-Reset-After");
+        if (remaining.isPresent() && resetAfter.isPresent() && "0".equals(remaining.get().trim())) {
+            long millis = parseSecondsToMillis(resetAfter.get(), 1000L);
+            holdUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+    }
+
+    private long retryAfterMillis(HttpResponse<String> res) {
+        Optional<String> header = res.headers().firstValue("Retry-After");
+        if (header.isPresent()) return parseSecondsToMillis(header.get(), 1000L);
+        // 429 bodies carry {"retry_after": <seconds>}
+        Matcher m = RETRY_AFTER.matcher(res.body() == null ? "" : res.body());
+        return m.find() ? parseSecondsToMillis(m.group(1), 1000L) : 1000L;
+    }
+
+    private long parseSecondsToMillis(String value, long fallback) {
+        try {
+            return Math.max(0L, (long) Math.ceil(Double.parseDouble(value.trim()) * 1000.0));
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    static String buildEmbedPayload(List<Pending> batch) {
+        StringBuilder sb = new StringBuilder(256 * batch.size());
+        sb.append("{\"embeds\":[");
+        for (int i = 0; i < batch.size(); i++) {
+            Pending p = batch.get(i);
+            if (i > 0) sb.append(',');
+            sb.append('{')
+                    .append("\"title\":\"").append(TITLE).append("\",")
+                    .append("\"description\":\"").append(escapeJson(p.text())).append("\",")
+                    .append("\"color\":").append(0x9b59b6).append(',')
+                    .append("\"timestamp\":\"").append(p.at()).append('"')
+                    .append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    private String stripPrefix(String content, String prefix) {
+        if (content == null) return "";
+        if (prefix == null || prefix.isBlank()) return content;
+        return content.startsWith(prefix) ? content.substring(prefix.length()) : content;
+    }
+
+    private String trimToLength(String value, int max) {
+        if (value == null) return "";
+        if (value.length() <= max) return value;
+        plugin.getLogger().warning("Discord message truncated to " + max + " characters for embed.");
+        return value.substring(0, max - 1) + "\u2026"; // ellipsis
+    }
+
+    static String escapeJson(String value) {
+        if (value == null) return "";
+        return value
+                .replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\r", "")
+                .replace("\n", "\\n");
+    }
+
+    record Pending(String text, Instant at, long enqueuedNanos) {
+    }
+}
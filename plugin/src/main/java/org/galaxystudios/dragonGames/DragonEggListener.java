@@ -0,0 +1,126 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.UUID;
+
+/**
+ * Handlers that must run for the whole plugin lifetime: holder presence tracking, egg block protection and
+ * refusing egg clicks by anyone but a holder, so a duplicated egg can't be moved into a chest even while
+ * the real one sits at its altar. Everything else lives in listener groups registered by
+ * {@link ListenerGroups} only while it can matter.
+ */
+public final class DragonEggListener implements Listener {
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+
+    public DragonEggListener(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent e) {
+        if (e.getBlock().getType() != EggManager.EGG_MATERIAL) return;
+        if (!(e.getPlayer() instanceof Player p)) return;
+
+        e.setCancelled(true);
+        eggs.captureEggBlock(p, e.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent e) {
+        if (e.getBlockPlaced().getType() != EggManager.EGG_MATERIAL) return;
+        e.setCancelled(true);
+        if (plugin.getReconciler().allowInteraction(e.getPlayer())) {
+            e.getPlayer().sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "You can't place the Dragon Egg.");
+        }
+        plugin.getReconciler().request(e.getPlayer());
+    }
+
+    /**
+     * Rate limits egg clicks and refuses them from non-holders; {@link HolderListener} checks where a
+     * holder may move their egg.
+     */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent e) {
+        if (!(e.getWhoClicked() instanceof Player p)) return;
+        ItemStack current = e.getCurrentItem();
+        ItemStack cursor = e.getCursor();
+        boolean involvesEgg = (current != null && current.getType() == EggManager.EGG_MATERIAL) ||
+                (cursor != null && cursor.getType() == EggManager.EGG_MATERIAL);
+        if (!involvesEgg) return;
+        refuseUnlessHolder(e, p);
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent e) {
+        if (!(e.getWhoClicked() instanceof Player p)) return;
+        ItemStack cursor = e.getOldCursor();
+        if (cursor == null || cursor.getType() != EggManager.EGG_MATERIAL) return;
+        refuseUnlessHolder(e, p);
+    }
+
+    private void refuseUnlessHolder(Cancellable e, Player p) {
+        eggs.invalidateEggSlot(p.getUniqueId());
+        // Only a current holder can move an egg at all
+        if (!plugin.getReconciler().allowInteraction(p) || !eggs.isHolder(p.getUniqueId())) {
+            e.setCancelled(true);
+            plugin.getReconciler().request(p);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        Player p = e.getPlayer();
+        String egg = eggs.getEggHeldBy(p.getUniqueId());
+
+        // If player is supposed to be holder, ensure exactly one egg + buffs
+        if (egg != null) {
+            plugin.getSchedulers().global(() -> {
+                plugin.getState().startSession(p.getUniqueId());
+                plugin.getSnapshots().refresh();
+                plugin.getListenerGroups().refresh();
+            });
+            plugin.getSchedulers().entityNextTick(p, () -> {
+                eggs.clearEggs(p);
+                eggs.giveEggToPlayer(p);
+                eggs.applyEggBuffs(p);
+                plugin.getDynmap().updateMarker(egg, p);
+            });
+            return;
+        }
+
+        // If player is not holder, strip any eggs they may have
+        plugin.getSchedulers().entityNextTick(p, () -> eggs.clearEggs(p));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        UUID uuid = e.getPlayer().getUniqueId();
+        eggs.forgetEggSlot(uuid);
+        eggs.getBuffs().forget(uuid);
+        plugin.getReconciler().forget(uuid);
+        if (!eggs.isHolder(uuid)) return;
+        plugin.getSchedulers().global(() -> {
+            plugin.getState().endSession(uuid);
+            plugin.getState().touchActivity(uuid);
+            plugin.getState().save();
+            plugin.getSnapshots().refresh();
+            plugin.getListenerGroups().refresh(uuid);
+        });
+    }
+}
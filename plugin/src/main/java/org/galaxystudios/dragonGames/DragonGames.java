@@ -0,0 +1,468 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.ServicePriority;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.galaxystudios.dragonGames.api.DragonGamesApi;
+import org.galaxystudios.dragonGames.api.EggCause;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+public final class DragonGames extends JavaPlugin {
+
+    private PluginState state;
+    private EggManager eggManager;
+    private EggReconciler reconciler;
+    private EffectRenderer effects;
+    private DynmapHook dynmap;
+    private DiscordAnnouncer discord;
+    private StatsStore stats;
+    private EggHistory history;
+    private EggScanner scanner;
+    private SharedState shared;
+    private HolderSnapshots snapshots;
+    private PlaceholderValues placeholders;
+    private TickTasks tickTasks;
+    private ListenerGroups listenerGroups;
+    private final Metrics metrics = new Metrics();
+    private final Schedulers schedulers = new Schedulers(this);
+    private MetricsExporter metricsExporter;
+
+    // replaced wholesale on reload; read lock-free from any thread
+    private volatile DragonGamesSettings settings;
+    // config.yml as read by the last reload; null until then
+    private volatile FileConfiguration loadedConfig;
+    // what the last reload or rollback replaced; global thread only
+    private DragonGamesSettings previousSettings;
+    private FileConfiguration previousConfig;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    @Override
+    public void onEnable() {
+        saveDefaultConfig();
+
+        this.settings = DragonGamesSettings.compile(getConfig(), getLogger()).resolveWorlds();
+
+        this.discord = new DiscordAnnouncer(this);
+        this.discord.start();
+
+        this.metricsExporter = new MetricsExporter(this, metrics);
+        this.metricsExporter.start();
+
+        this.stats = new StatsStore(this);
+        this.stats.open();
+
+        if (settings.history().enabled()) {
+            this.history = new EggHistory(this);
+            this.history.open();
+        }
+
+        this.state = new PluginState(this);
+        this.state.load();
+        this.state.setOnPlaytime((uuid, seconds) -> {
+            Player online = Bukkit.getPlayer(uuid);
+            stats.addHoldSeconds(uuid, online == null ? null : online.getName(), seconds);
+        });
+
+        this.effects = new EffectRenderer(this);
+        this.eggManager = new EggManager(this);
+        this.reconciler = new EggReconciler(this, eggManager);
+
+        this.dynmap = new DynmapHook(this);
+        this.dynmap.init();
+
+        this.snapshots = new HolderSnapshots(this);
+        this.snapshots.refresh();
+        Bukkit.getServicesManager().register(DragonGamesApi.class, snapshots, this, ServicePriority.Normal);
+
+        ListenerGroups.register(this, new DragonEggListener(this, eggManager));
+        this.listenerGroups = new ListenerGroups(this, eggManager);
+        this.state.setOnChange(() -> {
+            listenerGroups.refresh();
+            snapshots.refresh();
+        });
+        this.listenerGroups.refresh();
+
+        if (getCommand("dragongames") != null) {
+            DragonGamesCommand cmd = new DragonGamesCommand(this);
+            getCommand("dragongames").setExecutor(cmd);
+            getCommand("dragongames").setTabCompleter(cmd);
+        }
+
+        this.tickTasks = new TickTasks(this, eggManager);
+        this.tickTasks.start();
+        listenerGroups.getHud().start();
+
+        this.shared = SharedState.create(this);
+        if (shared != null) shared.start();
+
+        if (settings.placeholders().enabled() && Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
+            this.placeholders = new PlaceholderValues(this);
+            snapshots.setOnRefresh(placeholders::rebuild);
+            placeholders.start();
+        }
+
+        if (settings.scanner().enabled()) {
+            this.scanner = new EggScanner(this);
+            this.scanner.start();
+            ListenerGroups.register(this, scanner);
+        }
+
+        for (EggState egg : state.getEggs()) {
+            Player holder = eggManager.getOnlineHolder(egg.getId());
+            if (holder == null) continue;
+            state.startSession(holder.getUniqueId());
+            schedulers.entityNextTick(holder, () -> {
+                eggManager.ensureEggInInventory(holder);
+                eggManager.applyEggBuffs(holder);
+                dynmap.updateMarker(egg.getId(), holder);
+            });
+        }
+
+        getLogger().info("DragonGames enabled. gameEnabled=" + state.isGameEnabled() + " eggs=" + settings.eggs().keySet() +
+                (Schedulers.isFolia() ? " (region-threaded)" : ""));
+        logDebug("Debug mode is ON");
+    }
+
+    @Override
+    public void onDisable() {
+        Bukkit.getServicesManager().unregisterAll(this);
+        if (placeholders != null) placeholders.stop();
+        if (state != null) {
+            state.save();
+            state.close(settings.persistence().flushTimeoutMillis());
+        }
+        // after the state: its final save credits open sessions to the shared weekly playtime
+        if (shared != null) shared.close(settings.persistence().flushTimeoutMillis());
+        // after the state: its final save credits open sessions to the stats
+        if (stats != null) stats.close(settings.persistence().flushTimeoutMillis());
+        if (history != null) history.close(settings.persistence().flushTimeoutMillis());
+        if (scanner != null) scanner.stop(settings.persistence().flushTimeoutMillis());
+        if (dynmap != null) dynmap.clearMarkers();
+        if (discord != null) discord.stop(settings.persistence().flushTimeoutMillis());
+        if (metricsExporter != null) metricsExporter.stop();
+    }
+
+    public PluginState getState() {
+        return state;
+    }
+
+    public EggManager getEggManager() {
+        return eggManager;
+    }
+
+    public EffectRenderer getEffects() {
+        return effects;
+    }
+
+    public EggReconciler getReconciler() {
+        return reconciler;
+    }
+
+    public DynmapHook getDynmap() {
+        return dynmap;
+    }
+
+    public DiscordAnnouncer getDiscord() {
+        return discord;
+    }
+
+    public StatsStore getStats() {
+        return stats;
+    }
+
+    /**
+     * Null if history.enabled was off at startup.
+     */
+    public EggHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Null if scanner.enabled was off at startup.
+     */
+    public EggScanner getScanner() {
+        return scanner;
+    }
+
+    /**
+     * Null unless shared-state.backend was set at startup.
+     */
+    public SharedState getShared() {
+        return shared;
+    }
+
+    /**
+     * What {@link DragonGamesApi} serves to other plugins.
+     */
+    public HolderSnapshots getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Null unless PlaceholderAPI was installed and placeholders.enabled set at startup.
+     */
+    public PlaceholderValues getPlaceholders() {
+        return placeholders;
+    }
+
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    public Schedulers getSchedulers() {
+        return schedulers;
+    }
+
+    public TickTasks getTickTasks() {
+        return tickTasks;
+    }
+
+    public ListenerGroups getListenerGroups() {
+        return listenerGroups;
+    }
+
+    public DragonGamesSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * All configured eggs by id, default egg first.
+     */
+    public Map<String, EggDefinition> getEggDefinitions() {
+        return settings.eggs();
+    }
+
+    @Override
+    public FileConfiguration getConfig() {
+        FileConfiguration cfg = loadedConfig;
+        return cfg != null ? cfg : super.getConfig();
+    }
+
+    /**
+     * Re-reads config.yml without holding up a tick: the file is read and compiled on a background thread,
+     * then checked and published on the global thread, which also looks up the egg worlds and reschedules
+     * the timers. {@code done} is called on the global thread with null on success or why the reload was
+     * refused, in which case the current settings stay active. The replaced settings are kept for
+     * {@link #rollbackSettings()}.
+     */
+    public void reloadSettings(Consumer<String> done) {
+        if (!reloading.compareAndSet(false, true)) {
+            done.accept("a reload is already in progress");
+            return;
+        }
+        schedulers.async(() -> {
+            YamlConfiguration cfg = new YamlConfiguration();
+            DragonGamesSettings next;
+            try {
+                cfg.load(new File(getDataFolder(), "config.yml"));
+                InputStream defaults = getResource("config.yml");
+                if (defaults != null) {
+                    cfg.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defaults, StandardCharsets.UTF_8)));
+                }
+                next = DragonGamesSettings.compile(cfg, getLogger());
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                String why = "config.yml is invalid: " + e.getMessage();
+                schedulers.global(() -> {
+                    reloading.set(false);
+                    done.accept(why);
+                });
+                return;
+            }
+            schedulers.global(() -> {
+                try {
+                    String refused = refuseReload(next);
+                    if (refused == null) {
+                        previousSettings = settings;
+                        previousConfig = getConfig();
+                        loadedConfig = cfg;
+                        publishSettings(next);
+                        getLogger().info("Reloaded config.yml.");
+                    }
+                    done.accept(refused);
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        });
+    }
+
+    /**
+     * Global thread: swaps back to the settings the last reload replaced, and writes them back to config.yml
+     * so a restart keeps them. Rolling back twice re-applies the reload. Returns null, or why it can't.
+     */
+    public String rollbackSettings() {
+        if (previousSettings == null) return "there is no earlier config to roll back to";
+        String refused = refuseReload(previousSettings);
+        if (refused != null) return refused;
+        DragonGamesSettings current = settings;
+        FileConfiguration currentConfig = getConfig();
+        loadedConfig = previousConfig;
+        publishSettings(previousSettings);
+        previousSettings = current;
+        previousConfig = currentConfig;
+
+        String yaml = loadedConfig.saveToString();
+        File file = new File(getDataFolder(), "config.yml");
+        schedulers.async(() -> {
+            try {
+                Files.writeString(file.toPath(), yaml, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                getLogger().warning("Rolled back, but could not write config.yml: " + e.getMessage());
+            }
+        });
+        getLogger().info("Rolled config back to the previous settings.");
+        return null;
+    }
+
+    /**
+     * Null if {@code next} may replace the current settings, otherwise the reason it may not.
+     */
+    private String refuseReload(DragonGamesSettings next) {
+        for (EggState egg : state.getEggs()) {
+            if (egg.getHolder() != null && !next.eggs().containsKey(egg.getId())) {
+                getLogger().warning("Reload refused: egg '" + egg.getId() + "' is still held; return it before removing it from the config.");
+                return "egg '" + egg.getId() + "' is still held; return it before removing it from the config";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Global thread: looks up the egg worlds of {@code compiled}, makes it current and brings everything
+     * derived from it up to date: buffs and markers of online holders, listener groups and timer intervals.
+     */
+    private void publishSettings(DragonGamesSettings compiled) {
+        DragonGamesSettings next = compiled.resolveWorlds();
+        DragonGamesSettings previous = this.settings;
+        this.settings = next;
+        state.ensureEggs(next.eggs().keySet());
+        // swap buffs on online holders in case they changed
+        for (EggState egg : state.getEggs()) {
+            Player p = eggManager.getOnlineHolder(egg.getId());
+            if (p == null) continue;
+            EggDefinition old = previous.eggs().get(egg.getId());
+            schedulers.entity(p, () -> {
+                eggManager.removeEggBuffs(p, old);
+                eggManager.applyEggBuffs(p);
+                dynmap.updateMarker(egg.getId(), p);
+            });
+        }
+        for (EggState egg : state.getEggs()) {
+            if (egg.getHolder() != null && Bukkit.getPlayer(egg.getHolder()) == null) dynmap.refreshLastMarker(egg.getId());
+        }
+        listenerGroups.refresh();
+        snapshots.refresh();
+        tickTasks.reschedule();
+        listenerGroups.getHud().reschedule();
+    }
+
+    public boolean isPvpOverrideEnabled() {
+        return settings.pvpOverrideEnabled();
+    }
+
+    public boolean isGameEnabled() {
+        // persisted state is the source of truth
+        return state.isGameEnabled();
+    }
+
+    public void setGameEnabled(boolean enabled) {
+        state.setGameEnabled(enabled);
+        state.save();
+    }
+
+    public void startDragonGames(Location home) {
+        setGameEnabled(true);
+
+        if (home != null) {
+            discord.announceAsync(settings.discordPrefix() +
+                    "Dragon Games started! Home set at " + home.getWorld().getName() + " " +
+                    (int) home.getX() + "," + (int) home.getY() + "," + (int) home.getZ());
+            eggManager.placeEggsAtHomeIfNoHolder();
+        } else {
+            discord.announceAsync(settings.discordPrefix() + "Dragon Games started!");
+            eggManager.placeEggsAtHomeIfNoHolder();
+        }
+    }
+
+    public void stopDragonGames() {
+        setGameEnabled(false);
+        discord.announceAsync(settings.discordPrefix() + "Dragon Games stopped.");
+    }
+
+    public void clearHolderAndReturnEgg(String egg) {
+        String name = eggManager.displayName(egg);
+        eggManager.returnEggToReturnLocation(egg, EggCause.ADMIN, "The " + name + " was returned by an admin.",
+                "An admin returned the " + name + " to home.");
+    }
+
+    public void setHolderByAdmin(Player player, String egg) {
+        if (player == null) return;
+        eggManager.setHolder(player, egg, EggManager.EggEventReason.ADMIN,
+                "Admin set " + eggManager.displayName(egg) + " holder to " + player.getName() + ".");
+    }
+
+    public void clearHolderOnly(String egg) {
+        UUID holder = state.getHolder(egg);
+        if (holder != null) {
+            Player oldOnline = Bukkit.getPlayer(holder);
+            if (oldOnline != null) {
+                EggDefinition def = settings.eggs().get(egg);
+                schedulers.entity(oldOnline, () -> {
+                    eggManager.clearEggs(oldOnline, egg);
+                    eggManager.removeEggBuffs(oldOnline, def);
+                });
+            }
+        }
+        state.setHolder(egg, null);
+        if (shared != null) shared.holderChanged(egg, null);
+        state.save();
+        dynmap.clearMarker(egg);
+    }
+
+    /**
+     * Moves an egg's altar. The default egg uses the top-level return-location, others eggs.&lt;id&gt;.return-location.
+     */
+    public void setReturnLocation(String egg, Location loc) {
+        if (loc == null || loc.getWorld() == null) return;
+        String p = EggDefinition.DEFAULT_ID.equals(egg) ? "return-location." : "eggs." + egg + ".return-location.";
+        getConfig().set(p + "world", loc.getWorld().getName());
+        getConfig().set(p + "x", loc.getX());
+        getConfig().set(p + "y", loc.getY());
+        getConfig().set(p + "z", loc.getZ());
+        getConfig().set(p + "yaw", loc.getYaw());
+        getConfig().set(p + "pitch", loc.getPitch());
+        saveConfig();
+        // the altar is part of the egg definition, so recompile
+        publishSettings(DragonGamesSettings.compile(getConfig(), getLogger()));
+    }
+
+    public Location getReturnLocation(String egg) {
+        EggDefinition def = settings.eggs().get(egg);
+        return def == null ? null : def.returnLocation();
+    }
+
+    public boolean isDebugEnabled() {
+        return settings.debug();
+    }
+
+    public void logDebug(String msg) {
+        if (isDebugEnabled()) {
+            getLogger().info("[DEBUG] " + msg);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.bukkit.entity.Player;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class DragonGamesCommand implements CommandExecutor, TabCompleter {
+
+    private static final Pattern AGO = Pattern.compile("(\\d{1,6})([mhdw])");
+
+    private final DragonGames plugin;
+
+    public DragonGamesCommand(DragonGames plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            sendHelp(sender, label);
+            return true;
+        }
+
+        String sub = args[0].toLowerCase();
+        boolean playerCommand = sub.equals("top") || sub.equals("stats");
+        if (!sender.hasPermission(playerCommand ? "dragongames.stats" : "dragongames.admin")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission.");
+            return true;
+        }
+        if (playerCommand) {
+            // read-only and lock-free; answer right here
+            if (sub.equals("top")) top(sender, label, args);
+            else stats(sender, args);
+            return true;
+        }
+        if (sub.equals("history")) {
+            // reads files on the history thread
+            history(sender, label, args);
+            return true;
+        }
+
+        // a player's command runs on their region; egg state belongs to the global thread
+        Location here = sender instanceof Player p ? p.getLocation() : null;
+        plugin.getSchedulers().global(() -> execute(sender, label, args, here));
+        return true;
+    }
+
+    private void execute(CommandSender sender, String label, String[] args, Location here) {
+        String sub = args[0].toLowerCase();
+        switch (sub) {
+            case "sethome" -> {
+                if (here == null) {
+                    sender.sendMessage("This command must be used by a player.");
+                    return;
+                }
+                String egg = eggArg(sender, args, 1);
+                if (egg == null) return;
+                audit(sender, egg, args);
+                plugin.setReturnLocation(egg, here);
+                plugin.startDragonGames(here);
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Home set and Dragon Games started.");
+                return;
+            }
+            case "start" -> {
+                audit(sender, null, args);
+                plugin.startDragonGames(plugin.getReturnLocation(EggDefinition.DEFAULT_ID));
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Dragon Games started.");
+                return;
+            }
+            case "stop" -> {
+                audit(sender, null, args);
+                plugin.stopDragonGames();
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Dragon Games stopped.");
+                return;
+            }
+            case "status" -> {
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE +
+                        "enabled=" + plugin.isGameEnabled());
+                for (EggState egg : plugin.getState().getEggs()) {
+                    UUID holder = egg.getHolder();
+                    String holderName = holder == null ? "none" : holder.toString();
+                    Player online = holder == null ? null : Bukkit.getPlayer(holder);
+                    if (online != null) holderName = online.getName() + " (online)";
+
+                    sender.sendMessage(ChatColor.LIGHT_PURPLE + egg.getId() + ChatColor.GRAY + ": holder=" + holderName +
+                            ", weeklyPlaySeconds=" + plugin.getState().getHolderWeeklyPlaySeconds(egg.getId()));
+                    if (plugin.isDebugEnabled()) {
+                        sender.sendMessage(ChatColor.GRAY + "  returnLocation=" + plugin.getReturnLocation(egg.getId()));
+                    }
+                }
+                sender.sendMessage(ChatColor.GRAY + "cadence: " + plugin.getTickTasks().describe());
+                if (plugin.getShared() != null) {
+                    sender.sendMessage(ChatColor.GRAY + "shared: " + plugin.getShared().describeStats());
+                }
+                if (plugin.getPlaceholders() != null) {
+                    sender.sendMessage(ChatColor.GRAY + "placeholders: " + plugin.getPlaceholders().describeStats());
+                }
+                if (plugin.getHistory() != null) {
+                    sender.sendMessage(ChatColor.GRAY + "history: " + plugin.getHistory().describeStats());
+                }
+                if (plugin.isDebugEnabled()) {
+                    sender.sendMessage(ChatColor.GRAY + "debug=true");
+                    sender.sendMessage(ChatColor.GRAY + "persistence: " + plugin.getState().describePersistence());
+                    sender.sendMessage(ChatColor.GRAY + "listeners: " + plugin.getListenerGroups().describe());
+                    sender.sendMessage(ChatColor.GRAY + "discord: " + plugin.getDiscord().describeStats());
+                    sender.sendMessage(ChatColor.GRAY + "reconcile: " + plugin.getReconciler().describeStats());
+                    sender.sendMessage(ChatColor.GRAY + "buffs: " + plugin.getEggManager().getBuffs().describeStats());
+                    sender.sendMessage(ChatColor.GRAY + "effects: " + plugin.getEffects().describeStats());
+                    sender.sendMessage(ChatColor.GRAY + "hud: " + plugin.getListenerGroups().getHud().describeStats());
+                }
+                return;
+            }
+            case "returnegg" -> {
+                String egg = eggArg(sender, args, 1);
+                if (egg == null) return;
+                audit(sender, egg, args);
+                plugin.clearHolderAndReturnEgg(egg);
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Egg returned to home.");
+                return;
+            }
+            case "setholder" -> {
+                if (args.length < 2) {
+                    sender.sendMessage(ChatColor.RED + "Usage: /" + label + " setholder <player> [egg]");
+                    return;
+                }
+                Player target = Bukkit.getPlayerExact(args[1]);
+                if (target == null) {
+                    sender.sendMessage(ChatColor.RED + "Player not found (must be online): " + args[1]);
+                    return;
+                }
+                String egg = eggArg(sender, args, 2);
+                if (egg == null) return;
+                audit(sender, egg, args);
+                plugin.setHolderByAdmin(target, egg);
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Holder set to " + target.getName());
+                return;
+            }
+            case "clearholder" -> {
+                String egg = eggArg(sender, args, 1);
+                if (egg == null) return;
+                audit(sender, egg, args);
+                plugin.clearHolderOnly(egg);
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Cleared holder (no egg spawned).");
+                return;
+            }
+            case "metrics" -> {
+                List<String> lines = plugin.getMetrics().describe();
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Metrics since enable (p50/p99/max):");
+                if (lines.isEmpty()) sender.sendMessage(ChatColor.GRAY + "  nothing recorded yet");
+                for (String line : lines) sender.sendMessage(ChatColor.GRAY + "  " + line);
+                return;
+            }
+            case "scan" -> {
+                scan(sender, label, args);
+                return;
+            }
+            case "reload" -> {
+                if (args.length > 1 && "rollback".equalsIgnoreCase(args[1])) {
+                    String refused = plugin.rollbackSettings();
+                    if (refused == null) {
+                        audit(sender, null, args);
+                        sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Rolled back to the previous config.");
+                    } else {
+                        sender.sendMessage(ChatColor.RED + "Rollback refused: " + refused + ".");
+                    }
+                    return;
+                }
+                plugin.reloadSettings(refused -> {
+                    if (refused == null) {
+                        audit(sender, null, args);
+                        sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE +
+                                "Reloaded config.yml (state.yml unchanged); timers now " + plugin.getTickTasks().describe() +
+                                ". Undo with /" + label + " reload rollback.");
+                    } else {
+                        sender.sendMessage(ChatColor.RED + "Reload refused: " + refused + ". The previous config is still active.");
+                    }
+                });
+                return;
+            }
+            default -> {
+                sendHelp(sender, label);
+                return;
+            }
+        }
+    }
+
+    private void scan(CommandSender sender, String label, String[] args) {
+        EggScanner scanner = plugin.getScanner();
+        if (scanner == null) {
+            sender.sendMessage(ChatColor.RED + "The egg scanner is disabled (scanner.enabled in config.yml).");
+            return;
+        }
+        String action = args.length > 1 ? args[1].toLowerCase() : "status";
+        switch (action) {
+            case "sweep" -> sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE +
+                    "Queued " + scanner.sweep() + " loaded chunk(s) for scanning.");
+            case "reset" -> {
+                scanner.reset();
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Forgot all scanned chunks.");
+            }
+            case "status" -> {
+                sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Scanner: " + scanner.describeStats());
+                for (EggScanner.Finding f : scanner.recentFindings()) {
+                    sender.sendMessage(ChatColor.GRAY + "  " + f.describe());
+                }
+            }
+            default -> sender.sendMessage(ChatColor.RED + "Usage: /" + label + " scan [status|sweep|reset]");
+        }
+    }
+
+    /**
+     * Logs an admin command to the history, before its effects so it reads first.
+     */
+    private void audit(CommandSender sender, String egg, String[] args) {
+        if (plugin.getHistory() == null) return;
+        UUID id = sender instanceof Player p ? p.getUniqueId() : null;
+        plugin.getHistory().record(EggHistory.Kind.ADMIN, egg, id, sender.getName(), null, null, String.join(" ", args));
+    }
+
+    private void history(CommandSender sender, String label, String[] args) {
+        EggHistory history = plugin.getHistory();
+        if (history == null) {
+            sender.sendMessage(ChatColor.RED + "The history log is disabled (history.enabled in config.yml).");
+            return;
+        }
+        if (args.length < 2) {
+            sender.sendMessage(ChatColor.RED + "Usage: /" + label + " history <player|30m|12h|7d|2w|yyyy-mm-dd>");
+            return;
+        }
+        int limit = plugin.getSettings().history().queryLimit();
+        Long since = parseSince(args[1]);
+        if (since != null) {
+            history.querySince(since, limit, found -> plugin.getSchedulers().global(() -> {
+                boolean more = found.size() > limit;
+                sendHistory(sender, "History since " + args[1] + (more ? " (first " + limit + "; narrow it down for the rest)" : "") + ":",
+                        more ? found.subList(0, limit) : found);
+            }));
+            return;
+        }
+        OfflinePlayer target = Bukkit.getPlayerExact(args[1]);
+        if (target == null) target = Bukkit.getOfflinePlayerIfCached(args[1]);
+        if (target == null) {
+            sender.sendMessage(ChatColor.RED + "Unknown player or time: " + args[1]);
+            return;
+        }
+        history.queryPlayer(target.getUniqueId(), limit, found -> plugin.getSchedulers().global(() ->
+                sendHistory(sender, "Latest history of " + args[1] + ":", found)));
+    }
+
+    private static void sendHistory(CommandSender sender, String title, List<EggHistory.Entry> entries) {
+        sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + title);
+        if (entries.isEmpty()) sender.sendMessage(ChatColor.GRAY + "  nothing recorded");
+        for (EggHistory.Entry e : entries) sender.sendMessage(ChatColor.GRAY + "  " + e.describe());
+    }
+
+    /**
+     * Epoch millis for "30m", "12h", "7d" or "2w" ago, or the start of a yyyy-mm-dd day; null if it's neither.
+     */
+    private static Long parseSince(String arg) {
+        Matcher m = AGO.matcher(arg.toLowerCase(Locale.ROOT));
+        if (m.matches()) {
+            long n = Long.parseLong(m.group(1));
+            long unit = switch (m.group(2)) {
+                case "m" -> TimeUnit.MINUTES.toMillis(1);
+                case "h" -> TimeUnit.HOURS.toMillis(1);
+                case "d" -> TimeUnit.DAYS.toMillis(1);
+                default -> TimeUnit.DAYS.toMillis(7);
+            };
+            return System.currentTimeMillis() - n * unit;
+        }
+        try {
+            return LocalDate.parse(arg).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private void top(CommandSender sender, String label, String[] args) {
+        StatsStore.Metric metric = args.length > 1 ? StatsStore.Metric.byKey(args[1]) : StatsStore.Metric.CAPTURES;
+        if (metric == null) {
+            sender.sendMessage(ChatColor.RED + "Usage: /" + label + " top [captures|kills|hold-time] [count]");
+            return;
+        }
+        int count = 10;
+        if (args.length > 2) {
+            try {
+                count = Math.max(1, Math.min(50, Integer.parseInt(args[2])));
+            } catch (NumberFormatException e) {
+                sender.sendMessage(ChatColor.RED + "Not a number: " + args[2]);
+                return;
+            }
+        }
+        List<PlayerStats> top = plugin.getStats().top(metric, count);
+        sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Top " + metric.key() + ":");
+        if (top.isEmpty()) sender.sendMessage(ChatColor.GRAY + "  nobody yet");
+        int rank = 1;
+        for (PlayerStats s : top) {
+            sender.sendMessage(ChatColor.LIGHT_PURPLE + "  " + rank++ + ". " + displayName(s) + ChatColor.GRAY + " - " +
+                    StatsStore.formatValue(metric, metric.valueOf(s)));
+        }
+    }
+
+    private void stats(CommandSender sender, String[] args) {
+        OfflinePlayer target;
+        if (args.length > 1) {
+            target = Bukkit.getPlayerExact(args[1]);
+            if (target == null) target = Bukkit.getOfflinePlayerIfCached(args[1]);
+        } else if (sender instanceof Player p) {
+            target = p;
+        } else {
+            sender.sendMessage(ChatColor.RED + "Name a player.");
+            return;
+        }
+        PlayerStats s = target == null ? null : plugin.getStats().get(target.getUniqueId());
+        if (s == null) {
+            sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "No Dragon Games record for " +
+                    (args.length > 1 ? args[1] : sender.getName()) + ".");
+            return;
+        }
+        sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + displayName(s) + ChatColor.GRAY +
+                ": captures=" + s.captures() + ", kills=" + s.kills() + ", eggDeaths=" + s.eggDeaths() +
+                ", holdTime=" + StatsStore.formatValue(StatsStore.Metric.HOLD_TIME, s.holdSeconds()));
+    }
+
+    private static String displayName(PlayerStats s) {
+        return s.name().isEmpty() ? s.uuid().toString() : s.name();
+    }
+
+    /**
+     * Optional egg id argument; defaults to the default egg. Returns null (after telling the sender) if unknown.
+     */
+    private String eggArg(CommandSender sender, String[] args, int index) {
+        if (args.length <= index) return EggDefinition.DEFAULT_ID;
+        String egg = args[index].toLowerCase();
+        if (!plugin.getEggDefinitions().containsKey(egg)) {
+            sender.sendMessage(ChatColor.RED + "Unknown egg: " + args[index] + " (eggs: " + String.join(", ", plugin.getEggDefinitions().keySet()) + ")");
+            return null;
+        }
+        return egg;
+    }
+
+    private void sendHelp(CommandSender sender, String label) {
+        sender.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "Commands:");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " sethome [egg]" + ChatColor.GRAY + " - set egg home here and start games");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " start" + ChatColor.GRAY + " - start games");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " stop" + ChatColor.GRAY + " - stop games");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " status" + ChatColor.GRAY + " - show current state");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " returnegg [egg]" + ChatColor.GRAY + " - return egg to home");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " setholder <player> [egg]" + ChatColor.GRAY + " - make player holder");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " clearholder [egg]" + ChatColor.GRAY + " - clear holder without spawning egg");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " top [captures|kills|hold-time] [count]" + ChatColor.GRAY + " - leaderboard");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " stats [player]" + ChatColor.GRAY + " - lifetime statistics");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " history <player|since>" + ChatColor.GRAY + " - who held the egg when");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " metrics" + ChatColor.GRAY + " - handler/timer latencies");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " scan [status|sweep|reset]" + ChatColor.GRAY + " - rogue egg scanner");
+        sender.sendMessage(ChatColor.LIGHT_PURPLE + "/" + label + " reload [rollback]" + ChatColor.GRAY + " - reload config.yml, or undo the last reload");
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        List<String> completions = new ArrayList<>();
+        if (args.length == 1) {
+            String partial = args[0].toLowerCase();
+            List<String> subcommands = List.of("sethome", "start", "stop", "status", "returnegg", "setholder", "clearholder", "top", "stats", "history", "metrics", "scan", "reload");
+            for (String sub : subcommands) {
+                if (sub.startsWith(partial)) {
+                    completions.add(sub);
+                }
+            }
+        } else if (args.length == 2 && "reload".equalsIgnoreCase(args[0])) {
+            if ("rollback".startsWith(args[1].toLowerCase())) {
+                completions.add("rollback");
+            }
+        } else if (args.length == 2 && "scan".equalsIgnoreCase(args[0])) {
+            String partial = args[1].toLowerCase();
+            for (String action : List.of("status", "sweep", "reset")) {
+                if (action.startsWith(partial)) {
+                    completions.add(action);
+                }
+            }
+        } else if (args.length == 2 && "top".equalsIgnoreCase(args[0])) {
+            String partial = args[1].toLowerCase();
+            for (StatsStore.Metric m : StatsStore.Metric.values()) {
+                if (m.key().startsWith(partial)) {
+                    completions.add(m.key());
+                }
+            }
+        } else if (args.length == 2 && List.of("setholder", "stats", "history").contains(args[0].toLowerCase())) {
+            String partial = args[1].toLowerCase();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                String name = player.getName();
+                if (name.toLowerCase().startsWith(partial)) {
+                    completions.add(name);
+                }
+            }
+        } else if ((args.length == 2 && List.of("sethome", "returnegg", "clearholder").contains(args[0].toLowerCase()))
+                || (args.length == 3 && "setholder".equalsIgnoreCase(args[0]))) {
+            String partial = args[args.length - 1].toLowerCase();
+            for (String egg : plugin.getEggDefinitions().keySet()) {
+                if (egg.startsWith(partial)) {
+                    completions.add(egg);
+                }
+            }
+        }
+        return completions;
+    }
+}
@@ -0,0 +1,46 @@
+package org.galaxystudios.dragonGames;
+
+import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * The %dragongames_...% expansion. Only answers from {@link PlaceholderValues}, so it never touches the state
+ * or a world from whatever thread PlaceholderAPI asks on.
+ */
+public final class DragonGamesPlaceholders extends PlaceholderExpansion {
+
+    private final DragonGames plugin;
+    private final PlaceholderValues values;
+
+    public DragonGamesPlaceholders(DragonGames plugin, PlaceholderValues values) {
+        this.plugin = plugin;
+        this.values = values;
+    }
+
+    @Override
+    public String getIdentifier() {
+        return "dragongames";
+    }
+
+    @Override
+    public String getAuthor() {
+        return String.join(", ", plugin.getPluginMeta().getAuthors());
+    }
+
+    @Override
+    public String getVersion() {
+        return plugin.getPluginMeta().getVersion();
+    }
+
+    @Override
+    public boolean persist() {
+        return true;
+    }
+
+    @Override
+    public String onRequest(OfflinePlayer player, String params) {
+        String value = values.global(params);
+        if (value != null || player == null) return value;
+        return values.forPlayer(player.getUniqueId(), params);
+    }
+}
@@ -0,0 +1,299 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * config.yml compiled into typed values. Built once on enable and on every reload, then published through
+ * {@link DragonGames#getSettings()}; immutable, so any thread may read it without locking. Compiling doesn't
+ * touch the server; {@link #resolveWorlds()} finishes the eggs on the global thread before publishing.
+ */
+public record DragonGamesSettings(
+        Map<String, EggDefinition> eggs,
+        long checkIntervalTicks,
+        long buffRefreshBelowTicks,
+        boolean announceCapture,
+        boolean announceTransferOnDeath,
+        boolean announceReturnOnInactive,
+        Effects effects,
+        boolean dynmapEnabled,
+        String markerSetId,
+        String markerSetLabel,
+        long dynmapUpdateTicks,
+        double markerMoveThreshold,
+        Trail trail,
+        Hud hud,
+        Placeholders placeholders,
+        Scanner scanner,
+        boolean pvpOverrideEnabled,
+        double eggInteractionsPerSecond,
+        int eggInteractionBurst,
+        boolean discordEnabled,
+        String discordWebhookUrl,
+        String discordPrefix,
+        // only read on enable; changing it needs a restart
+        int discordQueueSize,
+        Persistence persistence,
+        Shared shared,
+        History history,
+        Cadence cadence,
+        long metricsFileIntervalSeconds,
+        int metricsHttpPort,
+        boolean debug
+) {
+
+    /**
+     * persistence.* is only read on enable; changing it needs a restart.
+     */
+    public record Persistence(
+            String mode,
+            long coalesceMillis,
+            long flushTimeoutMillis,
+            int journalSizeBytes,
+            long snapshotIntervalMillis
+    ) {
+
+        public boolean isJournal() {
+            return "journal".equalsIgnoreCase(mode);
+        }
+
+        public boolean isWriteBehind() {
+            return !"sync".equalsIgnoreCase(mode);
+        }
+    }
+
+    /**
+     * shared-state.*; like persistence, only read on enable.
+     */
+    public record Shared(
+            String backend,
+            String serverId,
+            String directory,
+            long pollMillis,
+            String redisHost,
+            int redisPort,
+            String redisPassword,
+            String redisPrefix,
+            int timeoutMillis
+    ) {
+    }
+
+    /**
+     * history.*; enabled is only read on enable.
+     */
+    public record History(
+            boolean enabled,
+            long segmentBytes,
+            long segmentMillis,
+            int retentionDays,
+            int queryLimit,
+            int maxQueued
+    ) {
+    }
+
+    /**
+     * adaptive-cadence.*
+     */
+    public record Cadence(
+            boolean enabled,
+            double targetMspt,
+            double minFactor,
+            double maxFactor
+    ) {
+    }
+
+    /**
+     * effects.*; presets always contain capture and return.
+     */
+    public record Effects(
+            double radius,
+            long dedupeMillis,
+            int particleBudgetPerTick,
+            double targetMspt,
+            Map<String, EffectPreset> presets
+    ) {
+    }
+
+    /**
+     * dynmap.trail.*; maxPoints is only read on enable.
+     */
+    public record Trail(
+            boolean enabled,
+            long windowSeconds,
+            int maxPoints,
+            double simplifyBlocks,
+            int color
+    ) {
+    }
+
+    /**
+     * hunter-hud.*
+     */
+    public record Hud(
+            boolean enabled,
+            double interestRadius,
+            long updateTicks,
+            boolean compass,
+            boolean actionBar,
+            boolean bossBar
+    ) {
+    }
+
+    /**
+     * placeholders.*; enabled is only read on enable.
+     */
+    public record Placeholders(
+            boolean enabled,
+            int maxPlayers,
+            int refreshPerTick,
+            long refreshTicks,
+            String none
+    ) {
+    }
+
+    /**
+     * scanner.*; enabled and workerThreads are only read on enable.
+     */
+    public record Scanner(
+            boolean enabled,
+            boolean onChunkLoad,
+            boolean remove,
+            int snapshotsPerTick,
+            int workerThreads
+    ) {
+    }
+
+    public static DragonGamesSettings compile(FileConfiguration cfg, Logger log) {
+        Persistence persistence = new Persistence(
+                cfg.getString("persistence.mode", "write-behind"),
+                cfg.getLong("persistence.coalesce-millis", 250L),
+                cfg.getLong("persistence.flush-timeout-millis", 5000L),
+                (int) Math.min(64L * 1024L * 1024L, cfg.getLong("persistence.journal-size-kb", 1024L) * 1024L),
+                Math.max(1L, cfg.getLong("persistence.snapshot-interval-seconds", 600L)) * 1000L);
+
+        Trail trail = new Trail(
+                cfg.getBoolean("dynmap.trail.enabled", true),
+                Math.max(1L, cfg.getLong("dynmap.trail.hours", 24L)) * 3600L,
+                Math.max(2 * HolderTrail.CHUNK, Math.min(1 << 20, cfg.getInt("dynmap.trail.max-points", 4096))),
+                Math.max(0.0, cfg.getDouble("dynmap.trail.simplify-blocks", 4.0)),
+                parseColor(cfg.getString("dynmap.trail.color", "AA00FF"), log));
+
+        Effects effects = new Effects(
+                Math.max(1.0, cfg.getDouble("effects.radius", 64.0)),
+                Math.max(0L, cfg.getLong("effects.dedupe-millis", 1500L)),
+                Math.max(0, cfg.getInt("effects.particle-budget-per-tick", 2000)),
+                Math.max(1.0, cfg.getDouble("effects.target-mspt", 40.0)),
+                Map.copyOf(EffectPreset.loadAll(cfg.getConfigurationSection("effects.presets"), log)));
+
+        Hud hud = new Hud(
+                cfg.getBoolean("hunter-hud.enabled", true),
+                Math.max(16.0, cfg.getDouble("hunter-hud.interest-radius", 512.0)),
+                Math.max(1L, cfg.getLong("hunter-hud.update-ticks", 5L)),
+                cfg.getBoolean("hunter-hud.compass", true),
+                cfg.getBoolean("hunter-hud.action-bar", true),
+                cfg.getBoolean("hunter-hud.boss-bar", true));
+
+        Placeholders placeholders = new Placeholders(
+                cfg.getBoolean("placeholders.enabled", true),
+                Math.max(1, cfg.getInt("placeholders.max-players", 500)),
+                Math.max(1, cfg.getInt("placeholders.refresh-per-tick", 10)),
+                Math.max(1L, cfg.getLong("placeholders.refresh-ticks", 20L)),
+                cfg.getString("placeholders.none", "-"));
+
+        Scanner scanner = new Scanner(
+                cfg.getBoolean("scanner.enabled", true),
+                cfg.getBoolean("scanner.on-chunk-load", true),
+                cfg.getBoolean("scanner.remove", false),
+                Math.max(1, cfg.getInt("scanner.snapshots-per-tick", 2)),
+                Math.max(1, Math.min(8, cfg.getInt("scanner.worker-threads", 1))));
+
+        Shared shared = new Shared(
+                cfg.getString("shared-state.backend", "none").toLowerCase(Locale.ROOT),
+                cfg.getString("shared-state.server-id", ""),
+                cfg.getString("shared-state.directory", "shared"),
+                Math.max(50L, cfg.getLong("shared-state.poll-millis", 250L)),
+                cfg.getString("shared-state.redis.host", "127.0.0.1"),
+                cfg.getInt("shared-state.redis.port", 6379),
+                cfg.getString("shared-state.redis.password", ""),
+                cfg.getString("shared-state.redis.key-prefix", "dragongames:"),
+                Math.max(100, cfg.getInt("shared-state.redis.timeout-millis", 2000)));
+
+        History history = new History(
+                cfg.getBoolean("history.enabled", true),
+                Math.max(16L, cfg.getLong("history.segment-kb", 1024L)) * 1024L,
+                Math.max(1L, cfg.getLong("history.segment-hours", 168L)) * 3_600_000L,
+                Math.max(0, cfg.getInt("history.retention-days", 365)),
+                Math.max(1, Math.min(100, cfg.getInt("history.query-limit", 20))),
+                Math.max(100, cfg.getInt("history.max-queued", 10000)));
+
+        double minFactor = Math.max(0.1, Math.min(1.0, cfg.getDouble("adaptive-cadence.min-factor", 0.5)));
+        Cadence cadence = new Cadence(
+                cfg.getBoolean("adaptive-cadence.enabled", true),
+                Math.max(1.0, cfg.getDouble("adaptive-cadence.target-mspt", 40.0)),
+                minFactor,
+                Math.max(1.0, Math.min(20.0, cfg.getDouble("adaptive-cadence.max-factor", 4.0))));
+
+        String webhook = cfg.getString("discord.webhook-url", "");
+        return new DragonGamesSettings(
+                EggDefinition.loadAll(cfg, log),
+                Math.max(20L, cfg.getLong("check-interval-seconds", 300L) * 20L),
+                Math.max(20L, cfg.getLong("buff-refresh-below-seconds", 1800L) * 20L),
+                cfg.getBoolean("announce.capture", true),
+                cfg.getBoolean("announce.transfer-on-death", true),
+                cfg.getBoolean("announce.return-on-inactive", true),
+                effects,
+                cfg.getBoolean("dynmap.enabled", true),
+                cfg.getString("dynmap.marker-set-id", "dragongames"),
+                cfg.getString("dynmap.marker-set-label", "Dragon Egg"),
+                Math.max(20L, cfg.getLong("dynmap.update-seconds", 5L) * 20L),
+                Math.max(0.0, cfg.getDouble("dynmap.move-threshold-blocks", 2.0)),
+                trail,
+                hud,
+                placeholders,
+                scanner,
+                cfg.getBoolean("pvp-override-enabled", true),
+                Math.max(0.1, cfg.getDouble("anti-spam.egg-interactions-per-second", 10.0)),
+                Math.max(1, cfg.getInt("anti-spam.egg-interaction-burst", 20)),
+                cfg.getBoolean("discord.enabled", false) && webhook != null && !webhook.isBlank(),
+                webhook == null ? "" : webhook,
+                cfg.getString("discord.prefix", "[DragonGames] "),
+                cfg.getInt("discord.queue-size", 100),
+                persistence,
+                shared,
+                history,
+                cadence,
+                Math.max(0L, cfg.getLong("metrics.file-interval-seconds", 0L)),
+                cfg.getInt("metrics.http-port", 0),
+                cfg.getBoolean("debug.enabled", false));
+    }
+
+    /**
+     * Global thread: these settings with every egg's world and altar looked up.
+     */
+    public DragonGamesSettings resolveWorlds() {
+        Map<String, EggDefinition> resolved = new LinkedHashMap<>();
+        for (EggDefinition def : eggs.values()) resolved.put(def.id(), def.resolveWorld());
+        return new DragonGamesSettings(Collections.unmodifiableMap(resolved), checkIntervalTicks, buffRefreshBelowTicks,
+                announceCapture, announceTransferOnDeath, announceReturnOnInactive, effects, dynmapEnabled, markerSetId,
+                markerSetLabel, dynmapUpdateTicks, markerMoveThreshold, trail, hud, placeholders, scanner,
+                pvpOverrideEnabled, eggInteractionsPerSecond, eggInteractionBurst, discordEnabled, discordWebhookUrl,
+                discordPrefix, discordQueueSize, persistence, shared, history, cadence, metricsFileIntervalSeconds,
+                metricsHttpPort, debug);
+    }
+
+    private static int parseColor(String hex, Logger log) {
+        String s = hex == null ? "" : hex.trim();
+        if (s.startsWith("#")) s = s.substring(1);
+        try {
+            return Integer.parseInt(s, 16) & 0xFFFFFF;
+        } catch (NumberFormatException e) {
+            log.warning("Invalid dynmap.trail.color '" + hex + "'; using AA00FF.");
+            return 0xAA00FF;
+        }
+    }
+}
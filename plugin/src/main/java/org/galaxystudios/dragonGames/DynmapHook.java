@@ -0,0 +1,464 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.dynmap.DynmapCommonAPI;
+import org.dynmap.DynmapCommonAPIListener;
+import org.dynmap.markers.Marker;
+import org.dynmap.markers.MarkerAPI;
+import org.dynmap.markers.MarkerIcon;
+import org.dynmap.markers.MarkerSet;
+import org.dynmap.markers.PolyLineMarker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional Dynmap integration using the Dynmap API (no hard dependency at runtime).
+ *
+ * The holder's thread only samples their position and posts a marker state when something visible changed
+ * (moved past dynmap.move-threshold-blocks, or a new world, label or icon). Posts go to a latest-wins mailbox
+ * per egg that a background thread applies to Dynmap, touching only the marker fields that differ.
+ *
+ * Each egg also has a {@link HolderTrail} drawn as a polyline. The applier replaces its corners with one
+ * setCornerLocations call when they changed and leaves the line alone when they didn't. Editing single corners
+ * saves nothing: Dynmap sends the whole corner list to the web clients after every edit.
+ */
+public final class DynmapHook {
+
+    private final DragonGames plugin;
+
+    private volatile DynmapCommonAPI api;
+    private volatile MarkerAPI markerApi;
+    private volatile MarkerSet markerSet;
+
+    private volatile boolean available;
+    private boolean listenerRegistered;
+
+    // Last state posted per egg id, so markers can be restored when Dynmap reloads. Written from the holder's
+    // thread when sampling and from the global thread when clearing.
+    private final Map<String, MarkerState> posted = new ConcurrentHashMap<>();
+
+    // egg id -> newest pending update; a null state means delete
+    private final Map<String, MarkerOp> mailbox = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final ExecutorService applier = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "DragonGames-Dynmap");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Applier thread: what Dynmap currently shows per egg id, and resolved icons for the current marker API
+    private final Map<String, MarkerState> applied = new HashMap<>();
+    private final Map<String, MarkerIcon> icons = new HashMap<>();
+
+    private static final int TRAIL_FILE_MAGIC = 0x44475452; // "DGTR"
+
+    private final Map<String, HolderTrail> trails = new ConcurrentHashMap<>();
+    private final Map<String, TrailOp> trailMailbox = new ConcurrentHashMap<>();
+    // Applier thread: the polyline Dynmap currently shows per egg id
+    private final Map<String, TrailOp> appliedTrails = new HashMap<>();
+    private final File trailFile;
+
+    private final LatencyHistogram sampleTimer;
+    private final LatencyHistogram applyTimer;
+
+    public DynmapHook(DragonGames plugin) {
+        this.plugin = plugin;
+        this.sampleTimer = plugin.getMetrics().histogram("dynmap.sample");
+        this.applyTimer = plugin.getMetrics().histogram("dynmap.apply");
+        this.trailFile = new File(plugin.getDataFolder(), "trails.dat");
+        plugin.getMetrics().gauge("dynmap_pending_updates", () -> mailbox.size() + trailMailbox.size());
+    }
+
+    public void init() {
+        if (!plugin.getSettings().dynmapEnabled()) {
+            available = false;
+            return;
+        }
+        registerListenerOnce();
+        if (plugin.getSettings().trail().enabled()) loadTrails();
+
+        Plugin dynmap = Bukkit.getPluginManager().getPlugin("dynmap");
+        if (dynmap instanceof DynmapCommonAPI dynmapApi && dynmap.isEnabled()) {
+            onApiEnabled(dynmapApi);
+        }
+    }
+
+    private void registerListenerOnce() {
+        if (listenerRegistered) return;
+        DynmapCommonAPIListener.register(new DynmapCommonAPIListener() {
+            @Override
+            public void apiEnabled(DynmapCommonAPI api) {
+                onApiEnabled(api);
+                plugin.getSchedulers().global(DynmapHook.this::refreshLastMarkers);
+            }
+
+            @Override
+            public void apiDisabled(DynmapCommonAPI api) {
+                onApiDisabled();
+            }
+        });
+        listenerRegistered = true;
+    }
+
+    private void onApiEnabled(DynmapCommonAPI api) {
+        this.api = api;
+        MarkerAPI markers = api.getMarkerAPI();
+        if (markers == null) {
+            available = false;
+            return;
+        }
+
+        DragonGamesSettings settings = plugin.getSettings();
+        MarkerSet set = markers.getMarkerSet(settings.markerSetId());
+        if (set == null) {
+            set = markers.createMarkerSet(settings.markerSetId(), settings.markerSetLabel(), null, false);
+        }
+        this.markerApi = markers;
+        this.markerSet = set;
+        // a fresh marker API knows nothing we applied before
+        applier.execute(() -> {
+            applied.clear();
+            icons.clear();
+            appliedTrails.clear();
+        });
+        available = set != null;
+    }
+
+    private void onApiDisabled() {
+        available = false;
+        markerSet = null;
+        markerApi = null;
+        api = null;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void updateMarker(String egg, Player holder) {
+        // a sample scheduled before the egg changed hands must not resurrect the old holder's marker
+        if (holder == null || !holder.getUniqueId().equals(plugin.getState().getHolder(egg))) return;
+        long start = System.nanoTime();
+        EggDefinition def = plugin.getEggDefinitions().get(egg);
+        Location loc = holder.getLocation();
+        if (def != null && loc.getWorld() != null) {
+            MarkerState next = new MarkerState(def.markerId(), loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ(),
+                    def.markerLabel() + ": " + holder.getName(), holder.getName(), def.markerIcon());
+            MarkerState prev = posted.get(egg);
+            if (prev == null || prev.differsFrom(next, plugin.getSettings().markerMoveThreshold())) post(egg, next);
+        }
+        sampleTimer.recordSince(start);
+    }
+
+    /**
+     * Keeps an offline holder's marker at its last position, picking up label or icon changes from a reload.
+     */
+    public void refreshLastMarker(String egg) {
+        MarkerState prev = posted.get(egg);
+        EggDefinition def = plugin.getEggDefinitions().get(egg);
+        if (prev == null || def == null) return;
+        MarkerState next = new MarkerState(def.markerId(), prev.world(), prev.x(), prev.y(), prev.z(),
+                def.markerLabel() + ": " + prev.holderName(), prev.holderName(), def.markerIcon());
+        if (!next.equals(prev)) post(egg, next);
+    }
+
+    /**
+     * Re-sends every known marker; used after Dynmap (re)enables.
+     */
+    public void refreshLastMarkers() {
+        for (Map.Entry<String, MarkerState> e : posted.entrySet()) {
+            mailbox.put(e.getKey(), new MarkerOp(e.getValue().markerId(), e.getValue()));
+        }
+        for (String egg : trails.keySet()) postTrail(egg);
+        scheduleDrain();
+    }
+
+    /**
+     * Adds the holder's position to the egg's trail; called on the holder's thread by the Dynmap timer.
+     */
+    public void sampleTrail(String egg, Player holder) {
+        DragonGamesSettings settings = plugin.getSettings();
+        DragonGamesSettings.Trail cfg = settings.trail();
+        if (!cfg.enabled() || holder == null || !holder.getUniqueId().equals(plugin.getState().getHolder(egg))) return;
+        Location loc = holder.getLocation();
+        if (loc.getWorld() == null) return;
+        HolderTrail trail = trails.computeIfAbsent(egg, k -> new HolderTrail(cfg.maxPoints()));
+        boolean added = trail.add(loc.getWorld().getName(), loc.getX(), loc.getY(), loc.getZ(), nowSeconds(),
+                Math.max(1.0, settings.markerMoveThreshold()), cfg.simplifyBlocks());
+        if (added || trail.renderDue(nowSeconds())) {
+            postTrail(egg);
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Lets old points fall off an offline holder's trail.
+     */
+    public void refreshTrail(String egg) {
+        HolderTrail trail = trails.get(egg);
+        if (trail == null || !trail.renderDue(nowSeconds())) return;
+        postTrail(egg);
+        scheduleDrain();
+    }
+
+    private void postTrail(String egg) {
+        HolderTrail trail = trails.get(egg);
+        EggDefinition def = plugin.getEggDefinitions().get(egg);
+        if (trail == null || def == null) return;
+        DragonGamesSettings.Trail cfg = plugin.getSettings().trail();
+        HolderTrail.Polyline line = cfg.enabled() ? trail.render(nowSeconds() - cfg.windowSeconds()) : null;
+        trailMailbox.put(egg, new TrailOp(def.markerId() + "-trail", def.markerLabel() + " trail", cfg.color(), line));
+    }
+
+    public void clearMarker(String egg) {
+        // the egg went home, so its journey starts over
+        HolderTrail trail = trails.remove(egg);
+        EggDefinition def = plugin.getEggDefinitions().get(egg);
+        if (trail != null && def != null) {
+            trailMailbox.put(egg, new TrailOp(def.markerId() + "-trail", "", 0, null));
+            scheduleDrain();
+        }
+        MarkerState prev = posted.remove(egg);
+        if (prev == null) return;
+        mailbox.put(egg, new MarkerOp(prev.markerId(), null));
+        scheduleDrain();
+    }
+
+    /**
+     * Removes every egg's marker and stops the applier; called on disable, so it waits for the deletes.
+     */
+    public void clearMarkers() {
+        posted.clear();
+        for (EggDefinition def : plugin.getEggDefinitions().values()) {
+            mailbox.put(def.id(), new MarkerOp(def.markerId(), null));
+            trailMailbox.put(def.id(), new TrailOp(def.markerId() + "-trail", "", 0, null));
+        }
+        scheduleDrain();
+        applier.execute(this::saveTrails);
+        applier.shutdown();
+        try {
+            if (!applier.awaitTermination(2, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Dynmap marker updates did not finish before shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void post(String egg, MarkerState state) {
+        posted.put(egg, state);
+        mailbox.put(egg, new MarkerOp(state.markerId(), state));
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!drainQueued.compareAndSet(false, true)) return;
+        try {
+            applier.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drainQueued.set(false);
+        }
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        for (String egg : mailbox.keySet()) {
+            MarkerOp op = mailbox.remove(egg);
+            if (op == null) continue;
+            long start = System.nanoTime();
+            try {
+                apply(egg, op);
+            } catch (Throwable t) {
+                plugin.getLogger().warning("Dynmap marker update failed: " + t.getMessage());
+            } finally {
+                applyTimer.recordSince(start);
+            }
+        }
+        for (String egg : trailMailbox.keySet()) {
+            TrailOp op = trailMailbox.remove(egg);
+            if (op == null) continue;
+            long start = System.nanoTime();
+            try {
+                applyTrail(egg, op);
+            } catch (Throwable t) {
+                plugin.getLogger().warning("Dynmap trail update failed: " + t.getMessage());
+            } finally {
+                applyTimer.recordSince(start);
+            }
+        }
+    }
+
+    private void apply(String egg, MarkerOp op) {
+        MarkerSet set = markerSet;
+        MarkerAPI markers = markerApi;
+        if (!available || set == null || markers == null) return;
+
+        MarkerState prev = applied.get(egg);
+        if (op.state() == null) {
+            Marker m = set.findMarker(op.markerId());
+            if (m != null) m.deleteMarker();
+            applied.remove(egg);
+            return;
+        }
+
+        MarkerState next = op.state();
+        if (prev != null && !prev.markerId().equals(next.markerId())) {
+            // marker id changed on reload: retire the old one
+            Marker old = set.findMarker(prev.markerId());
+            if (old != null) old.deleteMarker();
+            prev = null;
+        }
+
+        MarkerIcon icon = icons.computeIfAbsent(next.iconId(), markers::getMarkerIcon);
+        Marker marker = set.findMarker(next.markerId());
+        if (marker == null) {
+            set.createMarker(next.markerId(), next.label(), next.world(), next.x(), next.y(), next.z(), icon, false);
+        } else {
+            if (prev == null || !prev.samePosition(next)) marker.setLocation(next.world(), next.x(), next.y(), next.z());
+            if (prev == null || !prev.label().equals(next.label())) marker.setLabel(next.label());
+            if (icon != null && (prev == null || !prev.iconId().equals(next.iconId()))) marker.setMarkerIcon(icon);
+        }
+        applied.put(egg, next);
+    }
+
+    private void applyTrail(String egg, TrailOp op) {
+        MarkerSet set = markerSet;
+        if (!available || set == null) return;
+
+        TrailOp prev = appliedTrails.get(egg);
+        if (prev != null && !prev.markerId().equals(op.markerId())) {
+            PolyLineMarker old = set.findPolyLineMarker(prev.markerId());
+            if (old != null) old.deleteMarker();
+            prev = null;
+        }
+        PolyLineMarker line = set.findPolyLineMarker(op.markerId());
+        HolderTrail.Polyline next = op.line();
+        if (next == null) {
+            if (line != null) line.deleteMarker();
+            appliedTrails.remove(egg);
+            return;
+        }
+
+        if (line == null || prev == null || prev.line() == null || !prev.line().world().equals(next.world())
+                || line.getCornerCount() != prev.line().size()) {
+            // new line, a different world, or someone else edited it: draw from scratch
+            if (line != null) line.deleteMarker();
+            line = set.createPolyLineMarker(op.markerId(), op.label(), false, next.world(), next.x(), next.y(), next.z(), false);
+            if (line == null) return;
+            line.setLineStyle(3, 0.8, op.color());
+        } else {
+            replaceCornersIfChanged(line, prev.line(), next);
+            if (!prev.label().equals(op.label())) line.setLabel(op.label());
+            if (prev.color() != op.color()) line.setLineStyle(3, 0.8, op.color());
+        }
+        appliedTrails.put(egg, op);
+    }
+
+    /**
+     * Makes the polyline Dynmap shows ({@code prev}) into {@code next}: one call, and only if a corner differs.
+     */
+    private static void replaceCornersIfChanged(PolyLineMarker line, HolderTrail.Polyline prev, HolderTrail.Polyline next) {
+        if (prev.size() == next.size()) {
+            int i = 0;
+            while (i < next.size() && prev.sameCorner(i, next, i)) i++;
+            if (i == next.size()) return;
+        }
+        line.setCornerLocations(next.x(), next.y(), next.z());
+    }
+
+    private void loadTrails() {
+        if (!trailFile.exists()) return;
+        int maxPoints = plugin.getSettings().trail().maxPoints();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(trailFile)))) {
+            if (in.readInt() != TRAIL_FILE_MAGIC) throw new IOException("not a trail file");
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String egg = in.readUTF();
+                HolderTrail trail = new HolderTrail(maxPoints);
+                trail.read(in);
+                if (plugin.getState().getHolder(egg) != null) trails.put(egg, trail);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read trails.dat, starting with empty trails: " + e.getMessage());
+            trails.clear();
+        }
+    }
+
+    /**
+     * Writes every trail to trails.dat; runs on the applier thread.
+     */
+    public void saveTrailsAsync() {
+        try {
+            applier.execute(this::saveTrails);
+        } catch (RejectedExecutionException ignored) {
+            // shutting down; clearMarkers saves one last time
+        }
+    }
+
+    private void saveTrails() {
+        if (!plugin.getSettings().trail().enabled()) return;
+        File tmp = new File(trailFile.getParentFile(), trailFile.getName() + ".tmp");
+        try {
+            Files.createDirectories(trailFile.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                Map<String, HolderTrail> snapshot = new HashMap<>(trails);
+                out.writeInt(TRAIL_FILE_MAGIC);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, HolderTrail> e : snapshot.entrySet()) {
+                    out.writeUTF(e.getKey());
+                    e.getValue().write(out);
+                }
+            }
+            Files.move(tmp.toPath(), trailFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write trails.dat: " + e.getMessage());
+        }
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000L;
+    }
+
+    private record MarkerOp(String markerId, MarkerState state) {
+    }
+
+    // line == null deletes the trail
+    private record TrailOp(String markerId, String label, int color, HolderTrail.Polyline line) {
+    }
+
+    private record MarkerState(String markerId, String world, double x, double y, double z,
+                               String label, String holderName, String iconId) {
+
+        boolean differsFrom(MarkerState o, double threshold) {
+            if (!markerId.equals(o.markerId) || !world.equals(o.world) || !label.equals(o.label) || !iconId.equals(o.iconId)) {
+                return true;
+            }
+            double dx = x - o.x, dy = y - o.y, dz = z - o.z;
+            return dx * dx + dy * dy + dz * dz > threshold * threshold;
+        }
+
+        boolean samePosition(MarkerState o) {
+            return world.equals(o.world) && x == o.x && y == o.y && z == o.z;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Registry;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * A named burst of particles, an optional sound and optional lightning, from effects.presets in config.yml.
+ * Counts are the full-quality amounts; {@link EffectRenderer} scales them down under load. The sound is kept
+ * as its key and looked up when played, so compiling the config doesn't need the sound registry.
+ */
+public record EffectPreset(String id, List<ParticleSpec> particles, NamespacedKey sound, float volume, float pitch, boolean lightning) {
+
+    public static final String CAPTURE = "capture";
+    public static final String RETURN = "return";
+
+    public record ParticleSpec(Particle type, int count, double spread, double speed) {
+    }
+
+    /**
+     * Presets by id. capture and return always exist: if missing from the config they get the built-in look.
+     */
+    public static Map<String, EffectPreset> loadAll(ConfigurationSection section, Logger log) {
+        Map<String, EffectPreset> out = new LinkedHashMap<>();
+        out.put(CAPTURE, new EffectPreset(CAPTURE, List.of(
+                new ParticleSpec(Particle.DRAGON_BREATH, 150, 0.8, 0.02),
+                new ParticleSpec(Particle.PORTAL, 300, 1.2, 0.1)),
+                NamespacedKey.minecraft("entity.ender_dragon.ambient"), 1.0f, 1.0f, false));
+        out.put(RETURN, new EffectPreset(RETURN, List.of(
+                new ParticleSpec(Particle.DRAGON_BREATH, 200, 1.0, 0.02)),
+                NamespacedKey.minecraft("entity.ender_dragon.growl"), 1.0f, 0.8f, true));
+        if (section == null) return out;
+
+        for (String id : section.getKeys(false)) {
+            ConfigurationSection s = section.getConfigurationSection(id);
+            if (s == null) continue;
+            String soundKey = s.getString("sound", "");
+            out.put(id, new EffectPreset(id,
+                    parseParticles(s.getMapList("particles"), id, log),
+                    soundKey.isBlank() ? null : sound(soundKey, log),
+                    (float) s.getDouble("volume", 1.0),
+                    (float) s.getDouble("pitch", 1.0),
+                    s.getBoolean("lightning", false)));
+        }
+        return out;
+    }
+
+    private static List<ParticleSpec> parseParticles(List<Map<?, ?>> list, String preset, Logger log) {
+        List<ParticleSpec> out = new ArrayList<>();
+        for (Map<?, ?> m : list) {
+            Object typeObj = m.get("type");
+            if (typeObj == null) continue;
+            NamespacedKey key = NamespacedKey.fromString(String.valueOf(typeObj).toLowerCase(Locale.ROOT));
+            Particle type = key == null ? null : Registry.PARTICLE_TYPE.get(key);
+            if (type == null) {
+                log.warning("Unknown particle in effects." + preset + ": " + typeObj);
+                continue;
+            }
+            out.add(new ParticleSpec(type,
+                    Math.max(0, number(m.get("count"), 20).intValue()),
+                    number(m.get("spread"), 0.5).doubleValue(),
+                    number(m.get("speed"), 0.0).doubleValue()));
+        }
+        return List.copyOf(out);
+    }
+
+    private static NamespacedKey sound(String name, Logger log) {
+        NamespacedKey key = NamespacedKey.fromString(name.toLowerCase(Locale.ROOT));
+        if (key == null) log.warning("Invalid sound name in effects: " + name);
+        return key;
+    }
+
+    private static Number number(Object o, Number def) {
+        if (o instanceof Number n) return n;
+        if (o == null) return def;
+        try {
+            return Double.parseDouble(String.valueOf(o));
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+}
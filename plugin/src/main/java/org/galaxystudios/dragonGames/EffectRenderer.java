@@ -0,0 +1,143 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays {@link EffectPreset}s without flooding clients. Particles are sent per viewer, and only to players
+ * within effects.radius. Counts shrink as more players watch and as MSPT climbs past effects.target-mspt. A
+ * preset fired again at the same spot within effects.dedupe-millis is dropped, and all effects together may
+ * send at most effects.particle-budget-per-tick particle packets' worth per tick. What doesn't fit is skipped.
+ *
+ * Call on the thread that owns the location.
+ */
+public final class EffectRenderer {
+
+    // viewers that always get full quality
+    private static final int FULL_QUALITY_VIEWERS = 4;
+    // the spot an effect is deduplicated on: 4x4x4 blocks
+    private static final int SPOT_SHIFT = 2;
+    private static final long TICK_NANOS = 50_000_000L;
+
+    private final DragonGames plugin;
+
+    private final Map<String, Long> lastPlayedAt = new ConcurrentHashMap<>();
+    private final Set<NamespacedKey> unknownSounds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong budgetTick = new AtomicLong();
+    private final AtomicInteger budgetUsed = new AtomicInteger();
+
+    private final LongAdder played = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder particlesSent = new LongAdder();
+    private final LongAdder particlesCulled = new LongAdder();
+
+    public EffectRenderer(DragonGames plugin) {
+        this.plugin = plugin;
+        plugin.getMetrics().counter("effects_played_total", played::sum);
+        plugin.getMetrics().counter("effects_deduplicated_total", deduplicated::sum);
+        plugin.getMetrics().counter("effect_particles_sent_total", particlesSent::sum);
+        plugin.getMetrics().counter("effect_particles_culled_total", particlesCulled::sum);
+    }
+
+    public void play(String presetId, Location loc) {
+        if (loc == null || loc.getWorld() == null) return;
+        DragonGamesSettings.Effects cfg = plugin.getSettings().effects();
+        EffectPreset preset = cfg.presets().get(presetId);
+        if (preset == null) return;
+        if (isDuplicate(presetId, loc, cfg.dedupeMillis())) {
+            deduplicated.increment();
+            return;
+        }
+        played.increment();
+
+        World w = loc.getWorld();
+        Collection<Player> viewers = w.getNearbyPlayers(loc, cfg.radius());
+        if (!viewers.isEmpty()) {
+            double scale = viewerScale(viewers.size()) * msptScale(cfg.targetMspt());
+            for (EffectPreset.ParticleSpec p : preset.particles()) {
+                int perViewer = (int) Math.round(p.count() * scale);
+                if (perViewer <= 0) continue;
+                // DRAGON_BREATH on 1.21+ requires a Float data parameter; use 0f for default
+                Object data = p.type().getDataType() == Float.class ? 0f : null;
+                for (Player viewer : viewers) {
+                    int granted = reserve(perViewer, cfg.particleBudgetPerTick());
+                    particlesCulled.add(p.count() - granted);
+                    if (granted <= 0) continue;
+                    particlesSent.add(granted);
+                    viewer.spawnParticle(p.type(), loc, granted, p.spread(), p.spread(), p.spread(), p.speed(), data);
+                }
+            }
+            Sound sound = sound(preset.sound());
+            if (sound != null) {
+                for (Player viewer : viewers) viewer.playSound(loc, sound, preset.volume(), preset.pitch());
+            }
+        }
+        if (preset.lightning()) w.strikeLightningEffect(loc);
+    }
+
+    public String describeStats() {
+        return "played=" + played.sum() + ", deduplicated=" + deduplicated.sum() +
+                ", particlesSent=" + particlesSent.sum() + ", particlesCulled=" + particlesCulled.sum();
+    }
+
+    private Sound sound(NamespacedKey key) {
+        if (key == null) return null;
+        Sound sound = Registry.SOUNDS.get(key);
+        if (sound == null && unknownSounds.add(key)) plugin.getLogger().warning("Unknown sound in effects: " + key);
+        return sound;
+    }
+
+    private boolean isDuplicate(String presetId, Location loc, long dedupeMillis) {
+        if (dedupeMillis <= 0) return false;
+        long now = System.currentTimeMillis();
+        String spot = presetId + '@' + loc.getWorld().getName() + ':' + (loc.getBlockX() >> SPOT_SHIFT) + ',' +
+                (loc.getBlockY() >> SPOT_SHIFT) + ',' + (loc.getBlockZ() >> SPOT_SHIFT);
+        Long prev = lastPlayedAt.get(spot);
+        if (prev != null && now - prev < dedupeMillis) return true;
+        lastPlayedAt.put(spot, now);
+        if (lastPlayedAt.size() > 256) lastPlayedAt.values().removeIf(t -> now - t >= dedupeMillis);
+        return false;
+    }
+
+    /**
+     * Takes up to {@code wanted} particles from this tick's budget; returns how many were granted.
+     */
+    private int reserve(int wanted, int budget) {
+        long tick = System.nanoTime() / TICK_NANOS;
+        long seen = budgetTick.get();
+        if (seen != tick && budgetTick.compareAndSet(seen, tick)) budgetUsed.set(0);
+        while (true) {
+            int used = budgetUsed.get();
+            int granted = Math.min(wanted, budget - used);
+            if (granted <= 0) return 0;
+            if (budgetUsed.compareAndSet(used, used + granted)) return granted;
+        }
+    }
+
+    private static double viewerScale(int viewers) {
+        return viewers <= FULL_QUALITY_VIEWERS ? 1.0 : Math.sqrt((double) FULL_QUALITY_VIEWERS / viewers);
+    }
+
+    private static double msptScale(double targetMspt) {
+        double mspt;
+        try {
+            mspt = Bukkit.getAverageTickTime();
+        } catch (UnsupportedOperationException e) {
+            return 1.0;
+        }
+        return mspt <= targetMspt ? 1.0 : Math.max(0.1, targetMspt / mspt);
+    }
+}
@@ -0,0 +1,125 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * One buff of an egg, resolved when the config is compiled: either a potion effect, or a transient attribute
+ * modifier. With buff-mode: attributes, potion buffs that have an attribute equivalent (speed, strength, ...)
+ * are turned into modifiers; the rest stay potion effects.
+ */
+public record EggBuff(PotionEffect potion, Attribute attribute, double amount, AttributeModifier.Operation operation) {
+
+    // long enough that BuffManager only tops it up now and then
+    public static final int POTION_TICKS = 20 * 60 * 60;
+
+    // pre-1.20.5 Bukkit names still found in configs
+    private static final Map<String, String> LEGACY_EFFECTS = Map.ofEntries(
+            Map.entry("slow", "slowness"),
+            Map.entry("fast_digging", "haste"),
+            Map.entry("slow_digging", "mining_fatigue"),
+            Map.entry("increase_damage", "strength"),
+            Map.entry("heal", "instant_health"),
+            Map.entry("harm", "instant_damage"),
+            Map.entry("jump", "jump_boost"),
+            Map.entry("confusion", "nausea"),
+            Map.entry("damage_resistance", "resistance"));
+
+    private record Equivalent(String attribute, double perLevel, AttributeModifier.Operation operation) {
+    }
+
+    // what the vanilla effect does per level, where a single attribute expresses it
+    private static final Map<String, Equivalent> ATTRIBUTE_EQUIVALENTS = Map.of(
+            "speed", new Equivalent("movement_speed", 0.2, AttributeModifier.Operation.MULTIPLY_SCALAR_1),
+            "slowness", new Equivalent("movement_speed", -0.15, AttributeModifier.Operation.MULTIPLY_SCALAR_1),
+            "strength", new Equivalent("attack_damage", 3.0, AttributeModifier.Operation.ADD_NUMBER),
+            "weakness", new Equivalent("attack_damage", -4.0, AttributeModifier.Operation.ADD_NUMBER),
+            "haste", new Equivalent("block_break_speed", 0.2, AttributeModifier.Operation.MULTIPLY_SCALAR_1),
+            "jump_boost", new Equivalent("jump_strength", 0.1, AttributeModifier.Operation.ADD_NUMBER),
+            "health_boost", new Equivalent("max_health", 4.0, AttributeModifier.Operation.ADD_NUMBER),
+            "luck", new Equivalent("luck", 1.0, AttributeModifier.Operation.ADD_NUMBER));
+
+    public boolean isAttribute() {
+        return attribute != null;
+    }
+
+    /**
+     * Parses a buffs list. Entries are either {@code type} (+ {@code amplifier}) for an effect, or
+     * {@code attribute}, {@code amount} and optionally {@code operation} for a modifier.
+     */
+    public static List<EggBuff> parseAll(List<Map<?, ?>> list, boolean attributeMode, Logger log) {
+        List<EggBuff> out = new ArrayList<>();
+        for (Map<?, ?> m : list) {
+            if (m.get("attribute") != null) {
+                EggBuff b = parseAttribute(m, log);
+                if (b != null) out.add(b);
+                continue;
+            }
+            Object typeObj = m.get("type");
+            if (typeObj == null) continue;
+            String name = String.valueOf(typeObj).toLowerCase(Locale.ROOT);
+            name = LEGACY_EFFECTS.getOrDefault(name, name);
+            NamespacedKey key = NamespacedKey.fromString(name);
+            PotionEffectType type = key == null ? null : Registry.EFFECT.get(key);
+            if (type == null) {
+                log.warning("Unknown potion type in config: " + typeObj);
+                continue;
+            }
+
+            int amp = 0;
+            Object ampObj = m.get("amplifier");
+            if (ampObj != null) {
+                try {
+                    amp = Integer.parseInt(String.valueOf(ampObj));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+
+            Equivalent eq = attributeMode ? ATTRIBUTE_EQUIVALENTS.get(type.getKey().getKey()) : null;
+            Attribute attr = eq == null ? null : Registry.ATTRIBUTE.get(NamespacedKey.minecraft(eq.attribute()));
+            if (attr != null) {
+                out.add(new EggBuff(null, attr, eq.perLevel() * (amp + 1), eq.operation()));
+            } else {
+                out.add(new EggBuff(new PotionEffect(type, POTION_TICKS, amp, true, false, true), null, 0.0, null));
+            }
+        }
+        return List.copyOf(out);
+    }
+
+    private static EggBuff parseAttribute(Map<?, ?> m, Logger log) {
+        Object attrObj = m.get("attribute");
+        NamespacedKey key = NamespacedKey.fromString(String.valueOf(attrObj).toLowerCase(Locale.ROOT));
+        Attribute attr = key == null ? null : Registry.ATTRIBUTE.get(key);
+        if (attr == null) {
+            log.warning("Unknown attribute in config: " + attrObj);
+            return null;
+        }
+        double amount;
+        try {
+            amount = Double.parseDouble(String.valueOf(m.get("amount")));
+        } catch (NumberFormatException e) {
+            log.warning("Attribute buff " + attrObj + " needs a numeric amount.");
+            return null;
+        }
+        AttributeModifier.Operation op = AttributeModifier.Operation.ADD_NUMBER;
+        Object opObj = m.get("operation");
+        if (opObj != null) {
+            try {
+                op = AttributeModifier.Operation.valueOf(String.valueOf(opObj).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                log.warning("Unknown attribute operation '" + opObj + "'; using ADD_NUMBER.");
+            }
+        }
+        return new EggBuff(null, attr, amount, op);
+    }
+}
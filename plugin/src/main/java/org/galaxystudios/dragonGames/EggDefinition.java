@@ -0,0 +1,133 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Static settings of one egg: its altar, buffs, playtime rule and map marker.
+ *
+ * The top-level config keys describe the default egg ({@link #DEFAULT_ID}); entries under {@code eggs:}
+ * add more eggs and fall back to the top-level value for anything they leave out.
+ *
+ * Parsing reads no server state, so config can be compiled off the global thread; {@link #resolveWorld()}
+ * then fills in {@code worldName} (if the config left it out) and {@code home} on the global thread.
+ */
+public record EggDefinition(
+        String id,
+        String displayName,
+        String worldName,
+        double x,
+        double y,
+        double z,
+        float yaw,
+        float pitch,
+        long requiredWeeklySeconds,
+        List<EggBuff> buffs,
+        String markerId,
+        String markerLabel,
+        String markerIcon,
+        Location home
+) {
+
+    public static final String DEFAULT_ID = "main";
+
+    private static final Pattern VALID_ID = Pattern.compile("[a-z0-9_-]{1,32}");
+
+    public boolean isDefault() {
+        return DEFAULT_ID.equals(id);
+    }
+
+    /**
+     * Global thread: this egg with its world looked up. The first loaded world stands in when the config
+     * names none.
+     */
+    public EggDefinition resolveWorld() {
+        String world = worldName != null ? worldName : Bukkit.getWorlds().isEmpty() ? "world" : Bukkit.getWorlds().get(0).getName();
+        return new EggDefinition(id, displayName, world, x, y, z, yaw, pitch, requiredWeeklySeconds, buffs,
+                markerId, markerLabel, markerIcon, new Location(Bukkit.getWorld(world), x, y, z, yaw, pitch));
+    }
+
+    /**
+     * The altar, resolved when the settings were published. Shared between callers, so don't mutate it.
+     * Only re-resolves if the world wasn't loaded yet at that point.
+     */
+    public Location returnLocation() {
+        if (home.getWorld() != null) return home;
+        return new Location(Bukkit.getWorld(worldName), x, y, z, yaw, pitch);
+    }
+
+    public boolean isAltar(Block block) {
+        return block.getX() == (int) Math.floor(x)
+                && block.getY() == (int) Math.floor(y)
+                && block.getZ() == (int) Math.floor(z)
+                && block.getWorld().getName().equals(worldName);
+    }
+
+    /**
+     * Parses the default egg plus every entry under {@code eggs:}, in config order.
+     */
+    public static Map<String, EggDefinition> loadAll(FileConfiguration cfg, Logger log) {
+        Map<String, EggDefinition> out = new LinkedHashMap<>();
+        out.put(DEFAULT_ID, parse(DEFAULT_ID, cfg, cfg, log));
+
+        ConfigurationSection eggs = cfg.getConfigurationSection("eggs");
+        if (eggs != null) {
+            for (String id : eggs.getKeys(false)) {
+                ConfigurationSection s = eggs.getConfigurationSection(id);
+                if (s == null) continue;
+                String key = id.toLowerCase();
+                if (!VALID_ID.matcher(key).matches()) {
+                    log.warning("Invalid egg id in config (use a-z, 0-9, _ or -, max 32 chars): " + id);
+                    continue;
+                }
+                if (out.containsKey(key)) {
+                    log.warning("Duplicate egg id in config: " + id);
+                    continue;
+                }
+                out.put(key, parse(key, s, cfg, log));
+            }
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static EggDefinition parse(String id, ConfigurationSection s, ConfigurationSection root, Logger log) {
+        boolean isDefault = DEFAULT_ID.equals(id);
+        ConfigurationSection loc = s.getConfigurationSection("return-location");
+        if (loc == null) loc = root.getConfigurationSection("return-location");
+
+        // no return-location: resolveWorld picks the first loaded world
+        String world = loc == null ? null : loc.getString("world", "world");
+        double x = loc == null ? 0.5 : loc.getDouble("x", 0.5);
+        double y = loc == null ? 100.0 : loc.getDouble("y", 100.0);
+        double z = loc == null ? 0.5 : loc.getDouble("z", 0.5);
+        float yaw = loc == null ? 0f : (float) loc.getDouble("yaw", 0.0);
+        float pitch = loc == null ? 0f : (float) loc.getDouble("pitch", 0.0);
+
+        long required = s.getLong("required-playtime-per-week-seconds",
+                root.getLong("required-playtime-per-week-seconds", 7200L));
+
+        List<Map<?, ?>> buffList = s.isList("buffs") ? s.getMapList("buffs") : root.getMapList("buffs");
+        boolean attributeMode = "attributes".equalsIgnoreCase(s.getString("buff-mode", root.getString("buff-mode", "potions")));
+
+        String name = s.getString("display-name", isDefault ? "Dragon Egg" : id);
+        String markerId = s.getString("dynmap.marker-id",
+                isDefault ? root.getString("dynmap.marker-id", "dragon-egg-holder") : "dragon-egg-" + id);
+        String markerLabel = s.getString("dynmap.marker-label",
+                isDefault ? root.getString("dynmap.marker-label", "Dragon Egg Holder") : name + " Holder");
+        String icon = s.getString("dynmap.icon", root.getString("dynmap.icon", "portal"));
+
+        return new EggDefinition(id, name, world, x, y, z, yaw, pitch, required,
+                EggBuff.parseAll(buffList, attributeMode, log), markerId, markerLabel, icon,
+                new Location(null, x, y, z, yaw, pitch));
+    }
+}
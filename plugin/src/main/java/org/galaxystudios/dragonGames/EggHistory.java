@@ -0,0 +1,429 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The audit trail: every capture, transfer, return, admin command and weekly rollover, in history/.
+ *
+ * Entries are queued from any thread and written every couple of seconds by a background thread, each batch
+ * as its own gzip member appended to the current segment ({@code <start>.log.gz}; concatenated members are
+ * still one valid gzip file). A segment is rotated when it grows past history.segment-kb or gets older than
+ * history.segment-hours, and deleted after history.retention-days.
+ *
+ * Next to each segment, {@code <start>.idx} has one line per member: where it starts and ends, its first and
+ * last time and the players in it. Queries read only those lines to pick the members worth decompressing and
+ * seek straight to them, so asking about one player or the last day doesn't unpack months of logs.
+ */
+public final class EggHistory {
+
+    private static final long FLUSH_MILLIS = 2000L;
+    private static final DateTimeFormatter FILE_NAME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT).withZone(ZoneId.of("UTC"));
+    private static final DateTimeFormatter SHOWN =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ROOT).withZone(ZoneId.systemDefault());
+
+    public enum Kind {
+        CAPTURE, TRANSFER, RETURN, ADMIN, WEEK
+    }
+
+    /**
+     * One line of history. {@code actor} is who did it (the new holder, the killer, the admin), {@code subject}
+     * who it was done to (the previous holder); either may be null.
+     */
+    public record Entry(long epochMillis, Kind kind, String egg, UUID actor, String actorName,
+                        UUID subject, String subjectName, String detail) {
+
+        boolean involves(UUID player) {
+            return player.equals(actor) || player.equals(subject);
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder(SHOWN.format(Instant.ofEpochMilli(epochMillis)))
+                    .append(' ').append(kind.name().toLowerCase(Locale.ROOT));
+            if (!egg.isEmpty()) sb.append(' ').append(egg);
+            if (actorName != null) sb.append(" by ").append(actorName);
+            if (subjectName != null) sb.append(kind == Kind.TRANSFER ? " from " : " of ").append(subjectName);
+            if (!detail.isEmpty()) sb.append(" (").append(detail).append(')');
+            return sb.toString();
+        }
+
+        private String encode() {
+            return epochMillis + "\t" + kind + "\t" + egg + "\t" + field(actor) + "\t" + field(actorName) + "\t" +
+                    field(subject) + "\t" + field(subjectName) + "\t" + detail + "\n";
+        }
+
+        private static Entry decode(String line) {
+            String[] f = line.split("\t", -1);
+            if (f.length < 8) return null;
+            try {
+                return new Entry(Long.parseLong(f[0]), Kind.valueOf(f[1]), f[2], uuid(f[3]), name(f[4]),
+                        uuid(f[5]), name(f[6]), f[7]);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static String field(Object o) {
+            return o == null ? "" : o.toString();
+        }
+
+        private static UUID uuid(String s) {
+            return s.isEmpty() ? null : UUID.fromString(s);
+        }
+
+        private static String name(String s) {
+            return s.isEmpty() ? null : s;
+        }
+    }
+
+    /**
+     * One gzip member; {@code players} is null when the index didn't cover it (a crash mid-write), meaning
+     * anyone may be in it.
+     */
+    private record Block(long offset, long length, long firstMillis, long lastMillis, Set<UUID> players) {
+    }
+
+    private static final class Segment {
+        final Path data;
+        final Path index;
+        final long startMillis;
+        final List<Block> blocks = new ArrayList<>();
+        long size;
+
+        Segment(Path data, Path index, long startMillis) {
+            this.data = data;
+            this.index = index;
+            this.startMillis = startMillis;
+        }
+
+        long lastMillis() {
+            return blocks.isEmpty() ? startMillis : blocks.get(blocks.size() - 1).lastMillis();
+        }
+    }
+
+    private final DragonGames plugin;
+    private final Path dir;
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    // writer thread only
+    private final List<Segment> segments = new ArrayList<>();
+    private ScheduledExecutorService writer;
+    // written by the writer thread for the status line
+    private volatile String summary = "not loaded";
+
+    public EggHistory(DragonGames plugin) {
+        this.plugin = plugin;
+        this.dir = plugin.getDataFolder().toPath().resolve("history");
+        plugin.getMetrics().gauge("history_pending", queued::get);
+    }
+
+    public void open() {
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DragonGames-History");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.execute(this::load);
+        writer.scheduleWithFixedDelay(this::flush, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes whatever is queued. Waits at most {@code timeoutMillis}.
+     */
+    public void close(long timeoutMillis) {
+        if (writer == null) return;
+        writer.execute(this::flush);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Egg history was not fully written before shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Global thread: queues an entry. Names not given are looked up from the UUIDs.
+     */
+    public void record(Kind kind, String egg, UUID actor, String actorName, UUID subject, String subjectName, String detail) {
+        if (queued.get() >= plugin.getSettings().history().maxQueued()) return;
+        queue.add(new Entry(System.currentTimeMillis(), kind, egg == null ? "" : clean(egg),
+                actor, clean(actorName != null ? actorName : nameOf(actor)),
+                subject, clean(subjectName != null ? subjectName : nameOf(subject)), detail == null ? "" : clean(detail)));
+        queued.incrementAndGet();
+    }
+
+    /**
+     * The newest {@code limit} entries involving {@code player}, oldest first, handed to {@code result} on the
+     * history thread.
+     */
+    public void queryPlayer(UUID player, int limit, Consumer<List<Entry>> result) {
+        submit(() -> {
+            flush();
+            List<Entry> found = new ArrayList<>();
+            outer:
+            for (int s = segments.size() - 1; s >= 0; s--) {
+                Segment seg = segments.get(s);
+                for (int b = seg.blocks.size() - 1; b >= 0; b--) {
+                    Block block = seg.blocks.get(b);
+                    if (block.players() != null && !block.players().contains(player)) continue;
+                    List<Entry> entries = read(seg, block);
+                    for (int i = entries.size() - 1; i >= 0; i--) {
+                        if (!entries.get(i).involves(player)) continue;
+                        found.add(entries.get(i));
+                        if (found.size() >= limit) break outer;
+                    }
+                }
+            }
+            Collections.reverse(found);
+            result.accept(found);
+        });
+    }
+
+    /**
+     * The first {@code limit} + 1 entries at or after {@code sinceMillis}, oldest first, handed to {@code result}
+     * on the history thread; getting more than {@code limit} back means there are more.
+     */
+    public void querySince(long sinceMillis, int limit, Consumer<List<Entry>> result) {
+        submit(() -> {
+            flush();
+            List<Entry> found = new ArrayList<>();
+            outer:
+            for (Segment seg : segments) {
+                if (seg.lastMillis() < sinceMillis && !seg.blocks.isEmpty()) continue;
+                for (Block block : seg.blocks) {
+                    if (block.lastMillis() < sinceMillis) continue;
+                    for (Entry e : read(seg, block)) {
+                        if (e.epochMillis() < sinceMillis) continue;
+                        found.add(e);
+                        if (found.size() > limit) break outer;
+                    }
+                }
+            }
+            result.accept(found);
+        });
+    }
+
+    public String describeStats() {
+        return summary + ", pending=" + queued.get();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    // --- writer thread ---
+
+    private void load() {
+        try {
+            Files.createDirectories(dir);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.log.gz")) {
+                for (Path data : files) {
+                    String name = data.getFileName().toString();
+                    String base = name.substring(0, name.length() - ".log.gz".length());
+                    long start;
+                    try {
+                        start = Instant.from(FILE_NAME.parse(base)).toEpochMilli();
+                    } catch (RuntimeException e) {
+                        continue;
+                    }
+                    segments.add(loadSegment(new Segment(data, dir.resolve(base + ".idx"), start)));
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read egg history: " + e.getMessage());
+        }
+        segments.sort((a, b) -> Long.compare(a.startMillis, b.startMillis));
+        expire();
+        summarize();
+    }
+
+    private void summarize() {
+        int blocks = 0;
+        long bytes = 0;
+        for (Segment s : segments) {
+            blocks += s.blocks.size();
+            bytes += s.size;
+        }
+        summary = "segments=" + segments.size() + ", blocks=" + blocks + ", bytes=" + bytes;
+    }
+
+    private Segment loadSegment(Segment seg) throws IOException {
+        seg.size = Files.size(seg.data);
+        long end = 0L;
+        if (Files.exists(seg.index)) {
+            for (String line : Files.readAllLines(seg.index, StandardCharsets.UTF_8)) {
+                String[] f = line.split(" ", -1);
+                if (f.length < 5) continue;
+                try {
+                    long offset = Long.parseLong(f[0]), length = Long.parseLong(f[1]);
+                    if (offset + length > seg.size) break;
+                    Set<UUID> players = new HashSet<>();
+                    for (String p : f[4].split(",")) {
+                        if (!p.isEmpty()) players.add(UUID.fromString(p));
+                    }
+                    seg.blocks.add(new Block(offset, length, Long.parseLong(f[2]), Long.parseLong(f[3]), Set.copyOf(players)));
+                    end = offset + length;
+                } catch (IllegalArgumentException e) {
+                    break;
+                }
+            }
+        }
+        if (end < seg.size) {
+            // written but never indexed: scanned by every query
+            long first = seg.blocks.isEmpty() ? seg.startMillis : seg.lastMillis();
+            seg.blocks.add(new Block(end, seg.size - end, first, Files.getLastModifiedTime(seg.data).toMillis(), null));
+        }
+        return seg;
+    }
+
+    private void flush() {
+        if (queue.isEmpty()) return;
+        List<Entry> batch = new ArrayList<>();
+        for (Entry e; (e = queue.poll()) != null; ) {
+            batch.add(e);
+            queued.decrementAndGet();
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+                for (Entry e : batch) gz.write(e.encode().getBytes(StandardCharsets.UTF_8));
+            }
+            Segment seg = current(batch.get(0).epochMillis());
+            long offset = seg.size;
+            try (FileChannel ch = FileChannel.open(seg.data, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes.toByteArray());
+                while (buf.hasRemaining()) ch.write(buf, offset + buf.position());
+            }
+            Set<UUID> players = new HashSet<>();
+            for (Entry e : batch) {
+                if (e.actor() != null) players.add(e.actor());
+                if (e.subject() != null) players.add(e.subject());
+            }
+            Block block = new Block(offset, bytes.size(), batch.get(0).epochMillis(),
+                    batch.get(batch.size() - 1).epochMillis(), Set.copyOf(players));
+            StringBuilder line = new StringBuilder().append(block.offset()).append(' ').append(block.length())
+                    .append(' ').append(block.firstMillis()).append(' ').append(block.lastMillis()).append(' ');
+            for (UUID p : players) line.append(p).append(',');
+            Files.writeString(seg.index, line.append('\n'), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            seg.blocks.add(block);
+            seg.size = offset + bytes.size();
+            summarize();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write egg history (" + batch.size() + " entries lost): " + e.getMessage());
+        }
+    }
+
+    /**
+     * The segment to append to, starting a new one when the last is full or too old.
+     */
+    private Segment current(long nowMillis) {
+        DragonGamesSettings.History cfg = plugin.getSettings().history();
+        Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        boolean tornTail = last != null && !last.blocks.isEmpty() && last.blocks.get(last.blocks.size() - 1).players() == null;
+        if (last != null && !tornTail && last.size < cfg.segmentBytes() && nowMillis - last.startMillis < cfg.segmentMillis()) {
+            return last;
+        }
+        long start = last == null ? nowMillis : Math.max(nowMillis, last.startMillis + 1000L);
+        String base = FILE_NAME.format(Instant.ofEpochMilli(start));
+        Segment seg = new Segment(dir.resolve(base + ".log.gz"), dir.resolve(base + ".idx"), start);
+        segments.add(seg);
+        expire();
+        return seg;
+    }
+
+    private void expire() {
+        int days = plugin.getSettings().history().retentionDays();
+        if (days <= 0) return;
+        long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        // never the newest segment: it is the one being written
+        while (segments.size() > 1 && segments.get(0).lastMillis() < cutoff) {
+            Segment old = segments.remove(0);
+            try {
+                Files.deleteIfExists(old.data);
+                Files.deleteIfExists(old.index);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not delete old history segment " + old.data + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Decompresses one member. A member cut short by a crash yields what was readable.
+     */
+    private List<Entry> read(Segment seg, Block block) {
+        List<Entry> out = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(seg.data, StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.min(block.length(), Integer.MAX_VALUE - 8));
+            while (buf.hasRemaining() && ch.read(buf, block.offset() + buf.position()) > 0) {
+            }
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new ByteArrayInputStream(buf.array(), 0, buf.position())), StandardCharsets.UTF_8))) {
+                for (String line; (line = in.readLine()) != null; ) {
+                    Entry e = Entry.decode(line);
+                    if (e != null) out.add(e);
+                }
+            } catch (EOFException e) {
+                // torn member: keep the lines before the tear
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read history segment " + seg.data + ": " + e.getMessage());
+        }
+        return out;
+    }
+
+    private static String nameOf(UUID player) {
+        if (player == null) return null;
+        Player online = Bukkit.getPlayer(player);
+        if (online != null) return online.getName();
+        OfflinePlayer offline = Bukkit.getOfflinePlayer(player);
+        return offline.getName();
+    }
+
+    // tabs and newlines would break the line format
+    private static String clean(String s) {
+        return s == null ? null : s.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,523 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.*;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.galaxystudios.dragonGames.api.DragonEggCaptureEvent;
+import org.galaxystudios.dragonGames.api.DragonEggReturnEvent;
+import org.galaxystudios.dragonGames.api.DragonEggTransferEvent;
+import org.galaxystudios.dragonGames.api.EggCause;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the "who holds which egg" state and the rules for transferring/returning eggs.
+ *
+ * Egg items carry their egg id in their persistent data; untagged dragon eggs belong to the default egg.
+ * A player holds at most one egg at a time.
+ *
+ * Transfers and returns change state on the global region thread, then hand the player and altar work to
+ * the threads that own them (see {@link Schedulers}). Inventory methods must be called on the player's thread.
+ */
+public final class EggManager {
+
+    public static final Material EGG_MATERIAL = Material.DRAGON_EGG;
+
+    private static final int OFF_HAND_SLOT = 40;
+
+    private final DragonGames plugin;
+    private final NamespacedKey eggIdKey;
+
+    // holder -> inventory slot their egg was last verified in (40 = off hand). Missing means unknown.
+    // Each entry is only touched from its player's thread, but players live on different regions.
+    private final Map<UUID, Integer> eggSlots = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram setHolderTimer;
+    private final LatencyHistogram returnTimer;
+    private final BuffManager buffs;
+
+    public EggManager(DragonGames plugin) {
+        this.plugin = plugin;
+        this.setHolderTimer = plugin.getMetrics().histogram("egg.setHolder");
+        this.returnTimer = plugin.getMetrics().histogram("egg.return");
+        this.eggIdKey = new NamespacedKey(plugin, "egg_id");
+        this.buffs = new BuffManager(plugin);
+    }
+
+    public BuffManager getBuffs() {
+        return buffs;
+    }
+
+    public UUID getHolder(String egg) {
+        return plugin.getState().getHolder(egg);
+    }
+
+    /**
+     * The egg {@code player} holds, or null. Constant time; safe for hot event handlers.
+     */
+    public String getEggHeldBy(UUID player) {
+        return plugin.getState().getEggHeldBy(player);
+    }
+
+    public boolean isHolder(UUID player) {
+        return plugin.getState().isHolder(player);
+    }
+
+    public Player getOnlineHolder(String egg) {
+        UUID holder = getHolder(egg);
+        return holder == null ? null : Bukkit.getPlayer(holder);
+    }
+
+    public EggDefinition getDefinition(String egg) {
+        return plugin.getEggDefinitions().get(egg);
+    }
+
+    /**
+     * Egg id of an item stack, or null if it isn't a dragon egg.
+     */
+    public String eggIdOf(ItemStack it) {
+        if (it == null || it.getType() != EGG_MATERIAL) return null;
+        String id = it.getPersistentDataContainer().get(eggIdKey, PersistentDataType.STRING);
+        return id == null ? EggDefinition.DEFAULT_ID : id;
+    }
+
+    /**
+     * Egg id of a placed egg block: the egg whose altar it sits on, otherwise the default egg.
+     */
+    public String eggIdAt(Block block) {
+        for (EggDefinition def : plugin.getEggDefinitions().values()) {
+            if (def.isAltar(block)) return def.id();
+        }
+        return EggDefinition.DEFAULT_ID;
+    }
+
+    public ItemStack createEggItem(String egg) {
+        ItemStack it = new ItemStack(EGG_MATERIAL, 1);
+        ItemMeta meta = it.getItemMeta();
+        if (meta != null) {
+            meta.getPersistentDataContainer().set(eggIdKey, PersistentDataType.STRING, egg);
+            it.setItemMeta(meta);
+        }
+        return it;
+    }
+
+    public boolean playerHasEgg(Player player) {
+        if (eggInTrackedSlot(player) != null) return true;
+        return countEggs(player.getInventory(), null) > 0;
+    }
+
+    /**
+     * Counts eggs of one id, or of any id when {@code egg} is null. Slot 40 is the off hand.
+     */
+    public int countEggs(PlayerInventory inv, String egg) {
+        int c = 0;
+        for (int i = 0; i < inv.getSize(); i++) {
+            ItemStack it = inv.getItem(i);
+            String id = eggIdOf(it);
+            if (id != null && (egg == null || egg.equals(id))) c += it.getAmount();
+        }
+        return c;
+    }
+
+    public void ensureEggInInventory(Player player) {
+        normalizeEggInventory(player);
+    }
+
+    public void giveEggToPlayer(Player player) {
+        normalizeEggInventory(player);
+    }
+
+    private void addEgg(Player player, String egg) {
+        PlayerInventory inv = player.getInventory();
+        HashMap<Integer, ItemStack> leftover = inv.addItem(createEggItem(egg));
+        if (!leftover.isEmpty()) {
+            ItemStack off = inv.getItemInOffHand();
+            if (off == null || off.getType() == Material.AIR) {
+                inv.setItemInOffHand(createEggItem(egg));
+            } else {
+                // inventory is full; drop currently held item and replace it with the egg
+                ItemStack inHand = inv.getItemInMainHand();
+                if (inHand != null && inHand.getType() != Material.AIR) {
+                    player.getWorld().dropItemNaturally(player.getLocation(), inHand.clone());
+                }
+                inv.setItemInMainHand(createEggItem(egg));
+            }
+        }
+    }
+
+    public void clearEggs(Player player) {
+        clearEggs(player, null);
+    }
+
+    /**
+     * Removes eggs of one id, or every egg when {@code egg} is null.
+     */
+    public void clearEggs(Player player, String egg) {
+        if (egg == null || egg.equals(getEggHeldBy(player.getUniqueId()))) eggSlots.remove(player.getUniqueId());
+        PlayerInventory inv = player.getInventory();
+        for (int i = 0; i < inv.getSize(); i++) {
+            String id = eggIdOf(inv.getItem(i));
+            if (id != null && (egg == null || egg.equals(id))) inv.setItem(i, null);
+        }
+    }
+
+    /**
+     * Makes the inventory match the state: exactly one of the player's own egg, none of any other.
+     *
+     * For a holder whose egg is still in its tracked slot this is a single slot read. Anything else falls
+     * back to one full scan, which also re-learns the slot.
+     */
+    public void normalizeEggInventory(Player player) {
+        String held = getEggHeldBy(player.getUniqueId());
+        if (held != null && held.equals(eggInTrackedSlot(player))) return;
+
+        PlayerInventory inv = player.getInventory();
+        int ownSlot = -1;
+        for (int i = 0; i < inv.getSize(); i++) {
+            ItemStack it = inv.getItem(i);
+            String id = eggIdOf(it);
+            if (id == null) continue;
+            if (id.equals(held) && ownSlot < 0 && it.getAmount() == 1) {
+                ownSlot = i;
+            } else {
+                // egg that isn't theirs, a second copy of theirs, or they hold none: remove it
+                inv.setItem(i, null);
+            }
+        }
+        if (held == null) {
+            eggSlots.remove(player.getUniqueId());
+            return;
+        }
+        if (ownSlot >= 0) {
+            eggSlots.put(player.getUniqueId(), ownSlot);
+        } else {
+            // holder missing egg: add one respecting full-inventory rules; its slot is learned on the next check
+            eggSlots.remove(player.getUniqueId());
+            addEgg(player, held);
+        }
+    }
+
+    /**
+     * Egg id found in the player's tracked slot, or null if the slot is unknown or no longer holds exactly one egg.
+     */
+    private String eggInTrackedSlot(Player player) {
+        Integer slot = eggSlots.get(player.getUniqueId());
+        if (slot == null) return null;
+        ItemStack it = player.getInventory().getItem(slot);
+        if (it == null || it.getAmount() != 1) return null;
+        return eggIdOf(it);
+    }
+
+    /**
+     * The player moved an egg in a way we can't follow (click, drag, pickup); the next check does a full scan.
+     */
+    public void invalidateEggSlot(UUID player) {
+        eggSlots.remove(player);
+    }
+
+    /**
+     * Main hand and off hand swapped: follow the egg if it was in one of them.
+     */
+    public void swapHandsEggSlot(Player player) {
+        Integer slot = eggSlots.get(player.getUniqueId());
+        if (slot == null) return;
+        int mainHand = player.getInventory().getHeldItemSlot();
+        if (slot == mainHand) {
+            eggSlots.put(player.getUniqueId(), OFF_HAND_SLOT);
+        } else if (slot == OFF_HAND_SLOT) {
+            eggSlots.put(player.getUniqueId(), mainHand);
+        }
+    }
+
+    public void forgetEggSlot(UUID player) {
+        eggSlots.remove(player);
+    }
+
+    /**
+     * A player clicked or broke a placed egg block: take it off the altar and make them the holder.
+     */
+    public void captureEggBlock(Player player, Block block) {
+        String egg = eggIdAt(block);
+        String held = getEggHeldBy(player.getUniqueId());
+        if (held != null && !held.equals(egg)) {
+            player.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE +
+                    "You already carry the " + displayName(held) + ".");
+            return;
+        }
+        block.setType(Material.AIR, false);
+        setHolder(player, egg, EggEventReason.PICKUP, player.getName() + " captured the " + displayName(egg) + "!");
+    }
+
+    /**
+     * Makes {@code player} the holder, unless a {@link DragonEggCaptureEvent} or {@link DragonEggTransferEvent}
+     * listener cancels it. {@code announcement} goes to Discord only if the egg actually changed hands.
+     */
+    public void setHolder(Player player, String egg, EggEventReason reason, String announcement) {
+        plugin.getSchedulers().global(() -> {
+            long start = System.nanoTime();
+            try {
+                doSetHolder(player, egg, reason, announcement);
+            } finally {
+                setHolderTimer.recordSince(start);
+            }
+        });
+    }
+
+    private void doSetHolder(Player player, String egg, EggEventReason reason, String announcement) {
+        EggDefinition def = getDefinition(egg);
+        if (def == null) return;
+        UUID old = getHolder(egg);
+        UUID now = player.getUniqueId();
+
+        if (Objects.equals(old, now)) {
+            plugin.getState().touchActivity(now);
+            plugin.getState().save();
+            plugin.getSchedulers().entity(player, () -> {
+                ensureEggInInventory(player);
+                applyEggBuffs(player);
+                plugin.getDynmap().updateMarker(egg, player);
+            });
+            return;
+        }
+
+        String alreadyHeld = getEggHeldBy(now);
+        if (alreadyHeld != null) {
+            // one egg per player: the egg they just won goes home instead
+            plugin.logDebug(player.getName() + " already holds '" + alreadyHeld + "'; returning '" + egg + "' instead.");
+            returnEggToReturnLocation(egg, EggCause.OTHER, "The " + def.displayName() + " returned to its altar because " +
+                    player.getName() + " already carries the " + displayName(alreadyHeld) + ".", null);
+            return;
+        }
+
+        if (old == null) {
+            if (!new DragonEggCaptureEvent(player, egg, reason.cause()).callEvent()) {
+                // nobody holds it, so it goes back where it waits for the next capture
+                plugin.logDebug("Capture of '" + egg + "' by " + player.getName() + " was cancelled.");
+                placeAtAltar(def);
+                return;
+            }
+        } else if (!new DragonEggTransferEvent(old, player, egg, reason.cause()).callEvent()) {
+            plugin.logDebug("Transfer of '" + egg + "' to " + player.getName() + " was cancelled.");
+            return;
+        }
+
+        takeEggFrom(old, egg, def);
+
+        plugin.getState().setHolder(egg, now);
+        if (plugin.getShared() != null) plugin.getShared().holderChanged(egg, now);
+        plugin.getState().resetWeeklyIfNeeded(egg);
+        plugin.getState().startSession(now);
+        plugin.getState().touchActivity(now);
+        plugin.getState().save();
+
+        if (plugin.getHistory() != null) {
+            plugin.getHistory().record(old == null ? EggHistory.Kind.CAPTURE : EggHistory.Kind.TRANSFER, egg,
+                    now, player.getName(), old, null, reason.cause().name().toLowerCase(Locale.ROOT));
+        }
+
+        switch (reason) {
+            case PICKUP -> plugin.getStats().recordCapture(now, player.getName());
+            case TRANSFER_ON_DEATH -> plugin.getStats().recordKill(now, player.getName());
+            default -> { }
+        }
+
+        announceCapture(player, def, reason);
+        if (announcement != null) plugin.getDiscord().announceAsync(plugin.getSettings().discordPrefix() + announcement);
+        plugin.getSchedulers().entity(player, () -> {
+            ensureEggInInventory(player);
+            applyEggBuffs(player);
+            plugin.getDynmap().updateMarker(egg, player);
+            plugin.getSnapshots().located(egg, player);
+            plugin.getEffects().play(EffectPreset.CAPTURE, player.getLocation());
+        });
+    }
+
+    /**
+     * Strips the egg and its buffs from its previous holder, on their own thread, if they are online.
+     */
+    private void takeEggFrom(UUID holder, String egg, EggDefinition def) {
+        if (holder == null) return;
+        Player online = Bukkit.getPlayer(holder);
+        if (online == null) return;
+        plugin.getSchedulers().entity(online, () -> {
+            clearEggs(online, egg);
+            removeEggBuffs(online, def);
+        });
+    }
+
+    /**
+     * Sends the egg home, broadcasting {@code message} in game and {@code announcement} to Discord if not null.
+     */
+    public void returnEggToReturnLocation(String egg, EggCause cause, String message, String announcement) {
+        plugin.getSchedulers().global(() -> {
+            long start = System.nanoTime();
+            try {
+                doReturnEgg(egg, cause, message, announcement);
+            } finally {
+                returnTimer.recordSince(start);
+            }
+        });
+    }
+
+    private void doReturnEgg(String egg, EggCause cause, String message, String announcement) {
+        EggDefinition def = getDefinition(egg);
+        if (def == null) return;
+        UUID old = getHolder(egg);
+        new DragonEggReturnEvent(old, egg, cause).callEvent();
+        takeEggFrom(old, egg, def);
+        if (plugin.getHistory() != null) {
+            plugin.getHistory().record(EggHistory.Kind.RETURN, egg, null, null, old, null, cause.name().toLowerCase(Locale.ROOT));
+        }
+
+        plugin.getState().setHolder(egg, null);
+        if (plugin.getShared() != null) plugin.getShared().holderChanged(egg, null);
+        plugin.getState().save();
+        plugin.getDynmap().clearMarker(egg);
+        if (announcement != null) plugin.getDiscord().announceAsync(plugin.getSettings().discordPrefix() + announcement);
+
+        Location loc = def.returnLocation();
+        if (loc == null || loc.getWorld() == null) {
+            plugin.getLogger().warning("Return location world for egg '" + egg + "' is missing; cannot return egg.");
+            return;
+        }
+
+        if (message != null && !message.isBlank()) {
+            Bukkit.broadcastMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + message);
+        }
+
+        plugin.getSchedulers().region(loc, () -> {
+            // place the egg as a block at the altar instead of dropping an item
+            loc.getWorld().getBlockAt(loc).setType(EGG_MATERIAL, false);
+            plugin.getEffects().play(EffectPreset.RETURN, loc);
+        });
+    }
+
+    /**
+     * Global thread: adopts a holder decided on another backend. Takes the egg off whoever has it here and
+     * gives it to the new holder if they are on this server; the altar block follows, so the egg can't be
+     * captured here while someone holds it elsewhere. Announcements, stats and API events happened where it
+     * was decided.
+     */
+    public void applySharedHolder(String egg, UUID holder) {
+        EggDefinition def = getDefinition(egg);
+        UUID old = getHolder(egg);
+        if (def == null || Objects.equals(old, holder)) return;
+        takeEggFrom(old, egg, def);
+
+        plugin.getState().setHolder(egg, holder);
+        plugin.getState().resetWeeklyIfNeeded(egg);
+        Player online = holder == null ? null : Bukkit.getPlayer(holder);
+        if (online != null) {
+            plugin.getState().startSession(holder);
+            plugin.getState().touchActivity(holder);
+            plugin.getSchedulers().entity(online, () -> {
+                ensureEggInInventory(online);
+                applyEggBuffs(online);
+                plugin.getDynmap().updateMarker(egg, online);
+                plugin.getSnapshots().located(egg, online);
+            });
+        } else {
+            plugin.getDynmap().clearMarker(egg);
+        }
+        plugin.getState().save();
+        plugin.logDebug("Egg '" + egg + "' is now held by " + holder + " (from shared state).");
+
+        Location loc = def.returnLocation();
+        if (loc == null || loc.getWorld() == null) return;
+        plugin.getSchedulers().region(loc, () -> {
+            Block block = loc.getWorld().getBlockAt(loc);
+            if (holder == null) {
+                block.setType(EGG_MATERIAL, false);
+            } else if (block.getType() == EGG_MATERIAL) {
+                block.setType(Material.AIR, false);
+            }
+        });
+    }
+
+    /**
+     * Tops up the buffs of whichever egg the player holds; cheap when they are all still there.
+     */
+    public void applyEggBuffs(Player player) {
+        buffs.apply(player, getDefinition(getEggHeldBy(player.getUniqueId())));
+    }
+
+    public void removeEggBuffs(Player player, String egg) {
+        removeEggBuffs(player, getDefinition(egg));
+    }
+
+    /**
+     * Removes the buffs of {@code def}; for callers that captured the definition before a reload replaced it.
+     */
+    public void removeEggBuffs(Player player, EggDefinition def) {
+        buffs.remove(player, def);
+    }
+
+    public String displayName(String egg) {
+        EggDefinition def = getDefinition(egg);
+        return def == null ? egg : def.displayName();
+    }
+
+    private void announceCapture(Player player, EggDefinition def, EggEventReason reason) {
+        DragonGamesSettings settings = plugin.getSettings();
+        if (!(reason == EggEventReason.TRANSFER_ON_DEATH ? settings.announceTransferOnDeath() : settings.announceCapture())) return;
+
+        String name = def.displayName();
+        String msg;
+        switch (reason) {
+            case PICKUP -> msg = player.getName() + " has captured the " + name + "! A bounty is on their head.";
+            case TRANSFER_ON_DEATH -> msg = player.getName() + " now holds the " + name + "! The hunt continues.";
+            case ADMIN -> msg = player.getName() + " was chosen as " + name + " holder.";
+            default -> msg = player.getName() + " is now the " + name + " holder.";
+        }
+        Bukkit.broadcastMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + msg);
+    }
+
+    public long getRequiredWeeklySeconds(String egg) {
+        EggDefinition def = getDefinition(egg);
+        return def == null ? 0L : def.requiredWeeklySeconds();
+    }
+
+    private void placeAtAltar(EggDefinition def) {
+        Location loc = def.returnLocation();
+        if (loc == null || loc.getWorld() == null) {
+            plugin.getLogger().warning("Return location world for egg '" + def.id() + "' is missing; cannot place egg.");
+            return;
+        }
+        plugin.getSchedulers().region(loc, () -> loc.getWorld().getBlockAt(loc).setType(EGG_MATERIAL, false));
+    }
+
+    public void placeEggsAtHomeIfNoHolder() {
+        for (EggDefinition def : plugin.getEggDefinitions().values()) {
+            if (plugin.getState().getHolder(def.id()) != null) continue;
+            Location loc = def.returnLocation();
+            if (loc == null || loc.getWorld() == null) {
+                plugin.getLogger().warning("Cannot place egg '" + def.id() + "': return location is not set or world missing");
+                continue;
+            }
+            plugin.getSchedulers().region(loc, () -> loc.getWorld().getBlockAt(loc).setType(EGG_MATERIAL, false));
+            plugin.logDebug("Placed " + def.displayName() + " block at home: " + loc);
+        }
+    }
+
+    public enum EggEventReason {
+        PICKUP(EggCause.PICKUP),
+        TRANSFER_ON_DEATH(EggCause.KILL),
+        ADMIN(EggCause.ADMIN),
+        UNKNOWN(EggCause.OTHER);
+
+        private final EggCause cause;
+
+        EggEventReason(EggCause cause) {
+            this.cause = cause;
+        }
+
+        public EggCause cause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces "fix this player's eggs" requests from inventory handlers. A request only marks the player dirty;
+ * one drain per tick then reconciles every dirty player once, on that player's own thread. However many egg
+ * clicks a player sends in a tick, their inventory is normalized at most once.
+ *
+ * Egg interactions are also rate limited per player with a token bucket (anti-spam.*). Over the limit, the
+ * interaction is refused outright; refusals are counted, and logged per player every
+ * {@link #REPORT_EVERY} so macro clients show up in the console.
+ */
+public final class EggReconciler {
+
+    private static final int REPORT_EVERY = 200;
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+    private final Map<UUID, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder requested = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder reconciled = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    public EggReconciler(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+        plugin.getMetrics().counter("reconcile_requests_total", requested::sum);
+        plugin.getMetrics().counter("reconcile_coalesced_total", coalesced::sum);
+        plugin.getMetrics().counter("reconcile_runs_total", reconciled::sum);
+        plugin.getMetrics().counter("egg_interactions_suppressed_total", suppressed::sum);
+    }
+
+    /**
+     * Marks the player for reconciliation next tick. Free if they are already marked.
+     */
+    public void request(Player player) {
+        requested.increment();
+        if (!dirty.add(player.getUniqueId())) {
+            coalesced.increment();
+            return;
+        }
+        if (drainQueued.compareAndSet(false, true)) {
+            plugin.getSchedulers().globalNextTick(this::drain);
+        }
+    }
+
+    /**
+     * Takes a token for one egg interaction. False means the player is over the limit and the interaction
+     * should be refused.
+     */
+    public boolean allowInteraction(Player player) {
+        DragonGamesSettings settings = plugin.getSettings();
+        Bucket bucket = buckets.computeIfAbsent(player.getUniqueId(), k -> new Bucket(settings.eggInteractionBurst()));
+        if (bucket.tryTake(settings.eggInteractionsPerSecond(), settings.eggInteractionBurst())) return true;
+        suppressed.increment();
+        long count = bucket.suppressed.incrementAndGet();
+        if (count % REPORT_EVERY == 1) {
+            plugin.getLogger().warning(player.getName() + " is spamming egg interactions; " + count + " refused so far.");
+        }
+        return false;
+    }
+
+    public void forget(UUID player) {
+        buckets.remove(player);
+        dirty.remove(player);
+    }
+
+    public String describeStats() {
+        return "requested=" + requested.sum() + ", coalesced=" + coalesced.sum() + ", reconciled=" + reconciled.sum() +
+                ", suppressed=" + suppressed.sum() + ", dirty=" + dirty.size();
+    }
+
+    private void drain() {
+        drainQueued.set(false);
+        for (UUID uuid : dirty) {
+            dirty.remove(uuid);
+            Player p = Bukkit.getPlayer(uuid);
+            if (p == null) continue;
+            plugin.getSchedulers().entity(p, () -> {
+                reconciled.increment();
+                eggs.ensureEggInInventory(p);
+            });
+        }
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastNanos = System.nanoTime();
+        final AtomicLong suppressed = new AtomicLong();
+
+        Bucket(int burst) {
+            this.tokens = burst;
+        }
+
+        synchronized boolean tryTake(double perSecond, int burst) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastNanos) * perSecond / 1_000_000_000.0);
+            lastNanos = now;
+            if (tokens < 1.0) return false;
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
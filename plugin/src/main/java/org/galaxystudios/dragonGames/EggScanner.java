@@ -0,0 +1,518 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.ChatColor;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Container;
+import org.bukkit.block.ShulkerBox;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.ItemFrame;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.BlockStateMeta;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Finds dragon eggs that shouldn't exist: placed as blocks away from an altar, in containers (including
+ * shulker boxes inside them), in item frames or lying on the ground.
+ *
+ * Chunks are queued when they load ({@code scanner.on-chunk-load}) or by {@code /dragongames scan sweep}.
+ * Each tick at most {@code scanner.snapshots-per-tick} of them are captured on the thread that owns them: a
+ * {@link ChunkSnapshot} plus copies of container, frame and dropped item contents. The search runs on worker
+ * threads. Scanned chunks are remembered in scanned.dat, so a chunk is looked at once however often it loads
+ * (until {@code /dragongames scan reset}). Findings are logged, shown to admins and, with
+ * {@code scanner.remove}, removed on the owning thread after checking they are still there.
+ */
+public final class EggScanner implements Listener {
+
+    private static final int FILE_MAGIC = 0x44475343; // "DGSC"
+    private static final int RECENT_FINDINGS = 20;
+
+    public enum Where {
+        BLOCK("placed block"),
+        CONTAINER("container"),
+        SHULKER("shulker box in a container"),
+        ITEM_FRAME("item frame"),
+        DROPPED("dropped item");
+
+        private final String label;
+
+        Where(String label) {
+            this.label = label;
+        }
+    }
+
+    public record Finding(String world, int x, int y, int z, Where where, int amount, UUID entity) {
+
+        public String describe() {
+            return amount + " in " + where.label + " at " + world + " " + x + "," + y + "," + z;
+        }
+    }
+
+    private record ChunkRef(UUID world, int cx, int cz) {
+    }
+
+    private record Capture(ChunkRef ref, String worldName, int minY, int maxY, ChunkSnapshot snapshot, List<Stored> stored) {
+    }
+
+    // contents copied off a container, item frame or dropped item at capture time
+    private record Stored(Where where, int x, int y, int z, UUID entity, ItemStack[] items) {
+    }
+
+    private record Altar(String world, int x, int y, int z) {
+    }
+
+    private final DragonGames plugin;
+    private final File file;
+
+    private final Map<UUID, Set<Long>> scanned = new ConcurrentHashMap<>();
+    private final Set<ChunkRef> queued = ConcurrentHashMap.newKeySet();
+    private final Queue<ChunkRef> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Deque<Finding> recent = new ConcurrentLinkedDeque<>();
+    private volatile boolean dirty;
+
+    private ExecutorService workers;
+    private int maxInFlight;
+
+    private final LongAdder chunksScanned = new LongAdder();
+    private final LongAdder eggsFound = new LongAdder();
+    private final LongAdder eggsRemoved = new LongAdder();
+    private final LatencyHistogram captureTimer;
+    private final LatencyHistogram searchTimer;
+
+    public EggScanner(DragonGames plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "scanned.dat");
+        this.captureTimer = plugin.getMetrics().histogram("scanner.capture");
+        this.searchTimer = plugin.getMetrics().histogram("scanner.search");
+        plugin.getMetrics().gauge("scanner_queued_chunks", queue::size);
+        plugin.getMetrics().counter("scanner_chunks_scanned_total", chunksScanned::sum);
+        plugin.getMetrics().counter("scanner_eggs_found_total", eggsFound::sum);
+        plugin.getMetrics().counter("scanner_eggs_removed_total", eggsRemoved::sum);
+    }
+
+    public void start() {
+        DragonGamesSettings.Scanner cfg = plugin.getSettings().scanner();
+        int threads = cfg.workerThreads();
+        AtomicInteger n = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "DragonGames-Scan-" + n.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        maxInFlight = 4 * threads;
+        load();
+        plugin.getSchedulers().globalTimer(this::tick, 1L, 1L);
+    }
+
+    public void stop(long timeoutMillis) {
+        if (workers == null) return;
+        workers.shutdown();
+        try {
+            workers.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        save();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent e) {
+        if (!plugin.getSettings().scanner().onChunkLoad()) return;
+        Chunk c = e.getChunk();
+        ChunkRef ref = new ChunkRef(c.getWorld().getUID(), c.getX(), c.getZ());
+        // freshly generated terrain can't hold a duplicated egg
+        if (e.isNewChunk()) {
+            markScanned(ref);
+            return;
+        }
+        enqueue(ref);
+    }
+
+    /**
+     * Queues every loaded chunk not scanned yet. Returns how many were queued.
+     */
+    public int sweep() {
+        int added = 0;
+        for (World w : Bukkit.getWorlds()) {
+            Chunk[] loaded;
+            try {
+                loaded = w.getLoadedChunks();
+            } catch (UnsupportedOperationException e) {
+                // Folia has no global chunk list: fall back to what players have loaded around them
+                added += sweepAroundPlayers(w);
+                continue;
+            }
+            for (Chunk c : loaded) {
+                if (enqueue(new ChunkRef(w.getUID(), c.getX(), c.getZ()))) added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Forgets which chunks were scanned, so the next loads and sweeps look at everything again.
+     */
+    public void reset() {
+        scanned.clear();
+        dirty = true;
+        saveAsync();
+    }
+
+    public List<Finding> recentFindings() {
+        return new ArrayList<>(recent);
+    }
+
+    public String describeStats() {
+        long known = 0;
+        for (Set<Long> s : scanned.values()) known += s.size();
+        return "queued=" + queue.size() + ", inFlight=" + inFlight.get() + ", scanned=" + chunksScanned.sum() +
+                " (known " + known + "), found=" + eggsFound.sum() + ", removed=" + eggsRemoved.sum();
+    }
+
+    /**
+     * Writes scanned.dat on a worker thread if anything changed.
+     */
+    public void saveAsync() {
+        if (!dirty || workers == null) return;
+        try {
+            workers.execute(this::save);
+        } catch (RejectedExecutionException ignored) {
+            // shutting down; stop() saves one last time
+        }
+    }
+
+    private boolean enqueue(ChunkRef ref) {
+        if (isScanned(ref) || !queued.add(ref)) return false;
+        queue.add(ref);
+        return true;
+    }
+
+    private int sweepAroundPlayers(World w) {
+        int r = Bukkit.getViewDistance(), added = 0;
+        for (Player p : w.getPlayers()) {
+            Location l = p.getLocation();
+            int pcx = l.getBlockX() >> 4, pcz = l.getBlockZ() >> 4;
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dz = -r; dz <= r; dz++) {
+                    if (enqueue(new ChunkRef(w.getUID(), pcx + dx, pcz + dz))) added++;
+                }
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Global thread, every tick: hands out this tick's snapshot budget to the regions owning queued chunks.
+     */
+    private void tick() {
+        int budget = plugin.getSettings().scanner().snapshotsPerTick();
+        for (int i = 0; i < budget && inFlight.get() < maxInFlight; i++) {
+            ChunkRef ref = queue.poll();
+            if (ref == null) return;
+            World w = Bukkit.getWorld(ref.world());
+            if (w == null) {
+                queued.remove(ref);
+                continue;
+            }
+            inFlight.incrementAndGet();
+            Location at = new Location(w, (ref.cx() << 4) + 8, 64, (ref.cz() << 4) + 8);
+            plugin.getSchedulers().region(at, () -> capture(w, ref));
+        }
+    }
+
+    /**
+     * Owning thread: copies what the search needs, then leaves the chunk alone.
+     */
+    private void capture(World w, ChunkRef ref) {
+        long start = System.nanoTime();
+        if (!w.isChunkLoaded(ref.cx(), ref.cz())) {
+            // unloaded again before its turn; it is queued again on its next load
+            queued.remove(ref);
+            inFlight.decrementAndGet();
+            return;
+        }
+        Chunk chunk = w.getChunkAt(ref.cx(), ref.cz());
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(false, false, false);
+        List<Stored> stored = new ArrayList<>();
+        for (BlockState state : chunk.getTileEntities()) {
+            if (state instanceof Container c) {
+                stored.add(new Stored(Where.CONTAINER, state.getX(), state.getY(), state.getZ(), null,
+                        copy(c.getSnapshotInventory().getContents())));
+            }
+        }
+        for (Entity e : chunk.getEntities()) {
+            Location l = e.getLocation();
+            if (e instanceof ItemFrame f) {
+                stored.add(new Stored(Where.ITEM_FRAME, l.getBlockX(), l.getBlockY(), l.getBlockZ(), e.getUniqueId(), copy(f.getItem())));
+            } else if (e instanceof Item item) {
+                stored.add(new Stored(Where.DROPPED, l.getBlockX(), l.getBlockY(), l.getBlockZ(), e.getUniqueId(), copy(item.getItemStack())));
+            }
+        }
+        Capture capture = new Capture(ref, w.getName(), w.getMinHeight(), w.getMaxHeight(), snapshot, stored);
+        List<Altar> altars = altars();
+        captureTimer.recordSince(start);
+        try {
+            workers.execute(() -> search(capture, altars));
+        } catch (RejectedExecutionException e) {
+            queued.remove(ref);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Worker thread.
+     */
+    private void search(Capture c, List<Altar> altars) {
+        long start = System.nanoTime();
+        List<Finding> found = new ArrayList<>();
+        try {
+            ChunkSnapshot snap = c.snapshot();
+            if (snap.contains(EggManager.EGG_MATERIAL.createBlockData())) {
+                int bx = c.ref().cx() << 4, bz = c.ref().cz() << 4;
+                int sections = (c.maxY() - c.minY()) >> 4;
+                for (int s = 0; s < sections; s++) {
+                    if (snap.isSectionEmpty(s)) continue;
+                    int y0 = c.minY() + (s << 4);
+                    for (int y = y0; y < y0 + 16; y++) {
+                        for (int x = 0; x < 16; x++) {
+                            for (int z = 0; z < 16; z++) {
+                                if (snap.getBlockType(x, y, z) != EggManager.EGG_MATERIAL) continue;
+                                if (altars.contains(new Altar(c.worldName(), bx + x, y, bz + z))) continue;
+                                found.add(new Finding(c.worldName(), bx + x, y, bz + z, Where.BLOCK, 1, null));
+                            }
+                        }
+                    }
+                }
+            }
+            for (Stored s : c.stored()) {
+                int direct = 0, nested = 0;
+                for (ItemStack it : s.items()) {
+                    if (it == null) continue;
+                    if (it.getType() == EggManager.EGG_MATERIAL) {
+                        direct += it.getAmount();
+                    } else if (s.where() == Where.CONTAINER) {
+                        nested += eggsInShulker(it);
+                    }
+                }
+                if (direct > 0) found.add(new Finding(c.worldName(), s.x(), s.y(), s.z(), s.where(), direct, s.entity()));
+                if (nested > 0) found.add(new Finding(c.worldName(), s.x(), s.y(), s.z(), Where.SHULKER, nested, null));
+            }
+        } finally {
+            markScanned(c.ref());
+            queued.remove(c.ref());
+            inFlight.decrementAndGet();
+            chunksScanned.increment();
+            searchTimer.recordSince(start);
+        }
+        if (!found.isEmpty()) report(found);
+    }
+
+    private void report(List<Finding> found) {
+        boolean remove = plugin.getSettings().scanner().remove();
+        for (Finding f : found) {
+            eggsFound.add(f.amount());
+            recent.addFirst(f);
+            while (recent.size() > RECENT_FINDINGS) recent.pollLast();
+            String msg = "Rogue dragon egg: " + f.describe() + (remove ? " (removing)" : "");
+            plugin.getLogger().warning(msg);
+            plugin.getSchedulers().global(() -> {
+                for (Player p : Bukkit.getOnlinePlayers()) {
+                    if (p.hasPermission("dragongames.admin")) {
+                        p.sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + msg);
+                    }
+                }
+            });
+            if (remove) {
+                World w = Bukkit.getWorld(f.world());
+                if (w != null) plugin.getSchedulers().region(new Location(w, f.x(), f.y(), f.z()), () -> remove(w, f));
+            }
+        }
+    }
+
+    /**
+     * Owning thread: removes a finding if it is still where it was found.
+     */
+    private void remove(World w, Finding f) {
+        int removed = 0;
+        switch (f.where()) {
+            case BLOCK -> {
+                Block b = w.getBlockAt(f.x(), f.y(), f.z());
+                if (b.getType() == EggManager.EGG_MATERIAL) {
+                    b.setType(Material.AIR, false);
+                    removed = 1;
+                }
+            }
+            case CONTAINER, SHULKER -> {
+                if (w.getBlockAt(f.x(), f.y(), f.z()).getState() instanceof Container c) {
+                    removed = strip(c.getInventory());
+                }
+            }
+            case ITEM_FRAME -> {
+                if (Bukkit.getEntity(f.entity()) instanceof ItemFrame frame && frame.getItem() != null &&
+                        frame.getItem().getType() == EggManager.EGG_MATERIAL) {
+                    removed = frame.getItem().getAmount();
+                    frame.setItem(null);
+                }
+            }
+            case DROPPED -> {
+                if (Bukkit.getEntity(f.entity()) instanceof Item item && item.getItemStack().getType() == EggManager.EGG_MATERIAL) {
+                    removed = item.getItemStack().getAmount();
+                    item.remove();
+                }
+            }
+        }
+        if (removed > 0) {
+            eggsRemoved.add(removed);
+            plugin.getLogger().info("Removed " + removed + " rogue dragon egg(s) at " + f.world() + " " + f.x() + "," + f.y() + "," + f.z() + ".");
+        }
+    }
+
+    /**
+     * Removes eggs from a live inventory, including from shulker boxes in it. Returns how many.
+     */
+    private static int strip(Inventory inv) {
+        int removed = 0;
+        for (int i = 0; i < inv.getSize(); i++) {
+            ItemStack it = inv.getItem(i);
+            if (it == null) continue;
+            if (it.getType() == EggManager.EGG_MATERIAL) {
+                removed += it.getAmount();
+                inv.setItem(i, null);
+            } else if (it.getItemMeta() instanceof BlockStateMeta meta && meta.hasBlockState() &&
+                    meta.getBlockState() instanceof ShulkerBox box) {
+                int n = strip(box.getInventory());
+                if (n > 0) {
+                    meta.setBlockState(box);
+                    it.setItemMeta(meta);
+                    inv.setItem(i, it);
+                    removed += n;
+                }
+            }
+        }
+        return removed;
+    }
+
+    private static int eggsInShulker(ItemStack it) {
+        if (!(it.getItemMeta() instanceof BlockStateMeta meta) || !meta.hasBlockState() ||
+                !(meta.getBlockState() instanceof ShulkerBox box)) return 0;
+        int n = 0;
+        for (ItemStack inner : box.getInventory().getContents()) {
+            if (inner != null && inner.getType() == EggManager.EGG_MATERIAL) n += inner.getAmount();
+        }
+        return n;
+    }
+
+    private static ItemStack[] copy(ItemStack... items) {
+        ItemStack[] out = new ItemStack[items.length];
+        for (int i = 0; i < items.length; i++) out[i] = items[i] == null ? null : items[i].clone();
+        return out;
+    }
+
+    private List<Altar> altars() {
+        List<Altar> out = new ArrayList<>();
+        for (EggDefinition def : plugin.getEggDefinitions().values()) {
+            out.add(new Altar(def.worldName(), (int) Math.floor(def.x()), (int) Math.floor(def.y()), (int) Math.floor(def.z())));
+        }
+        return out;
+    }
+
+    private boolean isScanned(ChunkRef ref) {
+        Set<Long> s = scanned.get(ref.world());
+        return s != null && s.contains(key(ref.cx(), ref.cz()));
+    }
+
+    private void markScanned(ChunkRef ref) {
+        if (scanned.computeIfAbsent(ref.world(), k -> ConcurrentHashMap.newKeySet()).add(key(ref.cx(), ref.cz()))) {
+            dirty = true;
+        }
+    }
+
+    private void load() {
+        if (!file.exists()) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException("not a scanned-chunks file");
+            int worlds = in.readInt();
+            for (int i = 0; i < worlds; i++) {
+                UUID world = new UUID(in.readLong(), in.readLong());
+                int count = in.readInt();
+                Set<Long> set = ConcurrentHashMap.newKeySet(count);
+                for (int j = 0; j < count; j++) set.add(in.readLong());
+                scanned.put(world, set);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not read scanned.dat; chunks will be scanned again: " + e.getMessage());
+            scanned.clear();
+        }
+    }
+
+    private synchronized void save() {
+        if (!dirty) return;
+        dirty = false;
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParentFile().toPath());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+                Map<UUID, List<Long>> snapshot = new HashMap<>();
+                for (Map.Entry<UUID, Set<Long>> e : scanned.entrySet()) snapshot.put(e.getKey(), new ArrayList<>(e.getValue()));
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<UUID, List<Long>> e : snapshot.entrySet()) {
+                    out.writeLong(e.getKey().getMostSignificantBits());
+                    out.writeLong(e.getKey().getLeastSignificantBits());
+                    out.writeInt(e.getValue().size());
+                    for (long k : e.getValue()) out.writeLong(k);
+                }
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().warning("Could not write scanned.dat: " + e.getMessage());
+        }
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,57 @@
+package org.galaxystudios.dragonGames;
+
+import java.util.UUID;
+
+/**
+ * Persistent per-egg state: who holds it and their weekly accounting. Mutated only through {@link PluginState}.
+ */
+public final class EggState {
+
+    private final String id;
+
+    // read from any thread, written on the global region thread
+    volatile UUID holder;
+
+    // Weekly accounting
+    long weekStartEpochSeconds;
+    long holderWeeklyPlaySeconds;
+    long holderLastSeenEpochSeconds;
+    // when the current holder got the egg; 0 if unknown (state from before it was recorded)
+    long holderSinceEpochSeconds;
+
+    // Start of the holder's current online session, 0 while offline. Not persisted: save() folds it first.
+    long sessionStartEpochSeconds;
+
+    EggState(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public UUID getHolder() {
+        return holder;
+    }
+
+    public long getWeekStartEpochSeconds() {
+        return weekStartEpochSeconds;
+    }
+
+    public long getHolderWeeklyPlaySeconds() {
+        return holderWeeklyPlaySeconds;
+    }
+
+    public long getHolderLastSeenEpochSeconds() {
+        return holderLastSeenEpochSeconds;
+    }
+
+    public long getHolderSinceEpochSeconds() {
+        return holderSinceEpochSeconds;
+    }
+
+    StateSnapshot.Egg snapshot() {
+        return new StateSnapshot.Egg(id, holder, weekStartEpochSeconds, holderWeeklyPlaySeconds, holderLastSeenEpochSeconds,
+                holderSinceEpochSeconds);
+    }
+}
@@ -0,0 +1,46 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerPickupItemEvent;
+
+/**
+ * Handlers that only matter while Dragon Games are running: capturing eggs from altars and the ground.
+ */
+public final class GameListener implements Listener {
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+
+    public GameListener(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInteract(PlayerInteractEvent e) {
+        if (e.getClickedBlock() == null) return;
+        if (e.getClickedBlock().getType() != EggManager.EGG_MATERIAL) return;
+        if (!(e.getPlayer() instanceof Player p)) return;
+
+        e.setCancelled(true);
+        eggs.captureEggBlock(p, e.getClickedBlock());
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onPickup(PlayerPickupItemEvent e) {
+        String egg = eggs.eggIdOf(e.getItem().getItemStack());
+        if (egg == null) return;
+
+        e.setCancelled(true); // prevent vanilla pickup flow/teleport issues
+        Player p = e.getPlayer();
+        String held = eggs.getEggHeldBy(p.getUniqueId());
+        if (held != null && !held.equals(egg)) return; // one egg per player; leave it on the ground
+        plugin.getSchedulers().entityNextTick(e.getItem(), e.getItem()::remove);
+        plugin.getSchedulers().globalNextTick(() -> eggs.setHolder(p, egg, EggManager.EggEventReason.PICKUP,
+                p.getName() + " captured the " + eggs.displayName(egg) + "!"));
+    }
+}
@@ -0,0 +1,143 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.galaxystudios.dragonGames.api.EggCause;
+
+/**
+ * Handlers that only matter while at least one egg holder is online: keeping the egg in their inventory,
+ * transferring it on death and the PvP override. Egg clicks by everyone else are refused by
+ * {@link DragonEggListener}, which is always registered.
+ */
+public final class HolderListener implements Listener {
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+
+    public HolderListener(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onDrop(PlayerDropItemEvent e) {
+        ItemStack stack = e.getItemDrop().getItemStack();
+        if (stack.getType() != EggManager.EGG_MATERIAL) return;
+
+        if (eggs.isHolder(e.getPlayer().getUniqueId())) {
+            e.setCancelled(true);
+            if (plugin.getReconciler().allowInteraction(e.getPlayer())) {
+                e.getPlayer().sendMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE + "You can't drop the Dragon Egg.");
+            }
+            plugin.getReconciler().request(e.getPlayer());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent e) {
+        if (!(e.getWhoClicked() instanceof Player p)) return;
+        ItemStack current = e.getCurrentItem();
+        ItemStack cursor = e.getCursor();
+
+        boolean involvesEgg = (current != null && current.getType() == EggManager.EGG_MATERIAL) ||
+                (cursor != null && cursor.getType() == EggManager.EGG_MATERIAL);
+
+        // non-holders were already cancelled by DragonEggListener
+        if (!involvesEgg || !eggs.isHolder(p.getUniqueId())) return;
+
+        Inventory clicked = e.getClickedInventory();
+        PlayerInventory pinv = p.getInventory();
+
+        // Block moving the egg to any non-player inventory (chests, anvils, etc.)
+        if (clicked != null && clicked != pinv) {
+            e.setCancelled(true);
+            plugin.getReconciler().request(p);
+            return;
+        }
+
+        // Allow rearranging inside the player's own inventory/offhand
+        // but disallow dropping/taking out via hotbar swap/number keys to container
+        if (e.getAction().name().contains("DROP")) {
+            e.setCancelled(true);
+            plugin.getReconciler().request(p);
+            return;
+        }
+
+        // If the click targets outside slots (e.g. creative drop), cancel
+        if (clicked == null) {
+            e.setCancelled(true);
+            plugin.getReconciler().request(p);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onInventoryDrag(InventoryDragEvent e) {
+        if (!(e.getWhoClicked() instanceof Player p)) return;
+        ItemStack cursor = e.getOldCursor();
+        if (cursor == null || cursor.getType() != EggManager.EGG_MATERIAL) return;
+        // non-holders were already cancelled by DragonEggListener; the holder only drags within their inventory
+        if (!eggs.isHolder(p.getUniqueId())) return;
+
+        // If any target slot is outside player inventory, block
+        for (int rawSlot : e.getRawSlots()) {
+            if (rawSlot >= p.getInventory().getSize() + 5) { // includes crafting grid + armor/offhand margin
+                e.setCancelled(true);
+                plugin.getReconciler().request(p);
+                return;
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onSwapHands(PlayerSwapHandItemsEvent e) {
+        eggs.swapHandsEggSlot(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onDeath(PlayerDeathEvent e) {
+        Player dead = e.getEntity();
+        String egg = eggs.getEggHeldBy(dead.getUniqueId());
+        if (egg == null) return;
+
+        e.getDrops().removeIf(i -> i != null && i.getType() == EggManager.EGG_MATERIAL);
+        plugin.getSchedulers().global(() -> plugin.getStats().recordEggDeath(dead.getUniqueId(), dead.getName()));
+
+        String name = eggs.displayName(egg);
+        Player killer = dead.getKiller();
+        if (killer != null) {
+            plugin.getSchedulers().globalNextTick(() -> eggs.setHolder(killer, egg, EggManager.EggEventReason.TRANSFER_ON_DEATH,
+                    killer.getName() + " claimed the " + name + " by killing " + dead.getName() + "!"));
+        } else {
+            plugin.getSchedulers().globalNextTick(() -> eggs.returnEggToReturnLocation(egg, EggCause.DEATH,
+                    dead.getName() + " died, and the " + name + " returned to the altar!",
+                    "The " + name + " returned to home because " + dead.getName() + " died."));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onDamage(EntityDamageByEntityEvent e) {
+        if (!plugin.isPvpOverrideEnabled()) return;
+
+        Entity victim = e.getEntity();
+        if (!(victim instanceof Player vp)) return;
+
+        if (!eggs.isHolder(vp.getUniqueId())) return;
+
+        if (e.isCancelled()) {
+            e.setCancelled(false);
+        }
+    }
+}
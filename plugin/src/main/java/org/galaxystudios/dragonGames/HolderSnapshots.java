@@ -0,0 +1,118 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.galaxystudios.dragonGames.api.DragonGamesApi;
+import org.galaxystudios.dragonGames.api.HolderSnapshot;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The {@link DragonGamesApi} registered for other plugins: one immutable {@link HolderSnapshot} per egg behind
+ * a volatile reference. Readers on any thread just read the reference; writers build a new map and swap it
+ * in, under a lock so a location update from a holder's thread can't undo a holder change.
+ */
+public final class HolderSnapshots implements DragonGamesApi {
+
+    private final DragonGames plugin;
+    private final Object writeLock = new Object();
+
+    private volatile Map<String, HolderSnapshot> snapshots = Map.of();
+    private volatile boolean gameEnabled;
+    private Runnable onRefresh = () -> { };
+
+    public HolderSnapshots(DragonGames plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public HolderSnapshot getSnapshot(String egg) {
+        return egg == null ? null : snapshots.get(egg);
+    }
+
+    @Override
+    public Map<String, HolderSnapshot> getSnapshots() {
+        return snapshots;
+    }
+
+    @Override
+    public HolderSnapshot getEggHeldBy(UUID player) {
+        if (player == null) return null;
+        for (HolderSnapshot s : snapshots.values()) {
+            if (player.equals(s.holder())) return s;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean isGameEnabled() {
+        return gameEnabled;
+    }
+
+    /**
+     * Global thread: runs after every {@link #refresh()}.
+     */
+    public void setOnRefresh(Runnable onRefresh) {
+        this.onRefresh = onRefresh;
+    }
+
+    /**
+     * Global thread: re-reads holders and weekly playtime from the state. A holder's last location is kept
+     * until the holder changes.
+     */
+    public void refresh() {
+        synchronized (writeLock) {
+            Map<String, HolderSnapshot> prev = snapshots;
+            Map<String, HolderSnapshot> next = new LinkedHashMap<>();
+            long now = System.currentTimeMillis();
+            for (EggDefinition def : plugin.getEggDefinitions().values()) {
+                EggState e = plugin.getState().getEgg(def.id());
+                UUID holder = e == null ? null : e.getHolder();
+                HolderSnapshot old = prev.get(def.id());
+                if (holder == null) {
+                    next.put(def.id(), new HolderSnapshot(def.id(), def.displayName(), null, null, 0L, 0L, null, 0, 0, 0, now));
+                    continue;
+                }
+                boolean same = old != null && holder.equals(old.holder());
+                next.put(def.id(), new HolderSnapshot(def.id(), def.displayName(), holder,
+                        nameOf(holder, same ? old.holderName() : null),
+                        e.getHolderSinceEpochSeconds(),
+                        plugin.getState().getHolderWeeklyPlaySeconds(def.id()),
+                        same ? old.world() : null, same ? old.x() : 0, same ? old.y() : 0, same ? old.z() : 0, now));
+            }
+            snapshots = Collections.unmodifiableMap(next);
+            gameEnabled = plugin.isGameEnabled();
+        }
+        onRefresh.run();
+    }
+
+    /**
+     * The holder's thread: records where the holder of {@code egg} is now.
+     */
+    public void located(String egg, Player holder) {
+        Location loc = holder.getLocation();
+        if (loc.getWorld() == null) return;
+        synchronized (writeLock) {
+            HolderSnapshot s = snapshots.get(egg);
+            if (s == null || !holder.getUniqueId().equals(s.holder())) return;
+            Map<String, HolderSnapshot> next = new LinkedHashMap<>(snapshots);
+            next.put(egg, new HolderSnapshot(s.egg(), s.eggDisplayName(), s.holder(), holder.getName(),
+                    s.sinceEpochSeconds(), s.weeklyPlaySeconds(), loc.getWorld().getName(),
+                    loc.getX(), loc.getY(), loc.getZ(), System.currentTimeMillis()));
+            snapshots = Collections.unmodifiableMap(next);
+        }
+    }
+
+    private static String nameOf(UUID holder, String known) {
+        Player online = Bukkit.getPlayer(holder);
+        if (online != null) return online.getName();
+        if (known != null) return known;
+        OfflinePlayer offline = Bukkit.getOfflinePlayer(holder);
+        return offline.getName();
+    }
+}
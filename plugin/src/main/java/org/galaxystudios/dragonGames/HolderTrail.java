@@ -0,0 +1,307 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where one egg has been: a fixed-size ring of sampled positions in primitive arrays, so memory is the same
+ * after an hour or a month of uptime. Once full, the oldest sample is overwritten.
+ *
+ * Simplification is incremental. New samples stay raw until {@link #CHUNK} of them have piled up; that chunk
+ * is then run through Douglas–Peucker once, anchored at the last kept point, and its verdict stored in
+ * {@code keep}. Older points are never looked at again, so the cost of a sample does not grow with history
+ * and the rendered polyline only changes at its tail (and its head, as old points expire).
+ *
+ * Samples come from whichever thread owns the current holder, so every method is synchronized.
+ */
+final class HolderTrail {
+
+    static final int CHUNK = 32;
+
+    // persisted coordinates are rounded to this fraction of a block
+    private static final double QUANTUM = 0.25;
+    // without new samples, re-render this often so old points expire from the map
+    private static final long EXPIRE_EVERY_SECONDS = 60L;
+
+    private final int capacity;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final long[] times;
+    private final int[] worlds;
+    private final boolean[] keep;
+    private final List<String> worldNames = new ArrayList<>();
+
+    private int head; // ring index of the oldest sample
+    private int size;
+    private int unsimplified; // samples after the point the last Douglas–Peucker pass ended on
+    private long renderedAtEpochSeconds;
+
+    HolderTrail(int capacity) {
+        this.capacity = Math.max(2, capacity);
+        this.xs = new double[this.capacity];
+        this.ys = new double[this.capacity];
+        this.zs = new double[this.capacity];
+        this.times = new long[this.capacity];
+        this.worlds = new int[this.capacity];
+        this.keep = new boolean[this.capacity];
+    }
+
+    /**
+     * Appends a sample unless it is within {@code minDistance} blocks of the previous one in the same world.
+     * Returns whether it was appended.
+     */
+    synchronized boolean add(String world, double x, double y, double z, long epochSeconds, double minDistance, double epsilon) {
+        int w = worldIndex(world);
+        if (size > 0) {
+            int last = ring(size - 1);
+            double dx = x - xs[last], dy = y - ys[last], dz = z - zs[last];
+            if (worlds[last] == w && dx * dx + dy * dy + dz * dz < minDistance * minDistance) return false;
+        }
+        int slot;
+        if (size == capacity) {
+            slot = head;
+            head = (head + 1) % capacity;
+            if (unsimplified >= size) unsimplified = size - 1;
+        } else {
+            slot = ring(size);
+            size++;
+        }
+        xs[slot] = x;
+        ys[slot] = y;
+        zs[slot] = z;
+        times[slot] = epochSeconds;
+        worlds[slot] = w;
+        keep[slot] = true;
+        unsimplified++;
+        if (unsimplified >= CHUNK) simplifyPending(epsilon);
+        return true;
+    }
+
+    synchronized void clear() {
+        head = 0;
+        size = 0;
+        unsimplified = 0;
+        worldNames.clear();
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * The polyline to draw: kept points plus the raw tail, newer than {@code sinceEpochSeconds} and in the
+     * world of the newest sample. Null if fewer than two points qualify.
+     */
+    synchronized Polyline render(long sinceEpochSeconds) {
+        renderedAtEpochSeconds = System.currentTimeMillis() / 1000L;
+        if (size < 2) return null;
+        int world = worlds[ring(size - 1)];
+        int n = 0;
+        double[] px = new double[size], py = new double[size], pz = new double[size];
+        for (int i = 0; i < size; i++) {
+            int r = ring(i);
+            if (!keep[r] || worlds[r] != world || times[r] < sinceEpochSeconds) continue;
+            px[n] = xs[r];
+            py[n] = ys[r];
+            pz[n] = zs[r];
+            n++;
+        }
+        if (n < 2) return null;
+        return new Polyline(worldNames.get(world), trim(px, n), trim(py, n), trim(pz, n));
+    }
+
+    /**
+     * Whether the last render is old enough that points may have expired since.
+     */
+    synchronized boolean renderDue(long nowEpochSeconds) {
+        return size > 0 && nowEpochSeconds - renderedAtEpochSeconds >= EXPIRE_EVERY_SECONDS;
+    }
+
+    /**
+     * Runs Douglas–Peucker over the samples since the last pass, anchored at the point that pass ended on.
+     * Endpoints are always kept, so the newest sample becomes the next pass's anchor.
+     */
+    private void simplifyPending(double epsilon) {
+        int from = Math.max(0, size - unsimplified - 1);
+        int to = size - 1;
+        // split at world changes: both sides of a portal are always kept
+        int runStart = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (worlds[ring(i)] != worlds[ring(i - 1)]) {
+                douglasPeucker(runStart, i - 1, epsilon);
+                runStart = i;
+            }
+        }
+        douglasPeucker(runStart, to, epsilon);
+        unsimplified = 0;
+    }
+
+    /**
+     * Clears {@code keep} on every sample between {@code first} and {@code last} (logical indexes) that lies
+     * within {@code epsilon} blocks of the simplified line, measured in the map plane (x/z). Iterative, so a
+     * long straight run can't overflow the stack.
+     */
+    private void douglasPeucker(int first, int last, double epsilon) {
+        if (last - first < 2) return;
+        for (int i = first + 1; i < last; i++) keep[ring(i)] = false;
+        int[] stack = new int[2 * (last - first + 1)];
+        int sp = 0;
+        stack[sp++] = first;
+        stack[sp++] = last;
+        while (sp > 0) {
+            int b = stack[--sp];
+            int a = stack[--sp];
+            int ra = ring(a), rb = ring(b);
+            double ax = xs[ra], az = zs[ra];
+            double dx = xs[rb] - ax, dz = zs[rb] - az;
+            double len2 = dx * dx + dz * dz;
+            double worst = -1;
+            int worstAt = -1;
+            for (int i = a + 1; i < b; i++) {
+                int r = ring(i);
+                double d2 = segmentDistanceSquared(xs[r] - ax, zs[r] - az, dx, dz, len2);
+                if (d2 > worst) {
+                    worst = d2;
+                    worstAt = i;
+                }
+            }
+            if (worstAt < 0 || worst <= epsilon * epsilon) continue;
+            keep[ring(worstAt)] = true;
+            stack[sp++] = a;
+            stack[sp++] = worstAt;
+            stack[sp++] = worstAt;
+            stack[sp++] = b;
+        }
+    }
+
+    private static double segmentDistanceSquared(double px, double pz, double dx, double dz, double len2) {
+        double t = len2 == 0 ? 0 : Math.max(0, Math.min(1, (px * dx + pz * dz) / len2));
+        double ex = px - t * dx, ez = pz - t * dz;
+        return ex * ex + ez * ez;
+    }
+
+    /**
+     * Delta encoding: world names, then per sample the world index and keep flag, and zigzag varint deltas of
+     * the time (seconds) and of the coordinates (in {@link #QUANTUM} blocks) from the previous sample. A
+     * walking holder costs about five bytes a sample.
+     */
+    synchronized void write(DataOutput out) throws IOException {
+        out.writeInt(worldNames.size());
+        for (String name : worldNames) out.writeUTF(name);
+        out.writeInt(size);
+        out.writeInt(unsimplified);
+        long pt = 0, px = 0, py = 0, pz = 0;
+        for (int i = 0; i < size; i++) {
+            int r = ring(i);
+            long t = times[r], x = quantize(xs[r]), y = quantize(ys[r]), z = quantize(zs[r]);
+            writeVarLong(out, ((long) worlds[r] << 1) | (keep[r] ? 1 : 0));
+            writeVarLong(out, zigzag(t - pt));
+            writeVarLong(out, zigzag(x - px));
+            writeVarLong(out, zigzag(y - py));
+            writeVarLong(out, zigzag(z - pz));
+            pt = t;
+            px = x;
+            py = y;
+            pz = z;
+        }
+    }
+
+    /**
+     * Replaces the contents with a trail written by {@link #write}. If it holds more samples than this trail's
+     * capacity (the capacity was lowered), the oldest are dropped.
+     */
+    synchronized void read(DataInput in) throws IOException {
+        clear();
+        int names = in.readInt();
+        for (int i = 0; i < names; i++) worldNames.add(in.readUTF());
+        int count = in.readInt();
+        int pending = in.readInt();
+        int skip = Math.max(0, count - capacity);
+        long pt = 0, px = 0, py = 0, pz = 0;
+        for (int i = 0; i < count; i++) {
+            long flags = readVarLong(in);
+            pt += unzigzag(readVarLong(in));
+            px += unzigzag(readVarLong(in));
+            py += unzigzag(readVarLong(in));
+            pz += unzigzag(readVarLong(in));
+            if (i < skip) continue;
+            int w = (int) (flags >>> 1);
+            if (w >= worldNames.size()) throw new IOException("bad world index " + w);
+            int r = ring(size++);
+            xs[r] = px * QUANTUM;
+            ys[r] = py * QUANTUM;
+            zs[r] = pz * QUANTUM;
+            times[r] = pt;
+            worlds[r] = w;
+            keep[r] = (flags & 1) != 0;
+        }
+        unsimplified = Math.min(size, Math.max(0, pending));
+    }
+
+    private int worldIndex(String world) {
+        int i = worldNames.indexOf(world);
+        if (i >= 0) return i;
+        if (size == 0) worldNames.clear();
+        worldNames.add(world);
+        return worldNames.size() - 1;
+    }
+
+    private int ring(int logical) {
+        return (head + logical) % capacity;
+    }
+
+    private static double[] trim(double[] a, int n) {
+        if (a.length == n) return a;
+        double[] out = new double[n];
+        System.arraycopy(a, 0, out, 0, n);
+        return out;
+    }
+
+    private static long quantize(double v) {
+        return Math.round(v / QUANTUM);
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static void writeVarLong(DataOutput out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("varint too long");
+    }
+
+    /**
+     * Corner arrays for a Dynmap polyline. Treated as immutable once built.
+     */
+    record Polyline(String world, double[] x, double[] y, double[] z) {
+
+        int size() {
+            return x.length;
+        }
+
+        boolean sameCorner(int i, Polyline o, int j) {
+            return x[i] == o.x[j] && y[i] == o.y[j] && z[i] == o.z[j];
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package org.galaxystudios.dragonGames;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Points hunters at the nearest egg holder: compass target, distance and direction on the action bar, and a
+ * boss bar that fills as they close in.
+ *
+ * Each run starts from the holders, not from the online players: a holder looks up the players in the chunks
+ * within hunter-hud.interest-radius in a {@link PlayerGrid}, which this listener keeps current on chunk
+ * crossings. Players nearby are updated every run, further out every second and then every fourth run. A
+ * hunter is only sent a compass, action bar or boss bar change when what they would see differs; the action
+ * bar is also repeated before the client fades it. Hunters who drop out of range have their HUD cleared.
+ *
+ * Registered by {@link ListenerGroups} only while a holder is online and the HUD is enabled.
+ */
+public final class HunterHud implements Listener {
+
+    public static final String PERMISSION = "dragongames.hunt";
+
+    // the client fades the action bar after about 3 seconds
+    private static final long ACTION_BAR_REFRESH_TICKS = 40L;
+    // farthest tier is updated every 4th run; a hunter unseen for longer than this is out of range
+    private static final long STALE_RUNS = 8L;
+    private static final int COMPASS_GRID = 4;
+    private static final String[] DIRECTIONS = {"N", "NE", "E", "SE", "S", "SW", "W", "NW"};
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+    private final PlayerGrid grid = new PlayerGrid();
+    private final Map<UUID, View> views = new ConcurrentHashMap<>();
+
+    private volatile boolean active;
+    // global thread only
+    private long run;
+    private ScheduledTask task;
+    private long period;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LatencyHistogram scanTimer;
+
+    /**
+     * What one hunter is currently shown. Touched only on that hunter's thread, except lastSeenRun.
+     */
+    private static final class View {
+        String egg;
+        double distance;
+        volatile long lastSeenRun;
+        int compassX = Integer.MIN_VALUE, compassZ = Integer.MIN_VALUE;
+        String actionBar;
+        long actionBarTick;
+        BossBar bar;
+        String barTitle;
+        float barProgress = -1f;
+    }
+
+    public HunterHud(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+        this.scanTimer = plugin.getMetrics().histogram("tick.hud");
+        plugin.getMetrics().gauge("hud_indexed_players", grid::players);
+        plugin.getMetrics().gauge("hud_index_chunks", grid::occupiedChunks);
+        plugin.getMetrics().gauge("hud_hunters", views::size);
+        plugin.getMetrics().counter("hud_packets_sent_total", sent::sum);
+        plugin.getMetrics().counter("hud_packets_skipped_total", skipped::sum);
+    }
+
+    public void start() {
+        reschedule();
+    }
+
+    /**
+     * Global thread: restarts the timer if hunter-hud.update-ticks changed.
+     */
+    public void reschedule() {
+        long next = plugin.getSettings().hud().updateTicks();
+        if (task != null && next == period) return;
+        if (task != null) task.cancel();
+        period = next;
+        task = plugin.getSchedulers().globalTimer(this::tick, 1L, next);
+    }
+
+    /**
+     * Called by {@link ListenerGroups} right after registering: files everyone already online.
+     */
+    public void activate() {
+        active = true;
+        for (Player p : Bukkit.getOnlinePlayers()) {
+            plugin.getSchedulers().entity(p, () -> grid.update(p, p.getLocation()));
+        }
+    }
+
+    /**
+     * Called by {@link ListenerGroups} after unregistering: forgets the index and clears every HUD.
+     */
+    public void deactivate() {
+        active = false;
+        grid.clear();
+        for (UUID uuid : views.keySet()) {
+            Player p = Bukkit.getPlayer(uuid);
+            if (p == null) {
+                views.remove(uuid);
+            } else {
+                plugin.getSchedulers().entity(p, () -> clear(p, Long.MAX_VALUE));
+            }
+        }
+    }
+
+    public String describeStats() {
+        return "active=" + active + ", indexed=" + grid.players() + ", chunks=" + grid.occupiedChunks() +
+                ", hunters=" + views.size() + ", sent=" + sent.sum() + ", skipped=" + skipped.sum();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent e) {
+        Location from = e.getFrom(), to = e.getTo();
+        if (to == null) return;
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4) &&
+                from.getWorld() == to.getWorld()) return;
+        grid.update(e.getPlayer(), to);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent e) {
+        if (e.getTo() != null) grid.update(e.getPlayer(), e.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent e) {
+        grid.update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        grid.update(e.getPlayer(), e.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        grid.remove(e.getPlayer());
+        views.remove(e.getPlayer().getUniqueId());
+    }
+
+    private void tick() {
+        if (!active) return;
+        long now = ++run;
+        DragonGamesSettings.Hud cfg = plugin.getSettings().hud();
+        for (EggState egg : plugin.getState().getEggs()) {
+            UUID holder = egg.getHolder();
+            if (holder == null) continue;
+            Player hp = Bukkit.getPlayer(holder);
+            if (hp == null) continue;
+            String id = egg.getId();
+            plugin.getSchedulers().entity(hp, () -> scan(id, hp, now, cfg));
+        }
+        if (now % STALE_RUNS == 0) sweep(now);
+    }
+
+    /**
+     * Holder's thread: finds the hunters around them and hands each one due this run to its own thread.
+     */
+    private void scan(String egg, Player holder, long now, DragonGamesSettings.Hud cfg) {
+        long start = System.nanoTime();
+        Location target = holder.getLocation();
+        World w = target.getWorld();
+        if (w == null) return;
+        String holderName = holder.getName();
+        double radius = cfg.interestRadius();
+        // one chunk of slack: the grid measures chunk centres, show() the exact distance
+        grid.forEachNear(w, target.getBlockX(), target.getBlockZ(), radius + 16, (hunter, approx) -> {
+            if (hunter == holder || eggs.isHolder(hunter.getUniqueId())) return;
+            int every = approx <= radius / 4 ? 1 : approx <= radius / 2 ? 2 : 4;
+            if ((now + (hunter.getUniqueId().hashCode() & 3)) % every != 0) return;
+            plugin.getSchedulers().entity(hunter, () -> show(hunter, egg, holderName, target, now, cfg));
+        });
+        scanTimer.recordSince(start);
+    }
+
+    /**
+     * Hunter's thread: refreshes their HUD toward {@code target}, sending only what changed.
+     */
+    private void show(Player hunter, String egg, String holderName, Location target, long now, DragonGamesSettings.Hud cfg) {
+        if (!hunter.hasPermission(PERMISSION)) return;
+        Location here = hunter.getLocation();
+        if (here.getWorld() != target.getWorld()) return;
+        double distance = here.distance(target);
+        if (distance > cfg.interestRadius()) return;
+
+        View v = views.computeIfAbsent(hunter.getUniqueId(), k -> new View());
+        // with several eggs around, stay on the nearest one until it goes stale
+        if (v.egg != null && !v.egg.equals(egg) && now - v.lastSeenRun < STALE_RUNS && distance >= v.distance) return;
+        if (v.egg != null && !v.egg.equals(egg)) v.barTitle = null;
+        v.egg = egg;
+        v.distance = distance;
+        v.lastSeenRun = now;
+
+        if (cfg.compass()) {
+            int qx = Math.floorDiv(target.getBlockX(), COMPASS_GRID) * COMPASS_GRID;
+            int qz = Math.floorDiv(target.getBlockZ(), COMPASS_GRID) * COMPASS_GRID;
+            if (qx != v.compassX || qz != v.compassZ) {
+                v.compassX = qx;
+                v.compassZ = qz;
+                hunter.setCompassTarget(new Location(target.getWorld(), qx, target.getBlockY(), qz));
+                sent.increment();
+            } else {
+                skipped.increment();
+            }
+        }
+
+        if (cfg.actionBar()) {
+            String text = roundDistance(distance) + "m " + direction(here, target);
+            long tick = Bukkit.getCurrentTick();
+            if (!text.equals(v.actionBar) || tick - v.actionBarTick >= ACTION_BAR_REFRESH_TICKS) {
+                v.actionBar = text;
+                v.actionBarTick = tick;
+                hunter.sendActionBar(Component.text(eggs.displayName(egg) + ": " + text, NamedTextColor.LIGHT_PURPLE));
+                sent.increment();
+            } else {
+                skipped.increment();
+            }
+        }
+
+        if (cfg.bossBar()) {
+            String title = eggs.displayName(egg) + " - " + holderName;
+            float progress = Math.round((float) (1.0 - distance / cfg.interestRadius()) * 20f) / 20f;
+            progress = Math.max(0f, Math.min(1f, progress));
+            if (v.bar == null) {
+                v.bar = BossBar.bossBar(Component.text(title, NamedTextColor.DARK_PURPLE), progress, BossBar.Color.PURPLE, BossBar.Overlay.NOTCHED_10);
+                v.barTitle = title;
+                v.barProgress = progress;
+                hunter.showBossBar(v.bar);
+                sent.increment();
+            } else {
+                if (!title.equals(v.barTitle)) {
+                    v.barTitle = title;
+                    v.bar.name(Component.text(title, NamedTextColor.DARK_PURPLE));
+                    sent.increment();
+                }
+                if (progress != v.barProgress) {
+                    v.barProgress = progress;
+                    v.bar.progress(progress);
+                    sent.increment();
+                } else {
+                    skipped.increment();
+                }
+            }
+        }
+    }
+
+    private void sweep(long now) {
+        for (Map.Entry<UUID, View> e : views.entrySet()) {
+            if (now - e.getValue().lastSeenRun < STALE_RUNS) continue;
+            Player p = Bukkit.getPlayer(e.getKey());
+            if (p == null) {
+                views.remove(e.getKey());
+            } else {
+                plugin.getSchedulers().entity(p, () -> clear(p, now - STALE_RUNS));
+            }
+        }
+    }
+
+    /**
+     * Hunter's thread: takes the HUD down unless they were seen again after {@code seenBefore}.
+     */
+    private void clear(Player hunter, long seenBefore) {
+        View v = views.get(hunter.getUniqueId());
+        if (v == null || v.lastSeenRun > seenBefore) return;
+        views.remove(hunter.getUniqueId());
+        if (v.bar != null) hunter.hideBossBar(v.bar);
+        if (v.compassX != Integer.MIN_VALUE) hunter.setCompassTarget(hunter.getWorld().getSpawnLocation());
+    }
+
+    private static int roundDistance(double d) {
+        return d < 100 ? (int) Math.round(d / 5) * 5 : (int) Math.round(d / 25) * 25;
+    }
+
+    private static String direction(Location from, Location to) {
+        double dx = to.getX() - from.getX(), dz = to.getZ() - from.getZ();
+        // Minecraft: north is -z, east is +x
+        double bearing = Math.toDegrees(Math.atan2(dx, -dz));
+        int i = (int) Math.round(((bearing + 360.0) % 360.0) / 45.0) % 8;
+        return DIRECTIONS[i];
+    }
+}
@@ -0,0 +1,136 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+
+/**
+ * Registers the situational listeners only while they can do anything, so the server doesn't dispatch
+ * every interact, pickup, inventory click and damage event to the plugin when no game is running.
+ *
+ * Groups: {@link GameListener} while the game is enabled; {@link HolderListener} while any egg holder is
+ * online; {@link WorldGuardListener} while a holder is online, WorldGuard is installed and the PvP override
+ * is on; {@link HunterHud} while a holder is online and the HUD is enabled. Call {@link #refresh()} whenever
+ * one of those conditions may have changed.
+ */
+public final class ListenerGroups {
+
+    private final DragonGames plugin;
+    private final GameListener game;
+    private final HolderListener holder;
+    private final WorldGuardListener worldGuard;
+    private final HunterHud hud;
+    private final boolean worldGuardPresent;
+
+    private boolean gameRegistered;
+    private boolean holderRegistered;
+    private boolean worldGuardRegistered;
+    private boolean hudRegistered;
+
+    public ListenerGroups(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.game = new GameListener(plugin, eggs);
+        this.holder = new HolderListener(plugin, eggs);
+        this.worldGuardPresent = Bukkit.getPluginManager().getPlugin("WorldGuard") != null;
+        this.worldGuard = worldGuardPresent ? new WorldGuardListener(plugin, eggs) : null;
+        this.hud = new HunterHud(plugin, eggs);
+    }
+
+    public HunterHud getHud() {
+        return hud;
+    }
+
+    public void refresh() {
+        refresh(null);
+    }
+
+    /**
+     * @param leaving a player who is about to go offline and must not count as an online holder, or null
+     */
+    public void refresh(UUID leaving) {
+        boolean holderOnline = anyHolderOnline(leaving);
+
+        gameRegistered = apply(game, gameRegistered, plugin.isGameEnabled());
+        holderRegistered = apply(holder, holderRegistered, holderOnline);
+        if (worldGuard != null) {
+            worldGuardRegistered = apply(worldGuard, worldGuardRegistered,
+                    holderOnline && plugin.isPvpOverrideEnabled());
+        }
+        applyHud(holderOnline && plugin.getSettings().hud().enabled());
+    }
+
+    public void unregisterAll() {
+        gameRegistered = apply(game, gameRegistered, false);
+        holderRegistered = apply(holder, holderRegistered, false);
+        if (worldGuard != null) worldGuardRegistered = apply(worldGuard, worldGuardRegistered, false);
+        applyHud(false);
+    }
+
+    public String describe() {
+        return "game=" + gameRegistered + " holder=" + holderRegistered +
+                " worldguard=" + (worldGuardPresent ? String.valueOf(worldGuardRegistered) : "absent") +
+                " hud=" + hudRegistered;
+    }
+
+    /**
+     * Registers every {@link EventHandler} of {@code listener}, timing each into a
+     * {@code handler.<Listener>.<method>} histogram.
+     */
+    public static void register(DragonGames plugin, Listener listener) {
+        PluginManager pm = Bukkit.getPluginManager();
+        for (Method m : listener.getClass().getDeclaredMethods()) {
+            EventHandler h = m.getAnnotation(EventHandler.class);
+            if (h == null || m.getParameterCount() != 1 || !Event.class.isAssignableFrom(m.getParameterTypes()[0])) continue;
+            Class<? extends Event> type = m.getParameterTypes()[0].asSubclass(Event.class);
+            EventExecutor handler = EventExecutor.create(m, type);
+            LatencyHistogram timer = plugin.getMetrics().histogram("handler." + listener.getClass().getSimpleName() + "." + m.getName());
+            pm.registerEvent(type, listener, h.priority(), (l, e) -> {
+                long start = System.nanoTime();
+                try {
+                    handler.execute(l, e);
+                } finally {
+                    timer.recordSince(start);
+                }
+            }, plugin, h.ignoreCancelled());
+        }
+    }
+
+    private boolean anyHolderOnline(UUID leaving) {
+        for (EggState egg : plugin.getState().getEggs()) {
+            UUID h = egg.getHolder();
+            if (h == null || h.equals(leaving)) continue;
+            Player p = Bukkit.getPlayer(h);
+            if (p != null && p.isOnline()) return true;
+        }
+        return false;
+    }
+
+    private void applyHud(boolean wanted) {
+        if (wanted == hudRegistered) return;
+        hudRegistered = apply(hud, hudRegistered, wanted);
+        if (wanted) {
+            hud.activate();
+        } else {
+            hud.deactivate();
+        }
+    }
+
+    private boolean apply(Listener listener, boolean registered, boolean wanted) {
+        if (wanted == registered) return registered;
+        if (wanted) {
+            register(plugin, listener);
+        } else {
+            HandlerList.unregisterAll(listener);
+        }
+        plugin.logDebug((wanted ? "Registered " : "Unregistered ") + listener.getClass().getSimpleName());
+        return wanted;
+    }
+}
@@ -0,0 +1,109 @@
+package org.galaxystudios.dragonGames;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Named latency histograms, gauges and counters for the plugin's hot paths.
+ *
+ * Call sites look a histogram up once and keep it in a field; recording is then lock-free and safe from any
+ * thread. Histogram names are dotted ({@code handler.HolderListener.onDamage}, {@code state.save}); gauge and
+ * counter names are Prometheus metric names without the {@code dragongames_} prefix, counters ending in
+ * {@code _total}.
+ */
+public final class Metrics {
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> counters = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    /**
+     * A value that goes up and down, such as a queue depth.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * A count that only grows while the plugin is enabled, exported so that rate() works on it.
+     */
+    public void counter(String name, LongSupplier value) {
+        counters.put(name, value);
+    }
+
+    /**
+     * One line per histogram with samples: count, p50, p99 and max.
+     */
+    public List<String> describe() {
+        List<String> out = new ArrayList<>();
+        for (LatencyHistogram h : new TreeMap<>(histograms).values()) {
+            if (h.getCount() == 0) continue;
+            out.add(h.getName() + ": n=" + h.getCount() +
+                    " p50=" + formatNanos(h.percentileNanos(0.50)) +
+                    " p99=" + formatNanos(h.percentileNanos(0.99)) +
+                    " max=" + formatNanos(h.getMaxNanos()));
+        }
+        Map<String, LongSupplier> values = new TreeMap<>(gauges);
+        values.putAll(counters);
+        for (Map.Entry<String, LongSupplier> g : values.entrySet()) {
+            out.add(g.getKey() + "=" + g.getValue().getAsLong());
+        }
+        return out;
+    }
+
+    /**
+     * Prometheus text exposition format (0.0.4).
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("# HELP dragongames_latency_seconds Time spent in DragonGames operations since the plugin enabled.\n");
+        sb.append("# TYPE dragongames_latency_seconds summary\n");
+        Map<String, LatencyHistogram> sorted = new TreeMap<>(histograms);
+        for (LatencyHistogram h : sorted.values()) {
+            String op = "op=\"" + h.getName() + "\"";
+            for (double q : new double[]{0.5, 0.9, 0.99}) {
+                sb.append("dragongames_latency_seconds{").append(op).append(",quantile=\"").append(q).append("\"} ")
+                        .append(seconds(h.percentileNanos(q))).append('\n');
+            }
+            sb.append("dragongames_latency_seconds_sum{").append(op).append("} ").append(seconds(h.getSumNanos())).append('\n');
+            sb.append("dragongames_latency_seconds_count{").append(op).append("} ").append(h.getCount()).append('\n');
+        }
+        sb.append("# HELP dragongames_latency_max_seconds Slowest single DragonGames operation since the plugin enabled.\n");
+        sb.append("# TYPE dragongames_latency_max_seconds gauge\n");
+        for (LatencyHistogram h : sorted.values()) {
+            sb.append("dragongames_latency_max_seconds{op=\"").append(h.getName()).append("\"} ")
+                    .append(seconds(h.getMaxNanos())).append('\n');
+        }
+        appendValues(sb, gauges, "gauge");
+        appendValues(sb, counters, "counter");
+        return sb.toString();
+    }
+
+    private static void appendValues(StringBuilder sb, Map<String, LongSupplier> values, String type) {
+        for (Map.Entry<String, LongSupplier> v : new TreeMap<>(values).entrySet()) {
+            String metric = "dragongames_" + v.getKey();
+            sb.append("# TYPE ").append(metric).append(' ').append(type).append('\n');
+            sb.append(metric).append(' ').append(v.getValue().getAsLong()).append('\n');
+        }
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+
+    static String formatNanos(long nanos) {
+        if (nanos < 1_000L) return nanos + "ns";
+        if (nanos < 1_000_000L) return String.format(Locale.ROOT, "%.1fus", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L) return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000.0);
+    }
+}
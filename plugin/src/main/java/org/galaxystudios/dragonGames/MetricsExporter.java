@@ -0,0 +1,99 @@
+package org.galaxystudios.dragonGames;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes {@link Metrics} in Prometheus text format for a node exporter: written periodically to
+ * metrics.prom (for the textfile collector), and/or served on http://127.0.0.1:&lt;port&gt;/metrics.
+ * Both are off by default and never touch the server thread.
+ */
+public final class MetricsExporter {
+
+    private final DragonGames plugin;
+    private final Metrics metrics;
+
+    private ScheduledExecutorService fileWriter;
+    private HttpServer http;
+    private ExecutorService httpExecutor;
+
+    public MetricsExporter(DragonGames plugin, Metrics metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+    }
+
+    public void start() {
+        long fileInterval = plugin.getSettings().metricsFileIntervalSeconds();
+        if (fileInterval > 0) {
+            Path target = plugin.getDataFolder().toPath().resolve("metrics.prom");
+            fileWriter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "DragonGames-Metrics");
+                t.setDaemon(true);
+                return t;
+            });
+            fileWriter.scheduleWithFixedDelay(() -> writeFile(target), fileInterval, fileInterval, TimeUnit.SECONDS);
+        }
+
+        int port = plugin.getSettings().metricsHttpPort();
+        if (port > 0) {
+            try {
+                // loopback only: this is for a local scraper, not the internet
+                http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+                http.createContext("/metrics", exchange -> {
+                    byte[] body = metrics.toPrometheus().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream os = exchange.getResponseBody()) {
+                        os.write(body);
+                    }
+                });
+                httpExecutor = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "DragonGames-MetricsHttp");
+                    t.setDaemon(true);
+                    return t;
+                });
+                http.setExecutor(httpExecutor);
+                http.start();
+                plugin.getLogger().info("Serving metrics on http://127.0.0.1:" + port + "/metrics");
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not start metrics endpoint on port " + port + ": " + e.getMessage());
+                http = null;
+            }
+        }
+    }
+
+    public void stop() {
+        if (fileWriter != null) {
+            fileWriter.shutdownNow();
+            fileWriter = null;
+        }
+        if (http != null) {
+            http.stop(0);
+            http = null;
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private void writeFile(Path target) {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.writeString(tmp, metrics.toPrometheus(), StandardCharsets.UTF_8);
+            // the textfile collector must never see a half-written file
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write metrics.prom: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.galaxystudios.dragonGames.api.HolderSnapshot;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What {@link DragonGamesPlaceholders} serves, computed ahead of the requests so that a scoreboard asking
+ * several times a second per player costs a map lookup.
+ *
+ * Values everybody shares (holder, weekly playtime and what is left of it, ...) are rendered into one map
+ * each time {@link HolderSnapshots} is rebuilt, i.e. when a holder changes, joins or quits, on every weekly
+ * check and on reload, and once a second besides so a holder's playtime keeps counting. Per-player values
+ * (distance to each holder) live in a cache of at most placeholders.max-players entries. A timer refreshes up
+ * to refresh-per-tick of them per tick, each at most every refresh-ticks, on the player's own thread; players
+ * nobody has asked about for a minute drop out of the cache.
+ */
+public final class PlaceholderValues {
+
+    private static final long IDLE_MILLIS = 60_000L;
+    private static final long REBUILD_TICKS = 20L;
+
+    private static final class Viewer {
+        volatile Map<String, String> distances = Map.of();
+        volatile long requestedAt = System.currentTimeMillis();
+        long refreshedAt; // global thread
+    }
+
+    private final DragonGames plugin;
+    private final Map<UUID, Viewer> viewers = new ConcurrentHashMap<>();
+    // viewers in refresh order, oldest first; global thread only
+    private final ArrayDeque<UUID> rotation = new ArrayDeque<>();
+    private final Queue<UUID> added = new ConcurrentLinkedQueue<>();
+
+    private volatile Map<String, String> global = Map.of();
+    private Runnable unregister = () -> { };
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder uncached = new LongAdder();
+
+    public PlaceholderValues(DragonGames plugin) {
+        this.plugin = plugin;
+        plugin.getMetrics().gauge("placeholder_viewers", viewers::size);
+        plugin.getMetrics().counter("placeholder_refreshes_total", refreshes::sum);
+    }
+
+    /**
+     * Only call when PlaceholderAPI is installed: registers the expansion and starts the refresh timer.
+     */
+    public void start() {
+        rebuild();
+        DragonGamesPlaceholders expansion = new DragonGamesPlaceholders(plugin, this);
+        if (!expansion.register()) {
+            plugin.getLogger().warning("PlaceholderAPI refused the dragongames expansion.");
+            return;
+        }
+        unregister = expansion::unregister;
+        plugin.getSchedulers().globalTimer(this::refreshSome, 1L, 1L);
+        plugin.getSchedulers().globalTimer(this::rebuild, REBUILD_TICKS, REBUILD_TICKS);
+        plugin.getLogger().info("Registered %dragongames_...% placeholders.");
+    }
+
+    public void stop() {
+        unregister.run();
+    }
+
+    /**
+     * Any thread: a value shared by all players, or null if {@code key} isn't one.
+     */
+    public String global(String key) {
+        requests.increment();
+        return global.get(key);
+    }
+
+    /**
+     * Any thread: a per-player value from the cache, or null if {@code key} isn't one. A player's first
+     * request only enrolls them; it answers with the none text until the next refresh.
+     */
+    public String forPlayer(UUID player, String key) {
+        if (key.equals("holding")) {
+            HolderSnapshot s = plugin.getSnapshots().getEggHeldBy(player);
+            return s == null ? plugin.getSettings().placeholders().none() : s.eggDisplayName();
+        }
+        if (key.equals("is_holder")) return Boolean.toString(plugin.getSnapshots().getEggHeldBy(player) != null);
+        String egg;
+        if (key.equals("holder_distance")) {
+            egg = EggDefinition.DEFAULT_ID;
+        } else if (key.startsWith("holder_distance_")) {
+            egg = key.substring("holder_distance_".length());
+        } else {
+            return null;
+        }
+        Viewer v = viewers.get(player);
+        if (v == null) {
+            if (viewers.size() >= plugin.getSettings().placeholders().maxPlayers()) {
+                uncached.increment();
+                return plugin.getSettings().placeholders().none();
+            }
+            v = viewers.computeIfAbsent(player, k -> {
+                added.add(k);
+                return new Viewer();
+            });
+        }
+        v.requestedAt = System.currentTimeMillis();
+        return v.distances.getOrDefault(egg, plugin.getSettings().placeholders().none());
+    }
+
+    /**
+     * Global thread: re-renders the shared values from the current snapshots. Weekly playtime is read from the
+     * state instead, since the snapshot's figure stops at the holder's open session as of the last refresh.
+     */
+    public void rebuild() {
+        DragonGamesSettings.Placeholders cfg = plugin.getSettings().placeholders();
+        Map<String, String> out = new HashMap<>();
+        int held = 0;
+        for (HolderSnapshot s : plugin.getSnapshots().getSnapshots().values()) {
+            long required = plugin.getEggManager().getRequiredWeeklySeconds(s.egg());
+            put(out, "egg_name", s.egg(), s.eggDisplayName());
+            put(out, "held", s.egg(), Boolean.toString(s.isHeld()));
+            put(out, "weekly_required", s.egg(), StatsStore.formatValue(StatsStore.Metric.HOLD_TIME, required));
+            if (!s.isHeld()) {
+                put(out, "holder", s.egg(), cfg.none());
+                put(out, "weekly_played", s.egg(), cfg.none());
+                put(out, "weekly_remaining", s.egg(), cfg.none());
+                continue;
+            }
+            held++;
+            long played = plugin.getState().getHolderWeeklyPlaySeconds(s.egg());
+            put(out, "holder", s.egg(), s.holderName() == null ? cfg.none() : s.holderName());
+            put(out, "weekly_played", s.egg(), StatsStore.formatValue(StatsStore.Metric.HOLD_TIME, played));
+            put(out, "weekly_remaining", s.egg(), StatsStore.formatValue(StatsStore.Metric.HOLD_TIME,
+                    Math.max(0L, required - played)));
+        }
+        out.put("eggs_held", Integer.toString(held));
+        out.put("game_enabled", Boolean.toString(plugin.isGameEnabled()));
+        global = Map.copyOf(out);
+    }
+
+    // the default egg also answers without the _<egg> suffix
+    private static void put(Map<String, String> out, String key, String egg, String value) {
+        out.put(key + "_" + egg, value);
+        if (EggDefinition.DEFAULT_ID.equals(egg)) out.put(key, value);
+    }
+
+    public String describeStats() {
+        return "viewers=" + viewers.size() + ", requests=" + requests.sum() + ", refreshes=" + refreshes.sum() +
+                ", uncached=" + uncached.sum();
+    }
+
+    /**
+     * Every tick: refreshes the viewers that are due, oldest first, up to the budget.
+     */
+    private void refreshSome() {
+        for (UUID id; (id = added.poll()) != null; ) rotation.addLast(id);
+        DragonGamesSettings.Placeholders cfg = plugin.getSettings().placeholders();
+        long now = System.currentTimeMillis();
+        long interval = cfg.refreshTicks() * 50L;
+        for (int budget = cfg.refreshPerTick(); budget > 0 && !rotation.isEmpty(); ) {
+            UUID id = rotation.peekFirst();
+            Viewer v = viewers.get(id);
+            Player p = Bukkit.getPlayer(id);
+            if (v == null || p == null || now - v.requestedAt > IDLE_MILLIS) {
+                rotation.pollFirst();
+                viewers.remove(id);
+                continue;
+            }
+            // the rest were refreshed even more recently
+            if (now - v.refreshedAt < interval) return;
+            rotation.pollFirst();
+            rotation.addLast(id);
+            v.refreshedAt = now;
+            budget--;
+            refreshes.increment();
+            plugin.getSchedulers().entity(p, () -> v.distances = distances(p));
+        }
+    }
+
+    private Map<String, String> distances(Player p) {
+        Location loc = p.getLocation();
+        if (loc.getWorld() == null) return Map.of();
+        String world = loc.getWorld().getName();
+        Map<String, String> out = new HashMap<>();
+        for (HolderSnapshot s : plugin.getSnapshots().getSnapshots().values()) {
+            if (!s.hasLocation() || !world.equals(s.world()) || p.getUniqueId().equals(s.holder())) continue;
+            double dx = s.x() - loc.getX(), dy = s.y() - loc.getY(), dz = s.z() - loc.getZ();
+            out.put(s.egg(), Long.toString(Math.round(Math.sqrt(dx * dx + dy * dy + dz * dz))));
+        }
+        return Map.copyOf(out);
+    }
+}
@@ -0,0 +1,120 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online players bucketed by the chunk they stand in, per world. A player's bucket only changes when they
+ * cross a chunk border, so moving within a chunk costs a comparison in the move handler and nothing here.
+ *
+ * Safe from any thread; a player's own updates are expected to come from their own thread.
+ */
+public final class PlayerGrid {
+
+    public interface Visitor {
+        /**
+         * @param approxDistance distance in blocks between the centres of the two chunks
+         */
+        void visit(Player player, int approxDistance);
+    }
+
+    private record Cell(UUID world, int cx, int cz) {
+    }
+
+    private final Map<UUID, Map<Long, Set<Player>>> worlds = new ConcurrentHashMap<>();
+    private final Map<UUID, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Files {@code player} under the chunk of {@code loc}. Returns false if they were already there.
+     */
+    public boolean update(Player player, Location loc) {
+        if (loc == null || loc.getWorld() == null) return false;
+        Cell next = new Cell(loc.getWorld().getUID(), loc.getBlockX() >> 4, loc.getBlockZ() >> 4);
+        Cell prev = cells.put(player.getUniqueId(), next);
+        if (next.equals(prev)) return false;
+        if (prev != null) leave(prev, player);
+        worlds.computeIfAbsent(next.world(), k -> new ConcurrentHashMap<>())
+                .compute(key(next.cx(), next.cz()), (k, set) -> {
+                    if (set == null) set = ConcurrentHashMap.newKeySet();
+                    set.add(player);
+                    return set;
+                });
+        return true;
+    }
+
+    public void remove(Player player) {
+        Cell prev = cells.remove(player.getUniqueId());
+        if (prev != null) leave(prev, player);
+    }
+
+    public void clear() {
+        cells.clear();
+        worlds.clear();
+    }
+
+    public int players() {
+        return cells.size();
+    }
+
+    public int occupiedChunks() {
+        int n = 0;
+        for (Map<Long, Set<Player>> w : worlds.values()) n += w.size();
+        return n;
+    }
+
+    /**
+     * Visits every player in a chunk within {@code radius} blocks of (x, z), judged chunk centre to chunk
+     * centre. Probes the chunk square around the point, or walks the occupied chunks instead when there are
+     * fewer of those, so a big radius on a quiet world stays cheap.
+     */
+    public void forEachNear(World world, int x, int z, double radius, Visitor visitor) {
+        Map<Long, Set<Player>> grid = worlds.get(world.getUID());
+        if (grid == null || grid.isEmpty()) return;
+        int cx = x >> 4, cz = z >> 4;
+        int r = (int) Math.ceil(radius / 16.0);
+        long maxSq = (long) Math.ceil(radius * radius);
+
+        long span = 2L * r + 1;
+        if (span * span <= grid.size()) {
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dz = -r; dz <= r; dz++) {
+                    long sq = 256L * (dx * dx + dz * dz);
+                    if (sq > maxSq) continue;
+                    Set<Player> set = grid.get(key(cx + dx, cz + dz));
+                    if (set != null) visitAll(set, sq, visitor);
+                }
+            }
+        } else {
+            for (Map.Entry<Long, Set<Player>> e : grid.entrySet()) {
+                long k = e.getKey();
+                long dx = (int) (k >> 32) - cx, dz = (int) k - cz;
+                long sq = 256L * (dx * dx + dz * dz);
+                if (sq <= maxSq) visitAll(e.getValue(), sq, visitor);
+            }
+        }
+    }
+
+    private static void visitAll(Set<Player> set, long distSq, Visitor visitor) {
+        int dist = (int) Math.sqrt(distSq);
+        for (Player p : set) visitor.visit(p, dist);
+    }
+
+    private void leave(Cell cell, Player player) {
+        Map<Long, Set<Player>> grid = worlds.get(cell.world());
+        if (grid == null) return;
+        grid.computeIfPresent(key(cell.cx(), cell.cz()), (k, set) -> {
+            set.remove(player);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static long key(int cx, int cz) {
+        return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,42 @@
+package org.galaxystudios.dragonGames;
+
+import java.util.UUID;
+
+/**
+ * One player's lifetime Dragon Games record. Immutable; {@link StatsStore} swaps in a new copy per change so
+ * readers on any thread see a consistent record.
+ */
+public record PlayerStats(
+        UUID uuid,
+        String name,
+        int captures,
+        int kills,
+        int eggDeaths,
+        long holdSeconds,
+        long lastUpdatedEpochSeconds
+) {
+
+    static PlayerStats empty(UUID uuid, String name) {
+        return new PlayerStats(uuid, name == null ? "" : name, 0, 0, 0, 0L, 0L);
+    }
+
+    PlayerStats withName(String n) {
+        return n == null || n.equals(name) ? this : new PlayerStats(uuid, n, captures, kills, eggDeaths, holdSeconds, lastUpdatedEpochSeconds);
+    }
+
+    PlayerStats plusCapture(long now) {
+        return new PlayerStats(uuid, name, captures + 1, kills, eggDeaths, holdSeconds, now);
+    }
+
+    PlayerStats plusKill(long now) {
+        return new PlayerStats(uuid, name, captures, kills + 1, eggDeaths, holdSeconds, now);
+    }
+
+    PlayerStats plusEggDeath(long now) {
+        return new PlayerStats(uuid, name, captures, kills, eggDeaths + 1, holdSeconds, now);
+    }
+
+    PlayerStats plusHoldSeconds(long seconds, long now) {
+        return new PlayerStats(uuid, name, captures, kills, eggDeaths, holdSeconds + seconds, now);
+    }
+}
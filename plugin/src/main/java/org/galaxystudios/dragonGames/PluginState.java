@@ -0,0 +1,467 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Persists holders + absolute timestamps and weekly activity accounting, one {@link EggState} per egg.
+ *
+ * Mutated only on the global region thread (see {@link Schedulers}). Holder lookups are safe from any thread,
+ * so event handlers on other regions can check who holds what without hopping.
+ */
+public final class PluginState {
+
+    private final DragonGames plugin;
+    private final File file;
+    private final StateWriter writer;
+    private final StateJournal journal; // null unless persistence.mode is journal
+    private final long snapshotIntervalMillis;
+
+    // Per-egg holder + weekly accounting, in config order. Copied on write so other threads can read it.
+    private volatile Map<String, EggState> eggs = new LinkedHashMap<>();
+    // player -> egg they hold; a player holds at most one egg
+    private final Map<UUID, String> holderIndex = new ConcurrentHashMap<>();
+
+    // Game lifecycle
+    private boolean gameEnabled;
+    private long gameStartEpochSeconds;
+
+    // Time of the last periodic check (playtime itself is accounted per session)
+    private long lastTickEpochSeconds;
+
+    private Runnable onChange = () -> { };
+    private ObjLongConsumer<UUID> onPlaytime = (holder, seconds) -> { };
+
+    private final LatencyHistogram saveTimer;
+
+    public PluginState(DragonGames plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "state.yml");
+        this.saveTimer = plugin.getMetrics().histogram("state.save");
+        DragonGamesSettings.Persistence cfg = plugin.getSettings().persistence();
+        this.writer = new StateWriter(plugin, file, cfg.isWriteBehind(), cfg.coalesceMillis());
+        this.snapshotIntervalMillis = cfg.snapshotIntervalMillis();
+        if (cfg.isJournal()) {
+            this.journal = new StateJournal(plugin, plugin.getDataFolder(), cfg.journalSizeBytes());
+            this.journal.setOnFull(this::compactJournal);
+            this.writer.setAfterWrite(s -> journal.deleteBefore(s.journalGeneration()));
+        } else {
+            this.journal = null;
+        }
+    }
+
+    /**
+     * Adds state for eggs that were added to the config since load. State of removed eggs is kept so it
+     * comes back if the egg is configured again.
+     */
+    public void ensureEggs(Collection<String> ids) {
+        Map<String, EggState> next = new LinkedHashMap<>(eggs);
+        List<String> added = new ArrayList<>();
+        for (String id : ids) {
+            if (next.putIfAbsent(id, new EggState(id)) == null) added.add(id);
+        }
+        if (added.isEmpty()) return;
+        eggs = next;
+        for (String id : added) resetWeek(id);
+    }
+
+    public void load() {
+        for (String id : plugin.getEggDefinitions().keySet()) {
+            eggs.put(id, new EggState(id));
+        }
+        long snapshotGeneration = 0L;
+        if (file.exists()) {
+            snapshotGeneration = loadSnapshot();
+        } else {
+            for (EggState e : eggs.values()) resetWeek(e.getId());
+            lastTickEpochSeconds = now();
+        }
+        if (journal != null) recoverJournal(snapshotGeneration);
+        rebuildHolderIndex();
+    }
+
+    private long loadSnapshot() {
+        FileConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        gameEnabled = cfg.getBoolean("gameEnabled", false);
+        gameStartEpochSeconds = cfg.getLong("gameStartEpochSeconds", 0L);
+        lastTickEpochSeconds = cfg.getLong("lastTickEpochSeconds", 0L);
+
+        ConfigurationSection eggSection = cfg.getConfigurationSection("eggs");
+        if (eggSection == null) {
+            // single-egg state.yml from before multiple eggs: everything belongs to the default egg
+            loadEgg(eggs.get(EggDefinition.DEFAULT_ID), cfg);
+        } else {
+            for (String id : eggSection.getKeys(false)) {
+                EggState e = eggs.get(id);
+                if (e == null) {
+                    plugin.getLogger().warning("Dropping state for egg '" + id + "' which is no longer in config.yml.");
+                    continue;
+                }
+                loadEgg(e, eggSection.getConfigurationSection(id));
+            }
+        }
+
+        for (EggState e : eggs.values()) {
+            if (e.weekStartEpochSeconds <= 0) resetWeek(e.getId());
+            resetWeeklyIfNeeded(e.getId());
+        }
+        if (lastTickEpochSeconds <= 0) lastTickEpochSeconds = now();
+
+        return cfg.getLong("journalGeneration", 0L);
+    }
+
+    private void loadEgg(EggState e, ConfigurationSection s) {
+        if (e == null || s == null) return;
+        String holderStr = s.getString("holder");
+        e.holder = (holderStr == null || holderStr.isBlank()) ? null : UUID.fromString(holderStr);
+        e.weekStartEpochSeconds = s.getLong("weekStartEpochSeconds", 0L);
+        e.holderWeeklyPlaySeconds = s.getLong("holderWeeklyPlaySeconds", 0L);
+        e.holderLastSeenEpochSeconds = s.getLong("holderLastSeenEpochSeconds", 0L);
+        e.holderSinceEpochSeconds = e.holder == null ? 0L : s.getLong("holderSinceEpochSeconds", 0L);
+    }
+
+    private void rebuildHolderIndex() {
+        holderIndex.clear();
+        for (EggState e : eggs.values()) {
+            if (e.holder == null) continue;
+            String prev = holderIndex.putIfAbsent(e.holder, e.getId());
+            if (prev != null) {
+                // can only happen with a hand-edited state.yml; keep the first egg
+                plugin.getLogger().warning("Player " + e.holder + " held both '" + prev + "' and '" + e.getId() + "'; clearing '" + e.getId() + "'.");
+                e.holder = null;
+            }
+        }
+    }
+
+    /**
+     * Replays journals written after the snapshot, then starts a new generation with a fresh snapshot.
+     */
+    private void recoverJournal(long snapshotGeneration) {
+        long lastGeneration = snapshotGeneration;
+        StateJournal.Replay replay = new StateJournal.Replay() {
+            @Override
+            public void holder(String egg, UUID h, long weekStart, long lastSeen) {
+                EggState e = eggs.get(egg);
+                if (e == null) return;
+                e.holder = h;
+                e.weekStartEpochSeconds = weekStart;
+                e.holderWeeklyPlaySeconds = 0L;
+                e.holderLastSeenEpochSeconds = lastSeen;
+                // a holder record is written the moment the egg changes hands
+                e.holderSinceEpochSeconds = h == null ? 0L : lastSeen;
+            }
+
+            @Override
+            public void play(String egg, long seconds) {
+                EggState e = eggs.get(egg);
+                if (e != null) e.holderWeeklyPlaySeconds += seconds;
+            }
+
+            @Override
+            public void week(String egg, long weekStart) {
+                EggState e = eggs.get(egg);
+                if (e == null) return;
+                e.weekStartEpochSeconds = weekStart;
+                e.holderWeeklyPlaySeconds = 0L;
+            }
+
+            @Override
+            public void game(boolean enabled, long gameStart) {
+                gameEnabled = enabled;
+                gameStartEpochSeconds = gameStart;
+            }
+
+            @Override
+            public void seen(String egg, long epochSeconds) {
+                EggState e = eggs.get(egg);
+                if (e != null) e.holderLastSeenEpochSeconds = epochSeconds;
+            }
+
+            @Override
+            public void tick(long epochSeconds) {
+                lastTickEpochSeconds = epochSeconds;
+            }
+        };
+
+        int records = 0;
+        for (long gen : journal.listGenerations()) {
+            if (gen < snapshotGeneration) continue;
+            try {
+                records += journal.replay(gen, replay);
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to replay state journal " + gen + ": " + e.getMessage());
+            }
+            lastGeneration = Math.max(lastGeneration, gen);
+        }
+        if (records > 0) {
+            plugin.getLogger().info("Recovered " + records + " state change(s) from the journal.");
+        }
+        for (EggState e : eggs.values()) resetWeeklyIfNeeded(e.getId());
+
+        try {
+            journal.open(lastGeneration + 1);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to open state journal, falling back to snapshots only: " + e.getMessage());
+        }
+        writer.submit(snapshot());
+    }
+
+    /**
+     * Persists the current state. In write-behind mode this only snapshots the fields; the file is
+     * written later on the state writer thread. In journal mode every change has already been appended,
+     * so this only takes a compacting snapshot once the journal is getting full or old.
+     */
+    public void save() {
+        long start = System.nanoTime();
+        foldSessions();
+        if (journal != null && journal.isOpen()) {
+            if (journal.usedFraction() >= 0.75
+                    || System.currentTimeMillis() - journal.getOpenedAtMillis() >= snapshotIntervalMillis) {
+                compactJournal();
+            }
+        } else {
+            writer.submit(snapshot());
+        }
+        saveTimer.recordSince(start);
+    }
+
+    private void compactJournal() {
+        try {
+            journal.open(journal.getGeneration() + 1);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to rotate state journal: " + e.getMessage());
+        }
+        writer.submit(snapshot());
+    }
+
+    public StateSnapshot snapshot() {
+        long generation = journal != null && journal.isOpen() ? journal.getGeneration() : 0L;
+        List<StateSnapshot.Egg> eggSnapshots = new ArrayList<>(eggs.size());
+        for (EggState e : eggs.values()) eggSnapshots.add(e.snapshot());
+        return new StateSnapshot(gameEnabled, gameStartEpochSeconds, lastTickEpochSeconds, generation, List.copyOf(eggSnapshots));
+    }
+
+    /**
+     * Flushes any pending write and stops the writer thread. Waits at most {@code timeoutMillis}.
+     */
+    public void close(long timeoutMillis) {
+        if (journal != null && journal.isOpen()) compactJournal();
+        writer.flushAndClose(timeoutMillis);
+        if (journal != null) journal.close();
+    }
+
+    public String describePersistence() {
+        if (journal == null) return writer.describeStats();
+        return writer.describeStats() + ", journalGeneration=" + journal.getGeneration() +
+                ", journalAppends=" + journal.getAppends() +
+                ", journalUsed=" + Math.round(journal.usedFraction() * 100) + "%";
+    }
+
+    public Collection<EggState> getEggs() {
+        return Collections.unmodifiableCollection(eggs.values());
+    }
+
+    public EggState getEgg(String egg) {
+        return eggs.get(egg);
+    }
+
+    public UUID getHolder(String egg) {
+        EggState e = eggs.get(egg);
+        return e == null ? null : e.holder;
+    }
+
+    /**
+     * The egg held by {@code player}, or null. Constant time regardless of how many eggs or players exist.
+     */
+    public String getEggHeldBy(UUID player) {
+        return player == null ? null : holderIndex.get(player);
+    }
+
+    public boolean isHolder(UUID player) {
+        return player != null && holderIndex.containsKey(player);
+    }
+
+    /**
+     * Runs after the game is toggled or a holder changes; used to re-register listener groups.
+     */
+    public void setOnChange(Runnable onChange) {
+        this.onChange = onChange;
+    }
+
+    /**
+     * Receives every playtime credit with the holder it was credited to; used for lifetime statistics.
+     */
+    public void setOnPlaytime(ObjLongConsumer<UUID> onPlaytime) {
+        this.onPlaytime = onPlaytime;
+    }
+
+    public void setHolder(String egg, UUID holder) {
+        EggState e = eggs.get(egg);
+        if (e == null) return;
+        long seen = now();
+        // credit the previous holder's open session to them before their week is discarded
+        foldSession(e, seen);
+        // when holder changes, reset weekly tracking for new holder
+        long weekStart = startOfWeekEpochSeconds();
+        if (journal != null) journal.appendHolder(egg, holder, weekStart, seen);
+        if (e.holder != null) holderIndex.remove(e.holder, egg);
+        e.holder = holder;
+        e.weekStartEpochSeconds = weekStart;
+        e.holderWeeklyPlaySeconds = 0L;
+        e.holderLastSeenEpochSeconds = seen;
+        e.holderSinceEpochSeconds = holder == null ? 0L : seen;
+        e.sessionStartEpochSeconds = 0L;
+        if (holder != null) holderIndex.put(holder, egg);
+        onChange.run();
+    }
+
+    public boolean isGameEnabled() {
+        return gameEnabled;
+    }
+
+    public void setGameEnabled(boolean enabled) {
+        if (this.gameEnabled == enabled) return;
+        foldSessions();
+        long start = (enabled && gameStartEpochSeconds <= 0) ? now() : gameStartEpochSeconds;
+        if (journal != null) journal.appendGame(enabled, start);
+        this.gameEnabled = enabled;
+        this.gameStartEpochSeconds = start;
+        onChange.run();
+    }
+
+    public long getGameStartEpochSeconds() {
+        return gameStartEpochSeconds;
+    }
+
+    public void resetWeek(String egg) {
+        EggState e = eggs.get(egg);
+        if (e == null) return;
+        long weekStart = startOfWeekEpochSeconds();
+        if (journal != null) journal.appendWeek(egg, weekStart);
+        e.weekStartEpochSeconds = weekStart;
+        e.holderWeeklyPlaySeconds = 0L;
+        // time before the boundary was credited to the old week by foldSession
+        if (e.sessionStartEpochSeconds > 0L) e.sessionStartEpochSeconds = Math.max(e.sessionStartEpochSeconds, weekStart);
+    }
+
+    public void resetWeeklyIfNeeded(String egg) {
+        if (isWeekExpired(egg)) {
+            resetWeek(egg);
+        }
+    }
+
+    /**
+     * Credited playtime this week, including the holder's current session if they are online.
+     */
+    public long getHolderWeeklyPlaySeconds(String egg) {
+        EggState e = eggs.get(egg);
+        if (e == null) return 0L;
+        long open = gameEnabled && e.sessionStartEpochSeconds > 0L ? Math.max(0L, sessionEnd(e, now()) - e.sessionStartEpochSeconds) : 0L;
+        return e.holderWeeklyPlaySeconds + open;
+    }
+
+    /**
+     * The holder came online (join, capture, plugin enable): their playtime counts from now.
+     */
+    public void startSession(UUID uuid) {
+        String egg = getEggHeldBy(uuid);
+        if (egg == null) return;
+        EggState e = eggs.get(egg);
+        if (e.sessionStartEpochSeconds == 0L) e.sessionStartEpochSeconds = now();
+    }
+
+    /**
+     * The holder went offline: credit the session and close it.
+     */
+    public void endSession(UUID uuid) {
+        String egg = getEggHeldBy(uuid);
+        if (egg == null) return;
+        EggState e = eggs.get(egg);
+        foldSession(e, now());
+        e.sessionStartEpochSeconds = 0L;
+    }
+
+    /**
+     * Credits every open session up to now and keeps it open, so saved state is exact up to this moment.
+     */
+    public void foldSessions() {
+        long now = now();
+        for (EggState e : eggs.values()) foldSession(e, now);
+    }
+
+    private void foldSession(EggState e, long now) {
+        if (e.sessionStartEpochSeconds == 0L) return;
+        // a session never credits past the end of the week it is counted in, nor time while the game is off
+        long until = sessionEnd(e, now);
+        if (gameEnabled) addPlaySeconds(e.getId(), until - e.sessionStartEpochSeconds);
+        e.sessionStartEpochSeconds = Math.max(e.sessionStartEpochSeconds, until);
+    }
+
+    private long sessionEnd(EggState e, long now) {
+        return Math.min(now, e.weekStartEpochSeconds + 7L * 24L * 3600L);
+    }
+
+    public void addPlaySeconds(String egg, long seconds) {
+        EggState e = eggs.get(egg);
+        long delta = Math.max(0L, seconds);
+        if (e == null || delta == 0L) return;
+        if (journal != null) journal.appendPlay(egg, delta);
+        e.holderWeeklyPlaySeconds += delta;
+        if (plugin.getShared() != null) plugin.getShared().playCredited(egg, e.weekStartEpochSeconds, delta);
+        if (e.holder != null) onPlaytime.accept(e.holder, delta);
+    }
+
+    public void touchActivity(UUID uuid) {
+        String egg = getEggHeldBy(uuid);
+        if (egg == null) return;
+        long seen = now();
+        if (journal != null) journal.appendSeen(egg, seen);
+        eggs.get(egg).holderLastSeenEpochSeconds = seen;
+    }
+
+    public long getLastTickEpochSeconds() {
+        return lastTickEpochSeconds;
+    }
+
+    public void setLastTickEpochSeconds(long epochSeconds) {
+        if (journal != null) journal.appendTick(epochSeconds);
+        this.lastTickEpochSeconds = epochSeconds;
+    }
+
+    public boolean isWeekExpired(String egg) {
+        EggState e = eggs.get(egg);
+        return e != null && startOfWeekEpochSeconds() != e.weekStartEpochSeconds;
+    }
+
+    private long now() {
+        return Instant.now().getEpochSecond();
+    }
+
+    static long startOfWeekEpochSeconds() {
+        // week starts Monday 00:00 UTC
+        ZonedDateTime z = ZonedDateTime.now(ZoneOffset.UTC);
+        ZonedDateTime monday = z.with(java.time.DayOfWeek.MONDAY).toLocalDate().atStartOfDay(ZoneOffset.UTC);
+        if (z.getDayOfWeek().getValue() < java.time.DayOfWeek.MONDAY.getValue()) {
+            monday = monday.minusWeeks(1);
+        }
+        // if today isn't Monday but we used with(MONDAY) it might point to next Monday; adjust if so
+        if (monday.isAfter(z)) monday = monday.minusWeeks(1);
+        return monday.toEpochSecond();
+    }
+}
@@ -0,0 +1,280 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Shared holders in Redis, or anything speaking its protocol (KeyDB, Valkey, Dragonfly, a local redis-server
+ * for testing). One hash per egg at {@code <prefix>holder:<egg>}; compare-and-set and playtime credits are Lua
+ * scripts, so each is a single atomic round trip, and a change is published on {@code <prefix>holders} with
+ * the egg id as the message.
+ *
+ * Commands share one connection, reopened on the next call after an error. The subscription has its own
+ * connection and thread, which reconnects with backoff and reports a null egg after every (re)subscribe,
+ * because messages sent while it was away are lost.
+ */
+public final class RedisHolderStore implements SharedHolderStore {
+
+    private static final String CAS = """
+            local v = tonumber(redis.call('HGET', KEYS[1], 'version') or '0')
+            if v ~= tonumber(ARGV[1]) then return -1 end
+            v = v + 1
+            redis.call('HSET', KEYS[1], 'version', v, 'holder', ARGV[2], 'origin', ARGV[3], 'week', ARGV[4], 'play', 0,
+                    'lastWeek', 0, 'lastPlay', 0)
+            redis.call('PUBLISH', KEYS[2], ARGV[5])
+            return v""";
+
+    private static final String ADD_PLAY = """
+            if tonumber(redis.call('HGET', KEYS[1], 'version') or '0') ~= tonumber(ARGV[1]) then return 0 end
+            local week = tonumber(redis.call('HGET', KEYS[1], 'week') or '0')
+            local credit = tonumber(ARGV[2])
+            if credit == week then return redis.call('HINCRBY', KEYS[1], 'play', ARGV[3]) end
+            if credit > week then
+                local play = redis.call('HGET', KEYS[1], 'play') or '0'
+                redis.call('HSET', KEYS[1], 'lastWeek', week, 'lastPlay', play, 'week', ARGV[2], 'play', ARGV[3])
+                return tonumber(ARGV[3])
+            end
+            if credit == tonumber(redis.call('HGET', KEYS[1], 'lastWeek') or '0') then
+                return redis.call('HINCRBY', KEYS[1], 'lastPlay', ARGV[3])
+            end
+            return 0""";
+
+    private final DragonGames plugin;
+    private final String host;
+    private final int port;
+    private final String password;
+    private final String prefix;
+    private final int timeoutMillis;
+
+    private Connection commands;
+    private volatile boolean running;
+    private volatile Connection subscription;
+    private Thread subscriber;
+
+    public RedisHolderStore(DragonGames plugin, String host, int port, String password, String prefix, int timeoutMillis) {
+        this.plugin = plugin;
+        this.host = host;
+        this.port = port;
+        this.password = password == null || password.isBlank() ? null : password;
+        this.prefix = prefix;
+        this.timeoutMillis = Math.max(100, timeoutMillis);
+    }
+
+    @Override
+    public Entry read(String egg) throws IOException {
+        Object reply = call("HMGET", key(egg), "version", "holder", "origin", "week", "play", "lastWeek", "lastPlay");
+        if (!(reply instanceof List<?> fields) || fields.size() != 7 || fields.get(0) == null) return Entry.EMPTY;
+        try {
+            String holder = (String) fields.get(1);
+            return new Entry(holder == null || holder.isEmpty() ? null : UUID.fromString(holder),
+                    Long.parseLong((String) fields.get(0)),
+                    fields.get(2) == null ? "" : (String) fields.get(2),
+                    number(fields.get(3)), number(fields.get(4)), number(fields.get(5)), number(fields.get(6)));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt shared holder " + key(egg) + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static long number(Object field) {
+        return field == null ? 0L : Long.parseLong((String) field);
+    }
+
+    @Override
+    public long compareAndSet(String egg, long expectedVersion, UUID holder, String origin, long weekStart) throws IOException {
+        Object reply = call("EVAL", CAS, "2", key(egg), channel(), Long.toString(expectedVersion),
+                holder == null ? "" : holder.toString(), origin, Long.toString(weekStart), egg);
+        if (!(reply instanceof Long version)) throw new IOException("Unexpected reply to compare-and-set: " + reply);
+        return version;
+    }
+
+    @Override
+    public void addPlaySeconds(String egg, long version, long weekStart, long seconds) throws IOException {
+        call("EVAL", ADD_PLAY, "1", key(egg), Long.toString(version), Long.toString(weekStart), Long.toString(seconds));
+    }
+
+    private String key(String egg) {
+        return prefix + "holder:" + egg;
+    }
+
+    private String channel() {
+        return prefix + "holders";
+    }
+
+    private synchronized Object call(String... args) throws IOException {
+        if (commands == null) commands = connect(timeoutMillis);
+        try {
+            return commands.call(args);
+        } catch (IOException e) {
+            commands.close();
+            commands = null;
+            throw e;
+        }
+    }
+
+    private Connection connect(int readTimeoutMillis) throws IOException {
+        Connection c = new Connection(host, port, timeoutMillis, readTimeoutMillis);
+        try {
+            if (password != null) c.call("AUTH", password);
+        } catch (IOException e) {
+            c.close();
+            throw e;
+        }
+        return c;
+    }
+
+    @Override
+    public void listen(Consumer<String> changed) {
+        if (running) return;
+        running = true;
+        subscriber = Thread.ofPlatform().daemon().name("DragonGames-shared-subscribe").start(() -> {
+            long backoff = 500L;
+            while (running) {
+                try {
+                    // no read timeout: the connection sits idle until something is published
+                    Connection c = connect(0);
+                    subscription = c;
+                    c.send("SUBSCRIBE", channel());
+                    c.read();
+                    backoff = 500L;
+                    changed.accept(null);
+                    while (running) {
+                        if (c.read() instanceof List<?> msg && msg.size() == 3 && "message".equals(msg.get(0))) {
+                            changed.accept((String) msg.get(2));
+                        }
+                    }
+                } catch (IOException e) {
+                    if (!running) return;
+                    plugin.getLogger().warning("Shared holder subscription to " + host + ":" + port + " lost (" +
+                            e.getMessage() + "); reconnecting in " + backoff + "ms.");
+                } finally {
+                    Connection c = subscription;
+                    subscription = null;
+                    if (c != null) c.close();
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                backoff = Math.min(10_000L, backoff * 2);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Connection c = subscription;
+        if (c != null) c.close();
+        if (subscriber != null) subscriber.interrupt();
+        synchronized (this) {
+            if (commands != null) commands.close();
+            commands = null;
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "redis " + host + ":" + port + " (" + prefix + "*)";
+    }
+
+    /**
+     * A single RESP connection; just enough of the protocol for the commands above.
+     */
+    private static final class Connection {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection(String host, int port, int connectTimeoutMillis, int readTimeoutMillis) throws IOException {
+            socket = new Socket();
+            try {
+                socket.setKeepAlive(true);
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+                socket.setSoTimeout(readTimeoutMillis);
+                in = new BufferedInputStream(socket.getInputStream());
+                out = new BufferedOutputStream(socket.getOutputStream());
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        Object call(String... args) throws IOException {
+            send(args);
+            return read();
+        }
+
+        void send(String... args) throws IOException {
+            out.write(('*' + Integer.toString(args.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (String arg : args) {
+                byte[] b = arg.getBytes(StandardCharsets.UTF_8);
+                out.write(('$' + Integer.toString(b.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.write(b);
+                out.write('\r');
+                out.write('\n');
+            }
+            out.flush();
+        }
+
+        Object read() throws IOException {
+            int type = in.read();
+            if (type < 0) throw new EOFException("connection closed");
+            String line = line();
+            return switch (type) {
+                case '+' -> line;
+                case '-' -> throw new IOException(line);
+                case ':' -> Long.parseLong(line);
+                case '$' -> bulk(Integer.parseInt(line));
+                case '*' -> array(Integer.parseInt(line));
+                default -> throw new IOException("Unexpected reply type '" + (char) type + "'");
+            };
+        }
+
+        private String bulk(int len) throws IOException {
+            if (len < 0) return null;
+            byte[] b = in.readNBytes(len + 2);
+            if (b.length != len + 2) throw new EOFException("connection closed");
+            return new String(b, 0, len, StandardCharsets.UTF_8);
+        }
+
+        private List<Object> array(int n) throws IOException {
+            if (n < 0) return null;
+            List<Object> items = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) items.add(read());
+            return items;
+        }
+
+        private String line() throws IOException {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream(32);
+            int c;
+            while ((c = in.read()) != '\r') {
+                if (c < 0) throw new EOFException("connection closed");
+                buf.write(c);
+            }
+            if (in.read() != '\n') throw new IOException("Malformed reply");
+            return buf.toString(StandardCharsets.UTF_8);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
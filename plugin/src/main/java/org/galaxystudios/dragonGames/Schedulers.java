@@ -0,0 +1,98 @@
+package org.galaxystudios.dragonGames;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+/**
+ * Where each kind of work runs. Egg state transitions run on the global region thread, anything touching a
+ * player (inventory, buffs, position) on that player's entity scheduler, and altar blocks on the region that
+ * owns the return location.
+ *
+ * These are Paper's region schedulers, so there is a single code path: on Paper every one of them is the
+ * server thread and the "run now" variants run inline, exactly like before; on Folia work lands on the
+ * thread that owns the data instead of hopping everything through one region.
+ */
+public final class Schedulers {
+
+    private static final boolean FOLIA = classExists("io.papermc.paper.threadedregions.RegionizedServer");
+
+    private final DragonGames plugin;
+
+    public Schedulers(DragonGames plugin) {
+        this.plugin = plugin;
+    }
+
+    public static boolean isFolia() {
+        return FOLIA;
+    }
+
+    /**
+     * Runs {@code task} on the global region thread: inline if we are already on it, otherwise next tick.
+     */
+    public void global(Runnable task) {
+        if (Bukkit.isGlobalTickThread()) {
+            task.run();
+        } else {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        }
+    }
+
+    /**
+     * Runs {@code task} on the global region thread next tick, e.g. to let the current event finish first.
+     */
+    public void globalNextTick(Runnable task) {
+        Bukkit.getGlobalRegionScheduler().run(plugin, t -> task.run());
+    }
+
+    public ScheduledTask globalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, t -> task.run(), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+
+    /**
+     * Runs {@code task} on the thread that owns {@code entity}: inline if that is this thread, otherwise next
+     * tick. Dropped if the entity is removed (e.g. the player logs out) before it runs.
+     */
+    public void entity(Entity entity, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+        } else {
+            entity.getScheduler().run(plugin, t -> task.run(), null);
+        }
+    }
+
+    /**
+     * Runs {@code task} on the entity's scheduler next tick, e.g. to fix an inventory after a cancelled click.
+     */
+    public void entityNextTick(Entity entity, Runnable task) {
+        entity.getScheduler().run(plugin, t -> task.run(), null);
+    }
+
+    /**
+     * Runs {@code task} on the region owning {@code loc}: inline if that is this thread, otherwise next tick.
+     */
+    public void region(Location loc, Runnable task) {
+        if (Bukkit.isOwnedByCurrentRegion(loc)) {
+            task.run();
+        } else {
+            Bukkit.getRegionScheduler().execute(plugin, loc, task);
+        }
+    }
+
+    /**
+     * Runs {@code task} on a background thread, for file and parsing work that must not hold up a tick.
+     */
+    public void async(Runnable task) {
+        Bukkit.getAsyncScheduler().runNow(plugin, t -> task.run());
+    }
+
+    private static boolean classExists(String name) {
+        try {
+            Class.forName(name);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
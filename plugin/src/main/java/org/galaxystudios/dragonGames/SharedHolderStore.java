@@ -0,0 +1,54 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Where backends behind one proxy agree on who holds each egg. Every record carries a version that grows by
+ * one per holder change, so a change only lands if nobody else changed the egg since it was last read, plus
+ * the holder's playtime this week and last week, summed over all backends. Last week is kept so a backend
+ * that checks the weekly rule late still sees it after another backend started crediting the new week.
+ *
+ * Calls block on the network or disk; {@link SharedState} makes them from its own thread only.
+ */
+public interface SharedHolderStore {
+
+    /**
+     * An egg's shared record; version 0 means nobody has written it yet.
+     */
+    record Entry(UUID holder, long version, String origin, long weekStartEpochSeconds, long weeklyPlaySeconds,
+                 long lastWeekStartEpochSeconds, long lastWeeklyPlaySeconds) {
+
+        static final Entry EMPTY = new Entry(null, 0L, "", 0L, 0L, 0L, 0L);
+
+        public long playedIn(long weekStart) {
+            if (weekStart == weekStartEpochSeconds) return weeklyPlaySeconds;
+            return weekStart == lastWeekStartEpochSeconds ? lastWeeklyPlaySeconds : 0L;
+        }
+    }
+
+    Entry read(String egg) throws IOException;
+
+    /**
+     * Sets the holder if the record is still at {@code expectedVersion}, starting an empty week at
+     * {@code weekStart}. Returns the new version, or -1 if someone else got there first.
+     */
+    long compareAndSet(String egg, long expectedVersion, UUID holder, String origin, long weekStart) throws IOException;
+
+    /**
+     * Credits playtime to the holder of {@code version}; ignored once the holder has changed. Crediting a newer
+     * week moves the current one to last week.
+     */
+    void addPlaySeconds(String egg, long version, long weekStart, long seconds) throws IOException;
+
+    /**
+     * Starts pushing changes: {@code changed} gets the id of an egg whose record may have changed, or null when
+     * any of them may have (after a reconnect). Called on a thread of the store's own.
+     */
+    void listen(Consumer<String> changed);
+
+    void close();
+
+    String describe();
+}
@@ -0,0 +1,297 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.Bukkit;
+import org.galaxystudios.dragonGames.SharedHolderStore.Entry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes one egg network-wide when several backends share a {@link SharedHolderStore}. {@link PluginState}
+ * stays the local copy everything reads, so event handlers never wait on the network; this class only
+ * keeps that copy in line with the store.
+ *
+ * A local holder change is applied at once and then committed from a single background thread as a
+ * compare-and-set on the version the local copy was based on. If another backend changed the egg first, its
+ * holder wins and is applied here, taking the egg and buffs off whoever got it locally. Pushed changes from
+ * other backends are applied the same way. Commits are made in order and retried while the store is
+ * unreachable, so nothing decided during an outage is lost.
+ *
+ * Local changes carry an epoch: when a remote holder is adopted, changes queued before it was applied are
+ * based on a holder that lost and are dropped instead of committed.
+ */
+public final class SharedState {
+
+    private static final long MAX_BACKOFF_MILLIS = 5000L;
+
+    /**
+     * Global thread: the version the local holder is based on, counting commits still queued.
+     */
+    private static final class Local {
+        long version;
+        int epoch;
+    }
+
+    /**
+     * Store thread: the last version known to be in the store.
+     */
+    private static final class Remote {
+        long confirmed;
+        int epoch;
+        int deadEpoch = -1;
+    }
+
+    private interface StoreCall<T> {
+        T run() throws IOException;
+    }
+
+    private final DragonGames plugin;
+    private final SharedHolderStore store;
+    private final String serverId;
+    private final ExecutorService thread;
+
+    private final Map<String, Local> local = new HashMap<>();
+    private final Map<String, Remote> remote = new HashMap<>();
+
+    private volatile boolean closing;
+    private volatile boolean reachable = true;
+
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder adopted = new LongAdder();
+
+    SharedState(DragonGames plugin, SharedHolderStore store, String serverId) {
+        this.plugin = plugin;
+        this.store = store;
+        this.serverId = serverId;
+        this.thread = Executors.newSingleThreadExecutor(r -> Thread.ofPlatform().daemon().name("DragonGames-shared").unstarted(r));
+        plugin.getMetrics().counter("shared_commits_total", committed::sum);
+        plugin.getMetrics().counter("shared_conflicts_total", conflicts::sum);
+        plugin.getMetrics().counter("shared_dropped_commits_total", dropped::sum);
+        plugin.getMetrics().counter("shared_remote_changes_total", adopted::sum);
+    }
+
+    /**
+     * The configured backend, or null if shared-state.backend is none or the store can't be set up.
+     */
+    public static SharedState create(DragonGames plugin) {
+        DragonGamesSettings.Shared cfg = plugin.getSettings().shared();
+        String id = cfg.serverId().isBlank() ? "port-" + Bukkit.getPort() : cfg.serverId();
+        try {
+            SharedHolderStore store = switch (cfg.backend()) {
+                case "none" -> null;
+                case "directory" -> new DirectoryHolderStore(plugin, Path.of(cfg.directory()), cfg.pollMillis());
+                case "redis" -> new RedisHolderStore(plugin, cfg.redisHost(), cfg.redisPort(), cfg.redisPassword(),
+                        cfg.redisPrefix(), cfg.timeoutMillis());
+                default -> {
+                    plugin.getLogger().warning("Unknown shared-state.backend '" + cfg.backend() + "'; holders stay per server.");
+                    yield null;
+                }
+            };
+            return store == null ? null : new SharedState(plugin, store, id);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Cannot open shared state, holders stay per server: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Adopts the store's holders (seeding it from the local state where it has none yet) and starts listening.
+     */
+    public void start() {
+        thread.execute(() -> {
+            for (String egg : plugin.getSettings().eggs().keySet()) {
+                Entry e = call(() -> store.read(egg));
+                if (e == null) return;
+                UUID mine = plugin.getState().getHolder(egg);
+                if (e.version() == 0L && mine != null) {
+                    Long v = call(() -> store.compareAndSet(egg, 0L, mine, serverId, PluginState.startOfWeekEpochSeconds()));
+                    if (v == null) return;
+                    e = call(() -> store.read(egg));
+                    if (e == null) return;
+                }
+                adopt(egg, e);
+            }
+            plugin.getLogger().info("Sharing egg holders through " + store.describe() + " as '" + serverId + "'.");
+            store.listen(egg -> submit(() -> {
+                if (egg == null) {
+                    for (String id : plugin.getSettings().eggs().keySet()) refresh(id);
+                } else {
+                    refresh(egg);
+                }
+            }));
+        });
+    }
+
+    /**
+     * Global thread, after a local capture or return: commits {@code holder} on top of the local version.
+     */
+    public void holderChanged(String egg, UUID holder) {
+        Local l = local.computeIfAbsent(egg, k -> new Local());
+        long expected = l.version++;
+        int epoch = l.epoch;
+        long weekStart = PluginState.startOfWeekEpochSeconds();
+        submit(() -> commit(egg, epoch, expected, holder, weekStart));
+    }
+
+    /**
+     * Global thread: credits the current holder's playtime to the network-wide weekly total.
+     */
+    public void playCredited(String egg, long weekStart, long seconds) {
+        Local l = local.computeIfAbsent(egg, k -> new Local());
+        long version = l.version;
+        int epoch = l.epoch;
+        submit(() -> {
+            if (epoch <= remote(egg).deadEpoch) return;
+            call(() -> {
+                store.addPlaySeconds(egg, version, weekStart, seconds);
+                return Boolean.TRUE;
+            });
+        });
+    }
+
+    /**
+     * Global thread, when the week that started at {@code weekStart} is over: if the holder's playtime summed
+     * over all backends falls short, returns the egg and runs {@code onReturned} on the global thread. Every
+     * backend checks, but the return is a compare-and-set, so only one of them returns it and announces.
+     */
+    public void checkWeek(String egg, long weekStart, long required, Runnable onReturned) {
+        int epoch = local.computeIfAbsent(egg, k -> new Local()).epoch;
+        submit(() -> {
+            Remote r = remote(egg);
+            if (epoch <= r.deadEpoch) return;
+            Entry e = call(() -> store.read(egg));
+            if (e == null || e.holder() == null || e.version() != r.confirmed) return;
+            if (e.playedIn(weekStart) >= required) return;
+            Long v = call(() -> store.compareAndSet(egg, e.version(), null, serverId, PluginState.startOfWeekEpochSeconds()));
+            if (v == null) return;
+            if (v < 0L) {
+                refresh(egg);
+                return;
+            }
+            committed.increment();
+            r.confirmed = v;
+            Entry returned = new Entry(null, v, serverId, PluginState.startOfWeekEpochSeconds(), 0L, 0L, 0L);
+            supersede(egg, returned, onReturned);
+        });
+    }
+
+    public String describeStats() {
+        return store.describe() + " as '" + serverId + "', " + (reachable ? "reachable" : "UNREACHABLE") +
+                ", committed=" + committed.sum() + ", conflicts=" + conflicts.sum() +
+                ", dropped=" + dropped.sum() + ", remoteChanges=" + adopted.sum();
+    }
+
+    /**
+     * Finishes queued commits for at most {@code timeoutMillis}, then disconnects.
+     */
+    public void close(long timeoutMillis) {
+        thread.shutdown();
+        try {
+            if (!thread.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Shared state commits did not finish in time; the store may be behind.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closing = true;
+        thread.shutdownNow();
+        store.close();
+    }
+
+    private void submit(Runnable task) {
+        try {
+            thread.execute(task);
+        } catch (RejectedExecutionException e) {
+            // shutting down: the store is no longer updated
+        }
+    }
+
+    private Remote remote(String egg) {
+        return remote.computeIfAbsent(egg, k -> new Remote());
+    }
+
+    // --- store thread ---
+
+    private void commit(String egg, int epoch, long expected, UUID holder, long weekStart) {
+        Remote r = remote(egg);
+        if (epoch <= r.deadEpoch) {
+            dropped.increment();
+            return;
+        }
+        Long v = call(() -> store.compareAndSet(egg, expected, holder, serverId, weekStart));
+        if (v == null) return;
+        if (v >= 0L) {
+            r.confirmed = v;
+            committed.increment();
+            return;
+        }
+        conflicts.increment();
+        Entry e = call(() -> store.read(egg));
+        if (e == null) return;
+        plugin.getLogger().info("Egg '" + egg + "' was changed on '" + e.origin() + "' first; taking its holder.");
+        adopt(egg, e);
+    }
+
+    private void refresh(String egg) {
+        Entry e = call(() -> store.read(egg));
+        if (e == null || e.version() <= remote(egg).confirmed) return;
+        adopt(egg, e);
+    }
+
+    private void adopt(String egg, Entry e) {
+        remote(egg).confirmed = e.version();
+        adopted.increment();
+        supersede(egg, e, null);
+    }
+
+    /**
+     * Drops local changes not yet committed and makes {@code e} the local holder.
+     */
+    private void supersede(String egg, Entry e, Runnable then) {
+        Remote r = remote(egg);
+        r.deadEpoch = r.epoch;
+        int epoch = ++r.epoch;
+        plugin.getSchedulers().global(() -> {
+            Local l = local.computeIfAbsent(egg, k -> new Local());
+            l.epoch = epoch;
+            l.version = e.version();
+            plugin.getEggManager().applySharedHolder(egg, e.holder());
+            if (then != null) then.run();
+        });
+    }
+
+    /**
+     * Runs a store call until it succeeds, backing off while the store is unreachable. Null once closing.
+     */
+    private <T> T call(StoreCall<T> c) {
+        long backoff = 250L;
+        while (!closing) {
+            try {
+                T result = c.run();
+                if (!reachable) plugin.getLogger().info("Shared state store is reachable again.");
+                reachable = true;
+                return result;
+            } catch (IOException e) {
+                if (reachable) plugin.getLogger().warning("Shared state store unreachable, retrying: " + e.getMessage());
+                reachable = false;
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return null;
+            }
+            backoff = Math.min(MAX_BACKOFF_MILLIS, backoff * 2);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,324 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of {@link PluginState} changes, written into a preallocated memory-mapped file.
+ *
+ * Files are named state-&lt;generation&gt;.journal. A snapshot in state.yml records the generation of the
+ * journal that continues it, so recovery is: load state.yml, then replay every journal with a
+ * generation at or above the snapshot's, in order. Older journals are deleted once a newer snapshot
+ * is on disk.
+ *
+ * Record layout: type (1 byte), egg id for per-egg records (1 length byte + UTF-8), fixed-size payload,
+ * CRC32 of everything before it (4 bytes). The file is zero-filled, so a 0 type byte marks the end; a CRC
+ * mismatch marks a torn tail and also stops replay. Version 1 files had no egg id and belong to the
+ * default egg.
+ */
+public final class StateJournal {
+
+    private static final int MAGIC = 0x44474a32; // "DGJ2"
+    private static final int MAGIC_V1 = 0x44474a31; // "DGJ1", single egg
+    private static final int HEADER_BYTES = 12;  // magic + generation
+    private static final String PREFIX = "state-";
+    private static final String SUFFIX = ".journal";
+
+    static final byte HOLDER = 1;
+    static final byte PLAY = 2;
+    static final byte WEEK = 3;
+    static final byte GAME = 4;
+    static final byte SEEN = 5;
+    static final byte TICK = 6;
+
+    /**
+     * Receives replayed records. Values are the resulting absolute values, except {@link #play} which is a delta.
+     */
+    public interface Replay {
+        void holder(String egg, UUID holder, long weekStartEpochSeconds, long lastSeenEpochSeconds);
+
+        void play(String egg, long seconds);
+
+        void week(String egg, long weekStartEpochSeconds);
+
+        void game(boolean enabled, long gameStartEpochSeconds);
+
+        void seen(String egg, long epochSeconds);
+
+        void tick(long epochSeconds);
+    }
+
+    private final DragonGames plugin;
+    private final File dir;
+    private final int capacity;
+
+    // scratch space so appends don't allocate
+    private final byte[] scratch = new byte[80];
+    private final ByteBuffer scratchBuf = ByteBuffer.wrap(scratch);
+    private final CRC32 crc = new CRC32();
+    private final Map<String, byte[]> eggIds = new HashMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer buf;
+    private long generation = -1L;
+    private long openedAtMillis;
+    private long appends;
+    private boolean warnedFull;
+
+    private Runnable onFull;
+
+    public StateJournal(DragonGames plugin, File dir, int capacityBytes) {
+        this.plugin = plugin;
+        this.dir = dir;
+        this.capacity = Math.max(HEADER_BYTES + 1024, capacityBytes);
+    }
+
+    /**
+     * Called when an append doesn't fit; expected to snapshot state and {@link #open} the next generation.
+     */
+    public void setOnFull(Runnable onFull) {
+        this.onFull = onFull;
+    }
+
+    public boolean isOpen() {
+        return buf != null;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getOpenedAtMillis() {
+        return openedAtMillis;
+    }
+
+    public double usedFraction() {
+        return buf == null ? 0.0 : (double) buf.position() / capacity;
+    }
+
+    /**
+     * Starts a fresh, preallocated journal for {@code newGeneration}. The previous file is left on disk
+     * until a snapshot covering it has been written.
+     */
+    public void open(long newGeneration) throws IOException {
+        closeChannel();
+        Files.createDirectories(dir.toPath());
+        File f = fileFor(newGeneration);
+        try (RandomAccessFile raf = new RandomAccessFile(f, "rw")) {
+            raf.setLength(0L);
+            raf.setLength(capacity);
+        }
+        channel = FileChannel.open(f.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buf = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        buf.putInt(MAGIC);
+        buf.putLong(newGeneration);
+        generation = newGeneration;
+        openedAtMillis = System.currentTimeMillis();
+        warnedFull = false;
+    }
+
+    public void close() {
+        if (buf != null) buf.force();
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        buf = null; // unmapped once collected
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+
+    public void appendHolder(String egg, UUID holder, long weekStartEpochSeconds, long lastSeenEpochSeconds) {
+        scratchBuf.clear();
+        scratchBuf.put(HOLDER);
+        putEgg(egg);
+        scratchBuf.putLong(holder == null ? 0L : holder.getMostSignificantBits());
+        scratchBuf.putLong(holder == null ? 0L : holder.getLeastSignificantBits());
+        scratchBuf.putLong(weekStartEpochSeconds);
+        scratchBuf.putLong(lastSeenEpochSeconds);
+        append();
+    }
+
+    public void appendPlay(String egg, long seconds) {
+        appendLong(PLAY, egg, seconds);
+    }
+
+    public void appendWeek(String egg, long weekStartEpochSeconds) {
+        appendLong(WEEK, egg, weekStartEpochSeconds);
+    }
+
+    public void appendGame(boolean enabled, long gameStartEpochSeconds) {
+        scratchBuf.clear();
+        scratchBuf.put(GAME);
+        scratchBuf.put(enabled ? (byte) 1 : (byte) 0);
+        scratchBuf.putLong(gameStartEpochSeconds);
+        append();
+    }
+
+    public void appendSeen(String egg, long epochSeconds) {
+        appendLong(SEEN, egg, epochSeconds);
+    }
+
+    public void appendTick(long epochSeconds) {
+        appendLong(TICK, null, epochSeconds);
+    }
+
+    private void appendLong(byte type, String egg, long value) {
+        scratchBuf.clear();
+        scratchBuf.put(type);
+        if (egg != null) putEgg(egg);
+        scratchBuf.putLong(value);
+        append();
+    }
+
+    private void putEgg(String egg) {
+        // ids are validated to at most 32 ASCII chars by EggDefinition
+        byte[] id = eggIds.computeIfAbsent(egg, k -> k.getBytes(StandardCharsets.UTF_8));
+        scratchBuf.put((byte) id.length);
+        scratchBuf.put(id);
+    }
+
+    private void append() {
+        if (buf == null) return; // not recording until open()
+        int len = scratchBuf.position();
+        if (buf.remaining() < len + 4 && onFull != null) {
+            onFull.run();
+        }
+        if (buf == null || buf.remaining() < len + 4) {
+            if (!warnedFull) {
+                warnedFull = true;
+                plugin.getLogger().severe("State journal is full and could not be rotated; changes are only kept in memory.");
+            }
+            return;
+        }
+        crc.reset();
+        crc.update(scratch, 0, len);
+        buf.put(scratch, 0, len);
+        buf.putInt((int) crc.getValue());
+        appends++;
+    }
+
+    public long getAppends() {
+        return appends;
+    }
+
+    /**
+     * Generations of all journal files on disk, ascending.
+     */
+    public List<Long> listGenerations() {
+        List<Long> out = new ArrayList<>();
+        File[] files = dir.listFiles((d, n) -> n.startsWith(PREFIX) && n.endsWith(SUFFIX));
+        if (files == null) return out;
+        for (File f : files) {
+            String n = f.getName();
+            try {
+                out.add(Long.parseLong(n.substring(PREFIX.length(), n.length() - SUFFIX.length())));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        out.sort(null);
+        return out;
+    }
+
+    /**
+     * Replays one journal file. Returns the number of records applied.
+     */
+    public int replay(long gen, Replay r) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(fileFor(gen).toPath()));
+        int magic = in.remaining() < HEADER_BYTES ? 0 : in.getInt();
+        if ((magic != MAGIC && magic != MAGIC_V1) || in.getLong() != gen) {
+            plugin.getLogger().warning("Ignoring journal " + fileFor(gen).getName() + ": bad header.");
+            return 0;
+        }
+        boolean withEggIds = magic == MAGIC;
+        int applied = 0;
+        while (in.remaining() > 0) {
+            int start = in.position();
+            byte type = in.get();
+            int payload = payloadLength(type);
+            if (payload < 0) break;
+
+            String egg = EggDefinition.DEFAULT_ID;
+            if (withEggIds && type != GAME && type != TICK) {
+                if (in.remaining() < 1) break;
+                int idLen = in.get() & 0xff;
+                if (in.remaining() < idLen) break;
+                egg = new String(in.array(), in.position(), idLen, StandardCharsets.UTF_8);
+                in.position(in.position() + idLen);
+            }
+            int body = in.position() - start + payload;
+            if (in.remaining() < payload + 4) break;
+
+            crc.reset();
+            crc.update(in.array(), start, body);
+            int expected = in.getInt(start + body);
+            if ((int) crc.getValue() != expected) {
+                plugin.getLogger().warning("Journal " + fileFor(gen).getName() + " has a torn record at offset " + start + "; stopping replay there.");
+                break;
+            }
+
+            switch (type) {
+                case HOLDER -> {
+                    long msb = in.getLong();
+                    long lsb = in.getLong();
+                    UUID holder = (msb == 0L && lsb == 0L) ? null : new UUID(msb, lsb);
+                    r.holder(egg, holder, in.getLong(), in.getLong());
+                }
+                case PLAY -> r.play(egg, in.getLong());
+                case WEEK -> r.week(egg, in.getLong());
+                case GAME -> r.game(in.get() != 0, in.getLong());
+                case SEEN -> r.seen(egg, in.getLong());
+                case TICK -> r.tick(in.getLong());
+                default -> {
+                }
+            }
+            in.position(start + body + 4);
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Deletes journals older than {@code gen}. Safe to call from the state writer thread.
+     */
+    public void deleteBefore(long gen) {
+        for (long g : listGenerations()) {
+            if (g >= gen) break;
+            File f = fileFor(g);
+            if (!f.delete()) {
+                plugin.logDebug("Could not delete old journal " + f.getName() + "; it will be ignored on load.");
+            }
+        }
+    }
+
+    private static int payloadLength(byte type) {
+        return switch (type) {
+            case HOLDER -> 32;
+            case PLAY, WEEK, SEEN, TICK -> 8;
+            case GAME -> 9;
+            default -> -1;
+        };
+    }
+
+    private File fileFor(long gen) {
+        return new File(dir, PREFIX + gen + SUFFIX);
+    }
+}
@@ -0,0 +1,46 @@
+package org.galaxystudios.dragonGames;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable copy of {@link PluginState} taken on the server thread so it can be written elsewhere.
+ */
+public record StateSnapshot(
+        boolean gameEnabled,
+        long gameStartEpochSeconds,
+        long lastTickEpochSeconds,
+        long journalGeneration,
+        List<Egg> eggs
+) {
+
+    public record Egg(
+            String id,
+            UUID holder,
+            long weekStartEpochSeconds,
+            long holderWeeklyPlaySeconds,
+            long holderLastSeenEpochSeconds,
+            long holderSinceEpochSeconds
+    ) {
+    }
+
+    public String toYaml() {
+        YamlConfiguration cfg = new YamlConfiguration();
+        cfg.set("gameEnabled", gameEnabled);
+        cfg.set("gameStartEpochSeconds", gameStartEpochSeconds);
+        cfg.set("lastTickEpochSeconds", lastTickEpochSeconds);
+        if (journalGeneration > 0) cfg.set("journalGeneration", journalGeneration);
+
+        for (Egg e : eggs) {
+            String p = "eggs." + e.id() + ".";
+            cfg.set(p + "holder", e.holder() == null ? null : e.holder().toString());
+            cfg.set(p + "weekStartEpochSeconds", e.weekStartEpochSeconds());
+            cfg.set(p + "holderWeeklyPlaySeconds", e.holderWeeklyPlaySeconds());
+            cfg.set(p + "holderLastSeenEpochSeconds", e.holderLastSeenEpochSeconds());
+            if (e.holder() != null) cfg.set(p + "holderSinceEpochSeconds", e.holderSinceEpochSeconds());
+        }
+        return cfg.saveToString();
+    }
+}
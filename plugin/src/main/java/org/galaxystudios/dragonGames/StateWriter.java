@@ -0,0 +1,156 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Writes {@link StateSnapshot}s to state.yml.
+ *
+ * In write-behind mode the server thread only hands over a snapshot; a single background thread
+ * coalesces bursts into one write. Every write goes through a temp file + atomic rename so a crash
+ * never leaves a torn state.yml behind.
+ */
+public final class StateWriter {
+
+    private final DragonGames plugin;
+    private final Path file;
+    private final Path tmpFile;
+    private final boolean writeBehind;
+    private final long coalesceMillis;
+
+    private final AtomicReference<StateSnapshot> pending = new AtomicReference<>();
+    private final ScheduledExecutorService executor;
+    private volatile Consumer<StateSnapshot> afterWrite;
+
+    // Latency counters (nanoseconds). "submit" is what the caller's thread pays, "write" is disk time.
+    private final LongAdder saves = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder submitNanosTotal = new LongAdder();
+    private final AtomicLong submitNanosMax = new AtomicLong();
+    private final LongAdder writeNanosTotal = new LongAdder();
+    private final AtomicLong writeNanosMax = new AtomicLong();
+
+    public StateWriter(DragonGames plugin, File file, boolean writeBehind, long coalesceMillis) {
+        this.plugin = plugin;
+        this.file = file.toPath();
+        this.tmpFile = file.toPath().resolveSibling(file.getName() + ".tmp");
+        this.writeBehind = writeBehind;
+        this.coalesceMillis = Math.max(0L, coalesceMillis);
+        if (writeBehind) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "DragonGames-StateWriter");
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Runs on the writing thread after a snapshot has been renamed into place.
+     */
+    public void setAfterWrite(Consumer<StateSnapshot> afterWrite) {
+        this.afterWrite = afterWrite;
+    }
+
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public void submit(StateSnapshot snapshot) {
+        long start = System.nanoTime();
+        saves.increment();
+        if (executor == null || executor.isShutdown()) {
+            write(snapshot);
+        } else if (pending.getAndSet(snapshot) == null) {
+            // first snapshot of a burst schedules the write; later ones just replace it
+            executor.schedule(this::drain, coalesceMillis, TimeUnit.MILLISECONDS);
+        }
+        long took = System.nanoTime() - start;
+        submitNanosTotal.add(took);
+        submitNanosMax.accumulateAndGet(took, Math::max);
+    }
+
+    /**
+     * Writes whatever is pending and stops the background thread, waiting at most {@code timeoutMillis}.
+     */
+    public void flushAndClose(long timeoutMillis) {
+        if (executor == null) return;
+        executor.execute(this::drain);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(Math.max(0L, timeoutMillis), TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Timed out flushing state.yml after " + timeoutMillis + "ms; latest state may not be saved.");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void drain() {
+        StateSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot != null) write(snapshot);
+    }
+
+    private void write(StateSnapshot snapshot) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(file.getParent());
+            byte[] bytes = snapshot.toYaml().getBytes(StandardCharsets.UTF_8);
+            try (FileChannel ch = FileChannel.open(tmpFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buf = ByteBuffer.wrap(bytes);
+                while (buf.hasRemaining()) ch.write(buf);
+                ch.force(true);
+            }
+            try {
+                Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            writes.increment();
+            Consumer<StateSnapshot> hook = afterWrite;
+            if (hook != null) hook.accept(snapshot);
+        } catch (IOException e) {
+            failures.increment();
+            plugin.getLogger().severe("Failed to save state.yml: " + e.getMessage());
+        } finally {
+            long took = System.nanoTime() - start;
+            writeNanosTotal.add(took);
+            writeNanosMax.accumulateAndGet(took, Math::max);
+        }
+    }
+
+    public String describeStats() {
+        long s = saves.sum();
+        long w = writes.sum();
+        long attempts = w + failures.sum();
+        return "mode=" + (writeBehind ? "write-behind" : "sync") +
+                ", saves=" + s +
+                ", writes=" + w +
+                ", failures=" + failures.sum() +
+                ", avgSaveMicros=" + (s == 0 ? 0 : submitNanosTotal.sum() / s / 1000L) +
+                ", maxSaveMicros=" + submitNanosMax.get() / 1000L +
+                ", avgWriteMicros=" + (attempts == 0 ? 0 : writeNanosTotal.sum() / attempts / 1000L) +
+                ", maxWriteMicros=" + writeNanosMax.get() / 1000L;
+    }
+}
@@ -0,0 +1,308 @@
+package org.galaxystudios.dragonGames;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Lifetime per-player statistics in stats.dat, a file of fixed 64-byte records: one slot per player who ever
+ * took part, assigned on first appearance and never moved, so a change rewrites only that record.
+ *
+ * Everything is held in memory, plus one ranking per {@link Metric} kept sorted as values change, so a top-k
+ * query walks k entries and never looks at the other players. Updates happen on the global region thread;
+ * changed records are written in batches on a background thread. Queries are safe from any thread.
+ */
+public final class StatsStore {
+
+    private static final int MAGIC = 0x44475354; // "DGST"
+    private static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 64;
+    private static final int NAME_BYTES = 16;
+    private static final long FLUSH_MILLIS = 2000L;
+
+    public enum Metric {
+        CAPTURES("captures", PlayerStats::captures),
+        KILLS("kills", PlayerStats::kills),
+        HOLD_TIME("hold-time", PlayerStats::holdSeconds);
+
+        private final String key;
+        private final ToLongFunction<PlayerStats> value;
+
+        Metric(String key, ToLongFunction<PlayerStats> value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public long valueOf(PlayerStats s) {
+            return value.applyAsLong(s);
+        }
+
+        public static Metric byKey(String key) {
+            for (Metric m : values()) {
+                if (m.key.equalsIgnoreCase(key)) return m;
+            }
+            return null;
+        }
+    }
+
+    private record Ranked(long value, UUID uuid) {
+    }
+
+    private static final Comparator<Ranked> BY_VALUE_DESC =
+            Comparator.comparingLong(Ranked::value).reversed().thenComparing(Ranked::uuid);
+
+    private final DragonGames plugin;
+    private final File file;
+
+    private final Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> slots = new HashMap<>(); // global thread only
+    private int nextSlot;
+    private final Map<Metric, ConcurrentSkipListSet<Ranked>> rankings = new EnumMap<>(Metric.class);
+    // slot -> newest record not yet on disk
+    private final Map<Integer, PlayerStats> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService writer;
+    private FileChannel channel;
+    private volatile int recordCount;
+
+    public StatsStore(DragonGames plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "stats.dat");
+        for (Metric m : Metric.values()) rankings.put(m, new ConcurrentSkipListSet<>(BY_VALUE_DESC));
+        plugin.getMetrics().gauge("stats_players", stats::size);
+        plugin.getMetrics().gauge("stats_pending_writes", pending::size);
+    }
+
+    public void open() {
+        try {
+            if (!plugin.getDataFolder().exists() && !plugin.getDataFolder().mkdirs()) {
+                throw new IOException("could not create " + plugin.getDataFolder());
+            }
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            load();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not open stats.dat; statistics will not be saved: " + e.getMessage());
+            closeChannel();
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "DragonGames-Stats");
+            t.setDaemon(true);
+            return t;
+        });
+        writer.scheduleWithFixedDelay(this::flush, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes whatever is pending and closes the file. Waits at most {@code timeoutMillis}.
+     */
+    public void close(long timeoutMillis) {
+        if (writer == null) return;
+        writer.execute(this::flush);
+        writer.execute(this::closeChannel);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Statistics were not fully written before shutdown.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public PlayerStats get(UUID player) {
+        return stats.get(player);
+    }
+
+    /**
+     * The best {@code k} players for {@code metric}, best first. Players with nothing recorded are left out.
+     */
+    public List<PlayerStats> top(Metric metric, int k) {
+        List<PlayerStats> out = new ArrayList<>(Math.max(0, k));
+        for (Ranked r : rankings.get(metric)) {
+            if (out.size() >= k) break;
+            PlayerStats s = stats.get(r.uuid());
+            if (s != null) out.add(s);
+        }
+        return out;
+    }
+
+    public void recordCapture(UUID player, String name) {
+        long now = now();
+        update(player, name, s -> s.plusCapture(now));
+    }
+
+    public void recordKill(UUID player, String name) {
+        long now = now();
+        update(player, name, s -> s.plusKill(now));
+    }
+
+    public void recordEggDeath(UUID player, String name) {
+        long now = now();
+        update(player, name, s -> s.plusEggDeath(now));
+    }
+
+    /**
+     * {@code name} may be null if the player isn't online; the stored name is kept.
+     */
+    public void addHoldSeconds(UUID player, String name, long seconds) {
+        if (player == null || seconds <= 0) return;
+        long now = now();
+        update(player, name, s -> s.plusHoldSeconds(seconds, now));
+    }
+
+    private void update(UUID player, String name, UnaryOperator<PlayerStats> change) {
+        if (player == null) return;
+        PlayerStats prev = stats.get(player);
+        PlayerStats next = change.apply((prev == null ? PlayerStats.empty(player, name) : prev).withName(name));
+        stats.put(player, next);
+        for (Metric m : Metric.values()) {
+            long before = prev == null ? 0L : m.valueOf(prev);
+            long after = m.valueOf(next);
+            if (before == after) continue;
+            ConcurrentSkipListSet<Ranked> ranking = rankings.get(m);
+            if (before > 0) ranking.remove(new Ranked(before, player));
+            if (after > 0) ranking.add(new Ranked(after, player));
+        }
+        Integer slot = slots.get(player);
+        if (slot == null) {
+            slot = nextSlot++;
+            slots.put(player, slot);
+        }
+        pending.put(slot, next);
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            writeHeader(0);
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < 16 || header.getInt() != MAGIC) throw new IOException("not a stats file");
+        int version = header.getInt();
+        if (version != VERSION || header.getInt() != RECORD_BYTES) throw new IOException("unsupported stats file version " + version);
+        int count = header.getInt();
+        // a crash between writing a record and the header leaves whole records past count: keep them
+        count = (int) Math.max(count, (size - HEADER_BYTES) / RECORD_BYTES);
+
+        ByteBuffer records = ByteBuffer.allocate(count * RECORD_BYTES);
+        channel.read(records, HEADER_BYTES);
+        records.flip();
+        for (int slot = 0; slot < count && records.remaining() >= RECORD_BYTES; slot++) {
+            PlayerStats s = decode(records);
+            if (s.uuid().getMostSignificantBits() == 0 && s.uuid().getLeastSignificantBits() == 0) continue;
+            slots.put(s.uuid(), slot);
+            stats.put(s.uuid(), s);
+            for (Metric m : Metric.values()) {
+                long v = m.valueOf(s);
+                if (v > 0) rankings.get(m).add(new Ranked(v, s.uuid()));
+            }
+        }
+        recordCount = count;
+        nextSlot = count;
+        plugin.getLogger().info("Loaded statistics for " + stats.size() + " player(s).");
+    }
+
+    /**
+     * Writer thread: one positional write per changed record, then the header if the file grew.
+     */
+    private void flush() {
+        if (channel == null || pending.isEmpty()) return;
+        try {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES);
+            int maxSlot = recordCount - 1;
+            for (Integer slot : new ArrayList<>(pending.keySet())) {
+                PlayerStats s = pending.remove(slot);
+                if (s == null) continue;
+                buf.clear();
+                encode(s, buf);
+                buf.flip();
+                channel.write(buf, HEADER_BYTES + (long) slot * RECORD_BYTES);
+                maxSlot = Math.max(maxSlot, slot);
+            }
+            if (maxSlot + 1 > recordCount) {
+                recordCount = maxSlot + 1;
+                writeHeader(recordCount);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write stats.dat: " + e.getMessage());
+        }
+    }
+
+    private void writeHeader(int count) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_BYTES).putInt(count);
+        header.position(0);
+        channel.write(header, 0);
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not close stats.dat: " + e.getMessage());
+        }
+        channel = null;
+    }
+
+    // uuid 16, captures 4, kills 4, eggDeaths 4, holdSeconds 8, lastUpdated 8, name length 1 + 16, padding 3
+    static void encode(PlayerStats s, ByteBuffer buf) {
+        buf.putLong(s.uuid().getMostSignificantBits()).putLong(s.uuid().getLeastSignificantBits());
+        buf.putInt(s.captures()).putInt(s.kills()).putInt(s.eggDeaths());
+        buf.putLong(s.holdSeconds()).putLong(s.lastUpdatedEpochSeconds());
+        byte[] name = s.name().getBytes(StandardCharsets.US_ASCII);
+        int len = Math.min(NAME_BYTES, name.length);
+        buf.put((byte) len).put(name, 0, len);
+        while (buf.position() < RECORD_BYTES) buf.put((byte) 0);
+    }
+
+    static PlayerStats decode(ByteBuffer buf) {
+        int start = buf.position();
+        UUID uuid = new UUID(buf.getLong(), buf.getLong());
+        int captures = buf.getInt(), kills = buf.getInt(), eggDeaths = buf.getInt();
+        long hold = buf.getLong(), updated = buf.getLong();
+        int len = Math.min(NAME_BYTES, buf.get() & 0xFF);
+        byte[] name = new byte[len];
+        buf.get(name);
+        buf.position(start + RECORD_BYTES);
+        return new PlayerStats(uuid, new String(name, StandardCharsets.US_ASCII), captures, kills, eggDeaths, hold, updated);
+    }
+
+    static String formatValue(Metric metric, long value) {
+        if (metric != Metric.HOLD_TIME) return Long.toString(value);
+        long h = value / 3600, m = (value % 3600) / 60;
+        return h > 0 ? String.format(Locale.ROOT, "%dh %02dm", h, m) : m + "m";
+    }
+
+    private static long now() {
+        return Instant.now().getEpochSecond();
+    }
+}
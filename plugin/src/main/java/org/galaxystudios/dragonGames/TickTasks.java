@@ -0,0 +1,227 @@
+package org.galaxystudios.dragonGames;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.entity.Player;
+import org.galaxystudios.dragonGames.api.EggCause;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The periodic work, all on the global region thread; the per-holder part goes to the holder's own scheduler.
+ *
+ * The weekly-rule check, session folding and save run on a fixed timer every check-interval-seconds, however
+ * busy the server is. The optional work (Dynmap markers and trails, and re-applying holders' egg and buffs)
+ * is paced instead: a one-tick timer runs each egg's share when it is due, with intervals stretched or
+ * shrunk by {@link AdaptiveCadence}. Each run sets the next due tick from the interval at that moment, so a
+ * changing interval never skips or doubles a run; only the first run is offset by the egg id, so eggs don't
+ * all land on the same tick.
+ *
+ * {@link #reschedule()} picks up a new check interval after a reload. It runs on the global thread like the
+ * timer itself, so the old timer is cancelled and the new one scheduled between two runs.
+ */
+public final class TickTasks {
+
+    /**
+     * The ticks an egg's optional work is next due at; 0 until first scheduled.
+     */
+    private static final class Due {
+        long dynmap;
+        long refresh;
+    }
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+    private final LatencyHistogram checkTimer;
+    private final LatencyHistogram dynmapTimer;
+    private final LatencyHistogram refreshTimer;
+    private final AdaptiveCadence cadence;
+
+    // global thread only
+    private ScheduledTask checkTask;
+    private long checkPeriod;
+    private long tick;
+    private long dynmapInterval;
+    private long refreshInterval;
+    private final Map<String, Due> due = new HashMap<>();
+
+    public TickTasks(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+        this.checkTimer = plugin.getMetrics().histogram("tick.check");
+        this.dynmapTimer = plugin.getMetrics().histogram("tick.dynmap");
+        this.refreshTimer = plugin.getMetrics().histogram("tick.refresh");
+        this.cadence = new AdaptiveCadence(plugin);
+    }
+
+    public void start() {
+        reschedule();
+        plugin.getSchedulers().globalTimer(this::pace, 1L, 1L);
+    }
+
+    /**
+     * Global thread: restarts whichever timer's interval changed in the current settings.
+     */
+    public void reschedule() {
+        long check = plugin.getSettings().checkIntervalTicks();
+        if (checkTask == null || check != checkPeriod) {
+            if (checkTask != null) checkTask.cancel();
+            checkPeriod = check;
+            checkTask = plugin.getSchedulers().globalTimer(this::check, check, check);
+            plugin.logDebug("Weekly check runs every " + check + " ticks");
+        }
+    }
+
+    public String describe() {
+        DragonGamesSettings s = plugin.getSettings();
+        return "check every " + checkPeriod + "t (fixed), dynmap every " + dynmapInterval + "t (base " +
+                s.dynmapUpdateTicks() + "t), holder refresh every " + refreshInterval + "t (base " +
+                s.checkIntervalTicks() + "t), " + cadence.describe();
+    }
+
+    /**
+     * Every tick: runs the optional per-egg work that is due, each egg on its own offset.
+     */
+    private void pace() {
+        long now = ++tick;
+        if (now % 20 == 0 || dynmapInterval == 0) {
+            cadence.sample();
+            dynmapInterval = cadence.interval(plugin.getSettings().dynmapUpdateTicks());
+            refreshInterval = cadence.interval(plugin.getSettings().checkIntervalTicks());
+        }
+        for (EggState egg : plugin.getState().getEggs()) {
+            Due d = due.computeIfAbsent(egg.getId(), k -> new Due());
+            if (d.dynmap == 0) {
+                // stagger the first runs; after that each run is one interval after the previous
+                long offset = egg.getId().hashCode();
+                d.dynmap = now + 1 + Math.floorMod(offset, dynmapInterval);
+                d.refresh = now + 1 + Math.floorMod(offset, refreshInterval);
+            }
+            if (now >= d.dynmap) {
+                d.dynmap = now + dynmapInterval;
+                dynmap(egg);
+            }
+            if (now >= d.refresh) {
+                d.refresh = now + refreshInterval;
+                refresh(egg);
+            }
+        }
+    }
+
+    private void check() {
+        long start = System.nanoTime();
+        // Playtime is credited per session by join/quit/capture; this only checks the weekly rule.
+        plugin.getState().setLastTickEpochSeconds(System.currentTimeMillis() / 1000L);
+        plugin.getState().foldSessions();
+        plugin.getSnapshots().refresh();
+
+        for (EggState egg : plugin.getState().getEggs()) {
+            checkEgg(egg.getId());
+        }
+
+        plugin.getState().save();
+        plugin.getDynmap().saveTrailsAsync();
+        if (plugin.getScanner() != null) plugin.getScanner().saveAsync();
+        checkTimer.recordSince(start);
+    }
+
+    private void dynmap(EggState egg) {
+        if (egg.getHolder() == null) return;
+        String id = egg.getId();
+        Player hp = Bukkit.getPlayer(egg.getHolder());
+        if (!plugin.getDynmap().isAvailable()) {
+            // holder locations are still wanted by the API and placeholders
+            if (hp != null) plugin.getSchedulers().entity(hp, () -> plugin.getSnapshots().located(id, hp));
+            return;
+        }
+        long start = System.nanoTime();
+        if (hp != null) {
+            plugin.getSchedulers().entity(hp, () -> {
+                plugin.getDynmap().updateMarker(id, hp);
+                plugin.getDynmap().sampleTrail(id, hp);
+                plugin.getSnapshots().located(id, hp);
+            });
+        } else {
+            plugin.getDynmap().refreshLastMarker(id);
+            plugin.getDynmap().refreshTrail(id);
+        }
+        dynmapTimer.recordSince(start);
+    }
+
+    /**
+     * Puts the egg and buffs back on an online holder in case something took them off.
+     */
+    private void refresh(EggState egg) {
+        if (!plugin.isGameEnabled() || egg.getHolder() == null) return;
+        Player hp = Bukkit.getPlayer(egg.getHolder());
+        if (hp == null || !hp.isOnline()) return;
+        long start = System.nanoTime();
+        String id = egg.getId();
+        plugin.getSchedulers().entity(hp, () -> {
+            eggs.ensureEggInInventory(hp);
+            eggs.applyEggBuffs(hp);
+            plugin.getDynmap().updateMarker(id, hp);
+            plugin.getSnapshots().located(id, hp);
+        });
+        refreshTimer.recordSince(start);
+    }
+
+    private void checkEgg(String egg) {
+        boolean weekExpired = plugin.getState().isWeekExpired(egg);
+        if (weekExpired && plugin.getHistory() != null) {
+            UUID holder = eggs.getHolder(egg);
+            plugin.getHistory().record(EggHistory.Kind.WEEK, egg, null, null, holder, null, holder == null ? "no holder" :
+                    "played " + StatsStore.formatValue(StatsStore.Metric.HOLD_TIME, plugin.getState().getHolderWeeklyPlaySeconds(egg)) +
+                    " of " + StatsStore.formatValue(StatsStore.Metric.HOLD_TIME, eggs.getRequiredWeeklySeconds(egg)) + " here");
+        }
+
+        if (!plugin.isGameEnabled()) {
+            if (weekExpired) plugin.getState().resetWeek(egg);
+            return;
+        }
+
+        UUID holder = eggs.getHolder(egg);
+        if (holder == null) {
+            plugin.getDynmap().clearMarker(egg);
+            if (weekExpired) plugin.getState().resetWeek(egg);
+            return;
+        }
+
+        long required = eggs.getRequiredWeeklySeconds(egg);
+        if (weekExpired) {
+            SharedState shared = plugin.getShared();
+            if (shared != null) {
+                // judged on the playtime summed over all backends; whichever backend returns it announces
+                shared.checkWeek(egg, plugin.getState().getEgg(egg).getWeekStartEpochSeconds(), required,
+                        () -> announceWeeklyReturn(egg));
+            } else if (plugin.getState().getHolderWeeklyPlaySeconds(egg) < required) {
+                String name = eggs.displayName(egg);
+                eggs.returnEggToReturnLocation(egg, EggCause.INACTIVITY, plugin.getSettings().announceReturnOnInactive()
+                        ? "The " + name + " returned because the weekly playtime requirement was not met." : null,
+                        "The " + name + " returned home because the weekly playtime requirement was not met.");
+                plugin.getState().resetWeek(egg);
+                return;
+            }
+            plugin.getState().resetWeek(egg);
+        }
+
+        Player hp = Bukkit.getPlayer(holder);
+
+        if (hp != null && hp.isOnline()) {
+            plugin.getState().touchActivity(holder);
+        }
+    }
+
+    private void announceWeeklyReturn(String egg) {
+        String name = eggs.displayName(egg);
+        if (plugin.getSettings().announceReturnOnInactive()) {
+            Bukkit.broadcastMessage(ChatColor.DARK_PURPLE + "[DragonGames] " + ChatColor.LIGHT_PURPLE +
+                    "The " + name + " returned because the weekly playtime requirement was not met.");
+        }
+        plugin.getDiscord().announceAsync(plugin.getSettings().discordPrefix() +
+                "The " + name + " returned home because the weekly playtime requirement was not met.");
+    }
+}
@@ -0,0 +1,34 @@
+package org.galaxystudios.dragonGames;
+
+import com.sk89q.worldguard.bukkit.protection.events.DisallowedPVPEvent;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+/**
+ * WorldGuard PvP override for egg holders. Only registered when WorldGuard is installed, and like
+ * {@link HolderListener} only while a holder is online.
+ */
+public final class WorldGuardListener implements Listener {
+
+    private final DragonGames plugin;
+    private final EggManager eggs;
+
+    public WorldGuardListener(DragonGames plugin, EggManager eggs) {
+        this.plugin = plugin;
+        this.eggs = eggs;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onWorldGuardDisallowedPvp(DisallowedPVPEvent e) {
+        if (!plugin.isPvpOverrideEnabled()) return;
+        Player vp = e.getDefender();
+        if (vp == null) return;
+
+        if (eggs.isHolder(vp.getUniqueId())) {
+            plugin.logDebug("Allowing PVP on egg holder via WorldGuard hook for " + vp.getName());
+            e.setCancelled(true);
+        }
+    }
+}
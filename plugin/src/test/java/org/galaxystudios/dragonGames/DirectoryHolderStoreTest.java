@@ -0,0 +1,130 @@
+package org.galaxystudios.dragonGames;
+
+import org.galaxystudios.dragonGames.SharedHolderStore.Entry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the directory store against a temporary directory.
+ */
+class DirectoryHolderStoreTest {
+
+    private static final UUID ALICE = new UUID(1L, 1L);
+    private static final UUID BOB = new UUID(1L, 2L);
+    private static final long WEEK = 604_800L;
+    private static final long THIS_WEEK = 100 * WEEK;
+
+    @TempDir
+    Path dir;
+
+    private DirectoryHolderStore store;
+
+    @BeforeEach
+    void openStore() throws IOException {
+        DragonGames plugin = mock(DragonGames.class);
+        doReturn(Logger.getLogger("DirectoryHolderStoreTest")).when(plugin).getLogger();
+        store = new DirectoryHolderStore(plugin, dir, 50L);
+    }
+
+    @AfterEach
+    void closeStore() {
+        store.close();
+    }
+
+    @Test
+    void readsEmptyBeforeTheFirstWrite() throws IOException {
+        assertEquals(Entry.EMPTY, store.read("main"));
+    }
+
+    @Test
+    void compareAndSetRefusesAStaleVersion() throws IOException {
+        assertEquals(1L, store.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK));
+        assertEquals(-1L, store.compareAndSet("main", 0L, BOB, "b", THIS_WEEK));
+
+        Entry e = store.read("main");
+        assertEquals(ALICE, e.holder());
+        assertEquals(1L, e.version());
+        assertEquals("a", e.origin());
+
+        assertEquals(2L, store.compareAndSet("main", 1L, null, "b", THIS_WEEK));
+        assertNull(store.read("main").holder());
+    }
+
+    @Test
+    void eggsAreIndependent() throws IOException {
+        assertEquals(1L, store.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK));
+        assertEquals(1L, store.compareAndSet("other", 0L, BOB, "a", THIS_WEEK));
+        assertEquals(ALICE, store.read("main").holder());
+        assertEquals(BOB, store.read("other").holder());
+    }
+
+    @Test
+    void creditsOnlyTheCurrentHolder() throws IOException {
+        store.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        store.addPlaySeconds("main", 1L, THIS_WEEK, 100L);
+        store.compareAndSet("main", 1L, BOB, "b", THIS_WEEK);
+        // Alice's backend hasn't seen the change yet
+        store.addPlaySeconds("main", 1L, THIS_WEEK, 50L);
+
+        assertEquals(0L, store.read("main").playedIn(THIS_WEEK));
+    }
+
+    @Test
+    void aNewWeekMovesTheCurrentOneToLastWeek() throws IOException {
+        store.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        store.addPlaySeconds("main", 1L, THIS_WEEK, 100L);
+        store.addPlaySeconds("main", 1L, THIS_WEEK, 20L);
+        store.addPlaySeconds("main", 1L, THIS_WEEK + WEEK, 30L);
+
+        Entry e = store.read("main");
+        assertEquals(THIS_WEEK + WEEK, e.weekStartEpochSeconds());
+        assertEquals(30L, e.weeklyPlaySeconds());
+        assertEquals(THIS_WEEK, e.lastWeekStartEpochSeconds());
+        assertEquals(120L, e.lastWeeklyPlaySeconds());
+    }
+
+    @Test
+    void lateCreditsGoToLastWeek() throws IOException {
+        store.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        store.addPlaySeconds("main", 1L, THIS_WEEK, 100L);
+        store.addPlaySeconds("main", 1L, THIS_WEEK + WEEK, 30L);
+        // a backend that hasn't rolled over yet, then one further behind still
+        store.addPlaySeconds("main", 1L, THIS_WEEK, 15L);
+        store.addPlaySeconds("main", 1L, THIS_WEEK - WEEK, 999L);
+
+        Entry e = store.read("main");
+        assertEquals(115L, e.playedIn(THIS_WEEK));
+        assertEquals(30L, e.playedIn(THIS_WEEK + WEEK));
+        assertEquals(0L, e.playedIn(THIS_WEEK - WEEK));
+    }
+
+    @Test
+    void listenReportsChangedEggs() throws Exception {
+        BlockingQueue<String> changed = new LinkedBlockingQueue<>();
+        store.listen(changed::add);
+        store.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        assertEquals("main", changed.poll(5, TimeUnit.SECONDS));
+
+        store.compareAndSet("main", 1L, BOB, "b", THIS_WEEK);
+        assertEquals("main", changed.poll(5, TimeUnit.SECONDS));
+
+        // credits don't change the version, so nobody needs to re-read
+        store.addPlaySeconds("main", 2L, THIS_WEEK, 10L);
+        assertNull(changed.poll(300, TimeUnit.MILLISECONDS));
+    }
+}
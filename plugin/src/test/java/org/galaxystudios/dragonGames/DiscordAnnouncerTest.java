@@ -0,0 +1,202 @@
+package org.galaxystudios.dragonGames;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the announcer against a stand-in webhook on a loopback port.
+ */
+class DiscordAnnouncerTest {
+
+    /**
+     * What the stand-in answers one request with.
+     */
+    private record Reply(int status, String body, String... headers) {
+    }
+
+    private record Received(long atNanos, int embeds) {
+    }
+
+    private HttpServer server;
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    private final List<Reply> replies = new CopyOnWriteArrayList<>();
+    // the first request waits here until released, so a test can queue up messages behind it
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private final CountDownLatch firstArrived = new CountDownLatch(1);
+    private DiscordAnnouncer announcer;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/webhook", this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (announcer != null) announcer.stop(1000L);
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        String body = new String(ex.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        received.add(new Received(System.nanoTime(), body.split("\"title\"", -1).length - 1));
+        firstArrived.countDown();
+        try {
+            gate.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Reply r = replies.isEmpty() ? new Reply(204, "") : replies.remove(0);
+        for (int i = 0; i + 1 < r.headers().length; i += 2) ex.getResponseHeaders().add(r.headers()[i], r.headers()[i + 1]);
+        byte[] out = r.body().getBytes(StandardCharsets.UTF_8);
+        ex.sendResponseHeaders(r.status(), out.length == 0 ? -1 : out.length);
+        if (out.length > 0) ex.getResponseBody().write(out);
+        ex.close();
+    }
+
+    private DiscordAnnouncer announcer(int queueSize) {
+        DragonGamesSettings settings = mock(DragonGamesSettings.class);
+        doReturn(true).when(settings).discordEnabled();
+        doReturn("http://127.0.0.1:" + server.getAddress().getPort() + "/webhook").when(settings).discordWebhookUrl();
+        doReturn("[DragonGames] ").when(settings).discordPrefix();
+        doReturn(queueSize).when(settings).discordQueueSize();
+        DragonGames plugin = mock(DragonGames.class);
+        doReturn(settings).when(plugin).getSettings();
+        doReturn(new Metrics()).when(plugin).getMetrics();
+        doReturn(Logger.getLogger("DiscordAnnouncerTest")).when(plugin).getLogger();
+        announcer = new DiscordAnnouncer(plugin);
+        announcer.start();
+        return announcer;
+    }
+
+    /**
+     * Sends one message, holds it at the stand-in, queues {@code texts} behind it, then lets everything through.
+     */
+    private void queueBehindFirst(DiscordAnnouncer a, List<String> texts) throws InterruptedException {
+        gate = new CountDownLatch(1);
+        a.announceAsync("first");
+        assertTrue(firstArrived.await(5, TimeUnit.SECONDS));
+        for (String t : texts) a.announceAsync(t);
+        gate.countDown();
+        a.stop(5000L);
+    }
+
+    @Test
+    void batchesUpToTenEmbeds() throws InterruptedException {
+        DiscordAnnouncer a = announcer(100);
+        queueBehindFirst(a, Collections.nCopies(24, "captured"));
+
+        assertEquals(List.of(1, 10, 10, 4), received.stream().map(Received::embeds).toList());
+        assertEquals(25, a.sentCount());
+        assertEquals(4, a.requestCount());
+    }
+
+    @Test
+    void batchesStayUnderSixThousandCharacters() throws InterruptedException {
+        DiscordAnnouncer a = announcer(100);
+        // two of these fit in 6000 characters with their titles, three don't
+        queueBehindFirst(a, Collections.nCopies(5, "x".repeat(2000)));
+
+        assertEquals(List.of(1, 2, 2, 1), received.stream().map(Received::embeds).toList());
+        assertEquals(6, a.sentCount());
+    }
+
+    @Test
+    void retriesAfterRetryAfterHeader() throws InterruptedException {
+        replies.add(new Reply(429, "", "Retry-After", "0.3"));
+        DiscordAnnouncer a = announcer(10);
+        a.announceAsync("captured");
+        a.stop(5000L);
+
+        assertEquals(2, received.size());
+        assertTrue(received.get(1).atNanos() - received.get(0).atNanos() >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(1, a.rateLimitedCount());
+        assertEquals(1, a.sentCount());
+        assertEquals(0, a.failedCount());
+    }
+
+    @Test
+    void retriesAfterBodyRetryAfter() throws InterruptedException {
+        replies.add(new Reply(429, "{\"message\":\"You are being rate limited.\",\"retry_after\":0.3,\"global\":false}"));
+        DiscordAnnouncer a = announcer(10);
+        a.announceAsync("captured");
+        a.stop(5000L);
+
+        assertEquals(2, received.size());
+        assertTrue(received.get(1).atNanos() - received.get(0).atNanos() >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(1, a.rateLimitedCount());
+        assertEquals(1, a.sentCount());
+    }
+
+    @Test
+    void holdsNextRequestWhenBucketIsEmpty() throws InterruptedException {
+        replies.add(new Reply(204, "", "X-RateLimit-Remaining", "0", "X-RateLimit-Reset-After", "0.4"));
+        DiscordAnnouncer a = announcer(10);
+        queueBehindFirst(a, List.of("second"));
+
+        assertEquals(2, received.size());
+        assertTrue(received.get(1).atNanos() - received.get(0).atNanos() >= TimeUnit.MILLISECONDS.toNanos(400));
+        assertEquals(0, a.rateLimitedCount());
+        assertEquals(2, a.sentCount());
+    }
+
+    @Test
+    void countsDroppedMessagesWhenQueueIsFull() throws InterruptedException {
+        DiscordAnnouncer a = announcer(2);
+        queueBehindFirst(a, List.of("a", "b", "c", "d"));
+
+        assertEquals(2, a.droppedCount());
+        assertEquals(3, a.sentCount());
+    }
+
+    @Test
+    void countsFailedBatches() throws InterruptedException {
+        replies.add(new Reply(500, "boom"));
+        DiscordAnnouncer a = announcer(10);
+        queueBehindFirst(a, List.of("second", "third"));
+
+        assertEquals(1, a.failedCount());
+        assertEquals(2, a.sentCount());
+        assertEquals(2, a.requestCount());
+    }
+
+    @Test
+    void stopFinishesTheBatchInFlight() throws InterruptedException {
+        DiscordAnnouncer a = announcer(10);
+        gate = new CountDownLatch(1);
+        a.announceAsync("in flight");
+        assertTrue(firstArrived.await(5, TimeUnit.SECONDS));
+        // release the stand-in only after stop() has started waiting
+        Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException ignored) {
+            }
+            gate.countDown();
+        });
+        a.stop(5000L);
+
+        assertEquals(1, a.sentCount());
+        assertEquals(0, a.failedCount());
+    }
+}
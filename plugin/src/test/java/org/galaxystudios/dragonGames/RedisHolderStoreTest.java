@@ -0,0 +1,338 @@
+package org.galaxystudios.dragonGames;
+
+import org.galaxystudios.dragonGames.SharedHolderStore.Entry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the Redis store against a stand-in server on a loopback port.
+ */
+class RedisHolderStoreTest {
+
+    private static final UUID ALICE = new UUID(1L, 1L);
+    private static final UUID BOB = new UUID(1L, 2L);
+    private static final long WEEK = 604_800L;
+    private static final long THIS_WEEK = 100 * WEEK;
+    private static final String PASSWORD = "hunter2";
+    // what a null egg (re-read everything) is reported as, since the queue can't hold null
+    private static final String ALL = "*";
+
+    private StandIn server;
+    private final List<RedisHolderStore> stores = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new StandIn(PASSWORD);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        for (RedisHolderStore s : stores) s.close();
+        server.close();
+    }
+
+    private RedisHolderStore store() {
+        DragonGames plugin = mock(DragonGames.class);
+        doReturn(Logger.getLogger("RedisHolderStoreTest")).when(plugin).getLogger();
+        RedisHolderStore s = new RedisHolderStore(plugin, "127.0.0.1", server.port(), PASSWORD, "dg:", 2000);
+        stores.add(s);
+        return s;
+    }
+
+    @Test
+    void readsEmptyBeforeTheFirstWrite() throws IOException {
+        assertEquals(Entry.EMPTY, store().read("main"));
+    }
+
+    @Test
+    void compareAndSetRefusesAStaleVersion() throws IOException {
+        RedisHolderStore a = store(), b = store();
+        assertEquals(1L, a.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK));
+        assertEquals(-1L, b.compareAndSet("main", 0L, BOB, "b", THIS_WEEK));
+
+        Entry e = b.read("main");
+        assertEquals(ALICE, e.holder());
+        assertEquals(1L, e.version());
+        assertEquals("a", e.origin());
+        assertEquals(THIS_WEEK, e.weekStartEpochSeconds());
+
+        assertEquals(2L, b.compareAndSet("main", 1L, null, "b", THIS_WEEK));
+        assertNull(a.read("main").holder());
+    }
+
+    @Test
+    void aNewWeekMovesTheCurrentOneToLastWeek() throws IOException {
+        RedisHolderStore s = store();
+        s.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        s.addPlaySeconds("main", 1L, THIS_WEEK, 100L);
+        s.addPlaySeconds("main", 1L, THIS_WEEK, 20L);
+        s.addPlaySeconds("main", 1L, THIS_WEEK + WEEK, 30L);
+
+        Entry e = s.read("main");
+        assertEquals(THIS_WEEK + WEEK, e.weekStartEpochSeconds());
+        assertEquals(30L, e.weeklyPlaySeconds());
+        assertEquals(THIS_WEEK, e.lastWeekStartEpochSeconds());
+        assertEquals(120L, e.lastWeeklyPlaySeconds());
+    }
+
+    @Test
+    void lateCreditsGoToLastWeek() throws IOException {
+        RedisHolderStore s = store();
+        s.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        s.addPlaySeconds("main", 1L, THIS_WEEK, 100L);
+        s.addPlaySeconds("main", 1L, THIS_WEEK + WEEK, 30L);
+        s.addPlaySeconds("main", 1L, THIS_WEEK, 15L);
+        s.addPlaySeconds("main", 1L, THIS_WEEK - WEEK, 999L);
+        // a credit for a holder that has since changed
+        s.addPlaySeconds("main", 0L, THIS_WEEK + WEEK, 999L);
+
+        Entry e = s.read("main");
+        assertEquals(115L, e.playedIn(THIS_WEEK));
+        assertEquals(30L, e.playedIn(THIS_WEEK + WEEK));
+        assertEquals(0L, e.playedIn(THIS_WEEK - WEEK));
+    }
+
+    @Test
+    void reconnectsAfterTheConnectionDrops() throws IOException {
+        RedisHolderStore s = store();
+        s.compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        server.dropConnections();
+
+        // the call that finds the connection gone fails, the next one opens a new one
+        assertThrows(IOException.class, () -> s.read("main"));
+        assertEquals(ALICE, s.read("main").holder());
+        assertEquals(2, server.connections.get());
+    }
+
+    @Test
+    void resubscribesAfterTheConnectionDrops() throws Exception {
+        BlockingQueue<String> changed = new LinkedBlockingQueue<>();
+        RedisHolderStore listener = store();
+        listener.listen(egg -> changed.add(egg == null ? ALL : egg));
+        assertEquals(ALL, changed.poll(5, TimeUnit.SECONDS));
+
+        store().compareAndSet("main", 0L, ALICE, "a", THIS_WEEK);
+        assertEquals("main", changed.poll(5, TimeUnit.SECONDS));
+
+        server.dropConnections();
+        // whatever was published while away is lost, so everything is re-read after resubscribing
+        assertEquals(ALL, changed.poll(5, TimeUnit.SECONDS));
+        assertEquals(2, server.subscribes.get());
+
+        store().compareAndSet("main", 1L, BOB, "b", THIS_WEEK);
+        assertEquals("main", changed.poll(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Just enough of a Redis server for the store: AUTH, HMGET, SUBSCRIBE, and EVAL of its two scripts, told
+     * apart by their key count and emulated line by line.
+     */
+    private static final class StandIn {
+
+        private final String password;
+        private final ServerSocket socket;
+        private final Map<String, Map<String, String>> hashes = new HashMap<>(); // guarded by itself
+        private final List<Socket> clients = new CopyOnWriteArrayList<>();
+        private final List<OutputStream> subscribers = new CopyOnWriteArrayList<>();
+        final AtomicInteger connections = new AtomicInteger();
+        final AtomicInteger subscribes = new AtomicInteger();
+
+        StandIn(String password) throws IOException {
+            this.password = password;
+            socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread.ofPlatform().daemon().name("redis-stand-in").start(() -> {
+                while (!socket.isClosed()) {
+                    try {
+                        Socket client = socket.accept();
+                        clients.add(client);
+                        connections.incrementAndGet();
+                        Thread.ofPlatform().daemon().start(() -> serve(client));
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        void dropConnections() throws IOException {
+            subscribers.clear();
+            for (Socket c : clients) c.close();
+            clients.clear();
+        }
+
+        void close() throws IOException {
+            socket.close();
+            dropConnections();
+        }
+
+        private void serve(Socket client) {
+            try (client) {
+                InputStream in = new BufferedInputStream(client.getInputStream());
+                OutputStream out = new BufferedOutputStream(client.getOutputStream());
+                boolean authed = false;
+                for (List<String> cmd; (cmd = command(in)) != null; ) {
+                    String name = cmd.get(0);
+                    synchronized (out) {
+                        if (name.equals("AUTH")) {
+                            authed = cmd.get(1).equals(password);
+                            out.write((authed ? "+OK\r\n" : "-WRONGPASS invalid password\r\n").getBytes(StandardCharsets.US_ASCII));
+                        } else if (!authed) {
+                            out.write("-NOAUTH Authentication required.\r\n".getBytes(StandardCharsets.US_ASCII));
+                        } else if (name.equals("HMGET")) {
+                            hmget(out, cmd.get(1), cmd.subList(2, cmd.size()));
+                        } else if (name.equals("SUBSCRIBE")) {
+                            subscribes.incrementAndGet();
+                            subscribers.add(out);
+                            out.write("*3\r\n".getBytes(StandardCharsets.US_ASCII));
+                            bulk(out, "subscribe");
+                            bulk(out, cmd.get(1));
+                            out.write(":1\r\n".getBytes(StandardCharsets.US_ASCII));
+                        } else if (name.equals("EVAL")) {
+                            int keys = Integer.parseInt(cmd.get(2));
+                            List<String> k = cmd.subList(3, 3 + keys), argv = cmd.subList(3 + keys, cmd.size());
+                            long reply = keys == 2 ? cas(k, argv) : addPlay(k, argv);
+                            out.write((":" + reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+                        } else {
+                            out.write(("-ERR unknown command '" + name + "'\r\n").getBytes(StandardCharsets.US_ASCII));
+                        }
+                        out.flush();
+                    }
+                }
+            } catch (IOException ignored) {
+                // dropped
+            }
+        }
+
+        private void hmget(OutputStream out, String key, List<String> fields) throws IOException {
+            List<String> values = new ArrayList<>();
+            synchronized (hashes) {
+                Map<String, String> h = hashes.getOrDefault(key, Map.of());
+                for (String f : fields) values.add(h.get(f));
+            }
+            out.write(("*" + values.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            for (String v : values) bulk(out, v);
+        }
+
+        private long cas(List<String> keys, List<String> argv) throws IOException {
+            long v;
+            synchronized (hashes) {
+                Map<String, String> h = hashes.computeIfAbsent(keys.get(0), k -> new HashMap<>());
+                v = Long.parseLong(h.getOrDefault("version", "0"));
+                if (v != Long.parseLong(argv.get(0))) return -1L;
+                v++;
+                h.putAll(Map.of("version", Long.toString(v), "holder", argv.get(1), "origin", argv.get(2),
+                        "week", argv.get(3), "play", "0", "lastWeek", "0", "lastPlay", "0"));
+            }
+            publish(keys.get(1), argv.get(4));
+            return v;
+        }
+
+        private long addPlay(List<String> keys, List<String> argv) {
+            synchronized (hashes) {
+                Map<String, String> h = hashes.computeIfAbsent(keys.get(0), k -> new HashMap<>());
+                if (Long.parseLong(h.getOrDefault("version", "0")) != Long.parseLong(argv.get(0))) return 0L;
+                long week = Long.parseLong(h.getOrDefault("week", "0"));
+                long credit = Long.parseLong(argv.get(1)), seconds = Long.parseLong(argv.get(2));
+                if (credit == week) return increment(h, "play", seconds);
+                if (credit > week) {
+                    h.put("lastWeek", Long.toString(week));
+                    h.put("lastPlay", h.getOrDefault("play", "0"));
+                    h.put("week", argv.get(1));
+                    h.put("play", argv.get(2));
+                    return seconds;
+                }
+                if (credit == Long.parseLong(h.getOrDefault("lastWeek", "0"))) return increment(h, "lastPlay", seconds);
+                return 0L;
+            }
+        }
+
+        private static long increment(Map<String, String> h, String field, long by) {
+            long v = Long.parseLong(h.getOrDefault(field, "0")) + by;
+            h.put(field, Long.toString(v));
+            return v;
+        }
+
+        private void publish(String channel, String message) throws IOException {
+            for (OutputStream sub : subscribers) {
+                synchronized (sub) {
+                    sub.write("*3\r\n".getBytes(StandardCharsets.US_ASCII));
+                    bulk(sub, "message");
+                    bulk(sub, channel);
+                    bulk(sub, message);
+                    sub.flush();
+                }
+            }
+        }
+
+        private static void bulk(OutputStream out, String s) throws IOException {
+            if (s == null) {
+                out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            out.write(("$" + b.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.write(b);
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        /**
+         * The next command as its arguments, or null once the client has gone.
+         */
+        private static List<String> command(InputStream in) throws IOException {
+            String head = line(in);
+            if (head == null) return null;
+            if (!head.startsWith("*")) throw new IOException("expected an array, got " + head);
+            List<String> args = new ArrayList<>();
+            for (int i = Integer.parseInt(head.substring(1)); i > 0; i--) {
+                String len = line(in);
+                if (len == null || !len.startsWith("$")) throw new EOFException();
+                byte[] b = in.readNBytes(Integer.parseInt(len.substring(1)) + 2);
+                args.add(new String(b, 0, b.length - 2, StandardCharsets.UTF_8));
+            }
+            return args;
+        }
+
+        private static String line(InputStream in) throws IOException {
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            for (int c; (c = in.read()) != '\n'; ) {
+                if (c < 0) return null;
+                if (c != '\r') buf.write(c);
+            }
+            return buf.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
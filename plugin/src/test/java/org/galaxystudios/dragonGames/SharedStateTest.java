@@ -0,0 +1,180 @@
+package org.galaxystudios.dragonGames;
+
+import org.galaxystudios.dragonGames.SharedHolderStore.Entry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Plays one backend through {@link SharedState} against another that writes straight to a shared directory.
+ * The test thread stands in for the global thread: what SharedState hands to it waits in {@link #global}
+ * until the test runs it.
+ */
+class SharedStateTest {
+
+    private static final UUID ALICE = new UUID(1L, 1L);
+    private static final UUID BOB = new UUID(1L, 2L);
+    private static final UUID CAROL = new UUID(1L, 3L);
+
+    @TempDir
+    Path dir;
+
+    private final BlockingQueue<Runnable> global = new LinkedBlockingQueue<>();
+    private final EggManager eggs = mock(EggManager.class);
+    private DirectoryHolderStore elsewhere;
+    private SharedState shared;
+    private long week;
+
+    /**
+     * The directory store without its watcher, so remote changes reach SharedState only when a test says so.
+     */
+    private record Unwatched(SharedHolderStore store) implements SharedHolderStore {
+
+        @Override
+        public Entry read(String egg) throws IOException {
+            return store.read(egg);
+        }
+
+        @Override
+        public long compareAndSet(String egg, long expectedVersion, UUID holder, String origin, long weekStart) throws IOException {
+            return store.compareAndSet(egg, expectedVersion, holder, origin, weekStart);
+        }
+
+        @Override
+        public void addPlaySeconds(String egg, long version, long weekStart, long seconds) throws IOException {
+            store.addPlaySeconds(egg, version, weekStart, seconds);
+        }
+
+        @Override
+        public void listen(Consumer<String> changed) {
+        }
+
+        @Override
+        public void close() {
+            store.close();
+        }
+
+        @Override
+        public String describe() {
+            return store.describe();
+        }
+    }
+
+    @BeforeEach
+    void startShared() throws Exception {
+        DragonGamesSettings settings = mock(DragonGamesSettings.class);
+        doReturn(Map.of("main", mock(EggDefinition.class))).when(settings).eggs();
+        Schedulers schedulers = mock(Schedulers.class);
+        doAnswer(inv -> global.add(inv.getArgument(0))).when(schedulers).global(any());
+        DragonGames plugin = mock(DragonGames.class);
+        doReturn(settings).when(plugin).getSettings();
+        doReturn(new Metrics()).when(plugin).getMetrics();
+        doReturn(Logger.getLogger("SharedStateTest")).when(plugin).getLogger();
+        doReturn(schedulers).when(plugin).getSchedulers();
+        doReturn(eggs).when(plugin).getEggManager();
+        doReturn(mock(PluginState.class)).when(plugin).getState();
+
+        elsewhere = new DirectoryHolderStore(plugin, dir, 50L);
+        shared = new SharedState(plugin, new Unwatched(new DirectoryHolderStore(plugin, dir, 50L)), "here");
+        week = PluginState.startOfWeekEpochSeconds();
+        shared.start();
+        // the empty store is adopted as it is
+        runGlobal();
+    }
+
+    @AfterEach
+    void closeShared() {
+        shared.close(5000L);
+        elsewhere.close();
+    }
+
+    private void runGlobal() throws InterruptedException {
+        Runnable task = global.poll(5, TimeUnit.SECONDS);
+        assertNotNull(task, "nothing was handed to the global thread");
+        task.run();
+    }
+
+    @Test
+    void commitsLocalChanges() throws Exception {
+        shared.holderChanged("main", ALICE);
+        shared.holderChanged("main", null);
+        shared.close(5000L);
+
+        Entry e = elsewhere.read("main");
+        assertEquals(2L, e.version());
+        assertEquals("here", e.origin());
+        assertTrue(shared.describeStats().contains("committed=2, conflicts=0, dropped=0"), shared.describeStats());
+    }
+
+    @Test
+    void aConflictAdoptsTheOtherHolderAndDropsChangesQueuedBehindIt() throws Exception {
+        elsewhere.compareAndSet("main", 0L, BOB, "there", week);
+        // both based on version 0 locally; the second must not land on top of Bob's version 1
+        shared.holderChanged("main", ALICE);
+        shared.holderChanged("main", CAROL);
+        shared.close(5000L);
+
+        Entry e = elsewhere.read("main");
+        assertEquals(BOB, e.holder());
+        assertEquals(1L, e.version());
+        assertTrue(shared.describeStats().contains("committed=0, conflicts=1, dropped=1"), shared.describeStats());
+        runGlobal();
+        verify(eggs).applySharedHolder("main", BOB);
+    }
+
+    @Test
+    void creditsQueuedBeforeAnAdoptedHolderAreDropped() throws Exception {
+        elsewhere.compareAndSet("main", 0L, BOB, "there", week);
+        shared.holderChanged("main", ALICE);
+        // Alice's playtime, at the version her capture would have had, which is Bob's
+        shared.playCredited("main", week, 60L);
+        shared.close(5000L);
+
+        assertEquals(0L, elsewhere.read("main").playedIn(week));
+    }
+
+    @Test
+    void changesAfterAnAdoptedHolderBuildOnIt() throws Exception {
+        elsewhere.compareAndSet("main", 0L, BOB, "there", week);
+        shared.holderChanged("main", ALICE);
+        runGlobal();
+
+        shared.playCredited("main", week, 60L);
+        shared.close(5000L);
+        assertEquals(60L, elsewhere.read("main").playedIn(week));
+    }
+
+    @Test
+    void returnsCommitOnTopOfAnAdoptedHolder() throws Exception {
+        elsewhere.compareAndSet("main", 0L, BOB, "there", week);
+        shared.holderChanged("main", ALICE);
+        runGlobal();
+
+        shared.holderChanged("main", CAROL);
+        shared.close(5000L);
+        Entry e = elsewhere.read("main");
+        assertEquals(CAROL, e.holder());
+        assertEquals(2L, e.version());
+        assertTrue(shared.describeStats().contains("committed=1, conflicts=1, dropped=0"), shared.describeStats());
+    }
+}
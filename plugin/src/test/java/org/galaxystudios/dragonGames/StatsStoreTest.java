@@ -0,0 +1,141 @@
+package org.galaxystudios.dragonGames;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the store against a stats.dat in a temporary data folder.
+ */
+class StatsStoreTest {
+
+    private static final UUID ALICE = new UUID(1L, 1L);
+    private static final UUID BOB = new UUID(1L, 2L);
+    private static final UUID CAROL = new UUID(1L, 3L);
+    private static final UUID DAVE = new UUID(1L, 4L);
+
+    @TempDir
+    Path dataFolder;
+
+    private StatsStore store;
+
+    @AfterEach
+    void closeStore() {
+        if (store != null) store.close(5000L);
+    }
+
+    private StatsStore open() {
+        if (store != null) store.close(5000L);
+        DragonGames plugin = mock(DragonGames.class);
+        doReturn(dataFolder.toFile()).when(plugin).getDataFolder();
+        doReturn(new Metrics()).when(plugin).getMetrics();
+        doReturn(Logger.getLogger("StatsStoreTest")).when(plugin).getLogger();
+        store = new StatsStore(plugin);
+        store.open();
+        return store;
+    }
+
+    private Path statsFile() {
+        return new File(dataFolder.toFile(), "stats.dat").toPath();
+    }
+
+    @Test
+    void recordsSurviveEncodeAndDecode() {
+        PlayerStats s = new PlayerStats(new UUID(-1L, 42L), "Dragonslayer", 3, 70000, 2, 1L << 40, 1_700_000_000L);
+        ByteBuffer buf = ByteBuffer.allocate(StatsStore.RECORD_BYTES);
+        StatsStore.encode(s, buf);
+        assertEquals(StatsStore.RECORD_BYTES, buf.position());
+
+        buf.flip();
+        assertEquals(s, StatsStore.decode(buf));
+        assertEquals(StatsStore.RECORD_BYTES, buf.position());
+    }
+
+    @Test
+    void longNamesAreCutToSixteenCharacters() {
+        PlayerStats s = PlayerStats.empty(ALICE, "abcdefghijklmnopqrstuvwxyz");
+        ByteBuffer buf = ByteBuffer.allocate(StatsStore.RECORD_BYTES);
+        StatsStore.encode(s, buf);
+        buf.flip();
+        assertEquals("abcdefghijklmnop", StatsStore.decode(buf).name());
+    }
+
+    @Test
+    void reopeningLoadsWhatWasWritten() {
+        StatsStore s = open();
+        s.recordCapture(ALICE, "Alice");
+        s.recordKill(ALICE, "Alice");
+        s.addHoldSeconds(BOB, "Bob", 3600L);
+
+        StatsStore reopened = open();
+        assertEquals(1, reopened.get(ALICE).captures());
+        assertEquals(1, reopened.get(ALICE).kills());
+        assertEquals("Alice", reopened.get(ALICE).name());
+        assertEquals(3600L, reopened.get(BOB).holdSeconds());
+        assertNull(reopened.get(CAROL));
+    }
+
+    @Test
+    void keepsRecordsWrittenPastATornHeader() throws IOException {
+        StatsStore s = open();
+        s.recordCapture(ALICE, "Alice");
+        s.recordCapture(BOB, "Bob");
+        s.recordCapture(CAROL, "Carol");
+        s.close(5000L);
+        store = null;
+        assertEquals(StatsStore.HEADER_BYTES + 3L * StatsStore.RECORD_BYTES, Files.size(statsFile()));
+
+        // as if the process died after the records were written but before the header caught up
+        try (FileChannel ch = FileChannel.open(statsFile(), StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(4).putInt(0, 1), 12);
+        }
+
+        StatsStore reopened = open();
+        assertEquals(1, reopened.get(BOB).captures());
+        assertEquals(1, reopened.get(CAROL).captures());
+
+        // a newcomer gets a fresh slot instead of overwriting one of the recovered records
+        reopened.recordCapture(DAVE, "Dave");
+        StatsStore again = open();
+        assertEquals(List.of("Alice", "Bob", "Carol", "Dave"),
+                again.top(StatsStore.Metric.CAPTURES, 10).stream().map(PlayerStats::name).toList());
+    }
+
+    @Test
+    void topIsBestFirstAndSkipsEmptyValues() {
+        StatsStore s = open();
+        for (int i = 0; i < 3; i++) s.recordKill(BOB, "Bob");
+        s.recordKill(CAROL, "Carol");
+        for (int i = 0; i < 2; i++) s.recordKill(DAVE, "Dave");
+        s.recordCapture(ALICE, "Alice");
+
+        assertEquals(List.of("Bob", "Dave", "Carol"), names(s.top(StatsStore.Metric.KILLS, 10)));
+        assertEquals(List.of("Bob", "Dave"), names(s.top(StatsStore.Metric.KILLS, 2)));
+        assertEquals(List.of(), names(s.top(StatsStore.Metric.KILLS, 0)));
+
+        // overtaking moves a player up, ties are broken by uuid
+        for (int i = 0; i < 3; i++) s.recordKill(CAROL, "Carol");
+        s.recordKill(DAVE, "Dave");
+        assertEquals(List.of("Carol", "Bob", "Dave"), names(s.top(StatsStore.Metric.KILLS, 10)));
+    }
+
+    private static List<String> names(List<PlayerStats> stats) {
+        return stats.stream().map(PlayerStats::name).toList();
+    }
+}